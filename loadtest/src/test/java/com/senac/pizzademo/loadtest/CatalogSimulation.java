@@ -0,0 +1,113 @@
+package com.senac.pizzademo.loadtest;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+/**
+ * Mistura de carga do catálogo: leituras do cardápio, logins, escritas autenticadas em
+ * /pizza e importações em lote.
+ *
+ * As assertions comparam p50/p95/p99, throughput e taxa de sucesso com o arquivo
+ * baseline.properties; qualquer regressão além da tolerância falha o build.
+ *
+ * Propriedades: -DbaseUrl, -Dduracao (segundos, padrão 60), -Dleitores (usuários/s; o padrão é
+ * a taxa em que o baseline foi medido). Os demais cenários são proporcionais a leitores, e o
+ * throughput esperado é de cerca de 2,7 requisições por leitor/s.
+ */
+public class CatalogSimulation extends Simulation {
+
+    private static final String BASE_URL = System.getProperty("baseUrl", "http://localhost:8080");
+    private static final Duration DURACAO = Duration.ofSeconds(Long.getLong("duracao", 60));
+    private static final Properties BASELINE = carregarBaseline();
+    private static final double LEITORES = Double.parseDouble(
+        System.getProperty("leitores", BASELINE.getProperty("leitores")));
+
+    private static final String PIZZA = "{\"sabor\":\"Carga #{id}\",\"ingredientes\":[{\"ingrediente\":\"Mussarela\",\"quantidade\":\"100g\"}],"
+        + "\"cardapio\":[{\"valor\":39.9,\"tamanho\":\"Grande\"}]}";
+    private static final String LOTE = IntStream.range(0, 50)
+        .mapToObj(i -> "{\"sabor\":\"Lote #{id} " + i + "\"}")
+        .collect(Collectors.joining(",", "[", "]"));
+
+    private final HttpProtocolBuilder protocolo = http
+        .baseUrl(BASE_URL)
+        .acceptHeader("application/json")
+        .acceptEncodingHeader("gzip")
+        .contentTypeHeader("application/json");
+
+    private final ChainBuilder login = exec(
+        http("login").post("/auth/login")
+            .body(StringBody("{\"username\":\"admin\",\"password\":\"senha123\"}"))
+            .check(jsonPath("$.token").saveAs("token")));
+
+    private final ScenarioBuilder leitores = scenario("leitura do cardápio")
+        .exec(http("GET /cardapio").get("/cardapio"))
+        .exec(http("GET /cardapio?fields").get("/cardapio?fields=tamanho,valor&include=pizza"));
+
+    private final ScenarioBuilder clientes = scenario("login e leitura de pizzas")
+        .exec(login)
+        .exec(http("GET /pizza").get("/pizza").header("Authorization", "Bearer #{token}"))
+        .exec(http("GET /pizza?fields").get("/pizza?fields=id,sabor").header("Authorization", "Bearer #{token}"));
+
+    private final ScenarioBuilder escritores = scenario("cadastro de pizzas")
+        .exec(login)
+        .exec(session -> session.set("id", session.userId()))
+        .exec(http("POST /pizza").post("/pizza")
+            .header("Authorization", "Bearer #{token}")
+            .body(StringBody(PIZZA)));
+
+    private final ScenarioBuilder importadores = scenario("importação em lote")
+        .exec(login)
+        .exec(session -> session.set("id", session.userId()))
+        .exec(http("POST /pizza/batch").post("/pizza/batch")
+            .header("Authorization", "Bearer #{token}")
+            .body(StringBody(LOTE)));
+
+    {
+        Properties baseline = BASELINE;
+        double tolerancia = Double.parseDouble(baseline.getProperty("tolerance"));
+        double limiteAcima = 1 + tolerancia;
+        double limiteAbaixo = 1 - tolerancia;
+
+        setUp(
+            leitores.injectOpen(constantUsersPerSec(LEITORES).during(DURACAO)),
+            clientes.injectOpen(constantUsersPerSec(LEITORES / 5).during(DURACAO)),
+            escritores.injectOpen(constantUsersPerSec(LEITORES / 20).during(DURACAO)),
+            importadores.injectOpen(constantUsersPerSec(0.5).during(DURACAO))
+        )
+            .protocols(protocolo)
+            .assertions(
+                global().responseTime().percentile(50.0).lte(limite(baseline, "p50.ms", limiteAcima)),
+                global().responseTime().percentile(95.0).lte(limite(baseline, "p95.ms", limiteAcima)),
+                global().responseTime().percentile(99.0).lte(limite(baseline, "p99.ms", limiteAcima)),
+                global().requestsPerSec().gte(Double.parseDouble(baseline.getProperty("throughput.rps")) * limiteAbaixo),
+                global().successfulRequests().percent().gte(Double.parseDouble(baseline.getProperty("success.percent")))
+            );
+    }
+
+    private static int limite(Properties baseline, String chave, double fator) {
+        return (int) Math.ceil(Integer.parseInt(baseline.getProperty(chave)) * fator);
+    }
+
+    private static Properties carregarBaseline() {
+        try (InputStream in = CatalogSimulation.class.getResourceAsStream("/baseline.properties")) {
+            Properties properties = new Properties();
+            properties.load(in);
+            return properties;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
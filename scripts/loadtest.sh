@@ -0,0 +1,26 @@
+#!/usr/bin/env bash
+# Sobe a aplicação com o profile loadtest (H2 com dados pré-carregados), roda a
+# CatalogSimulation do Gatling e derruba a aplicação. Sai com erro se a simulação
+# regredir além do baseline (loadtest/src/test/resources/baseline.properties).
+#
+# Uso: scripts/loadtest.sh [argumentos extras do Maven, ex.: -Dduracao=120 -Dleitores=200]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+PORTA=${PORTA:-18081}
+
+# O profile Maven loadtest inclui o H2 no jar
+./mvnw -q clean package -Ploadtest -DskipTests
+java -jar target/pizzademo-*.jar --spring.profiles.active=loadtest --server.port="$PORTA" > target/loadtest-app.log 2>&1 &
+APP_PID=$!
+trap 'kill $APP_PID 2>/dev/null || true' EXIT
+
+for _ in $(seq 1 120); do
+    curl -fs -o /dev/null "http://localhost:$PORTA/cardapio" && break
+    sleep 1
+done
+
+# Roda de dentro de loadtest/: da raiz, o Gatling também carrega target/test-classes da aplicação
+cd loadtest
+../mvnw gatling:test -DbaseUrl="http://localhost:$PORTA" "$@"
@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# Compara o tempo até a primeira requisição e o RSS de cada variante da imagem (jvm, cds, native).
+#
+# Uso: scripts/startup-benchmark.sh [variantes...]   (padrão: jvm cds native)
+# Requer Docker. Sobe o MySQL do docker-compose e roda cada variante na mesma rede.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+if [ $# -gt 0 ]; then VARIANTES=("$@"); else VARIANTES=(jvm cds native); fi
+RODADAS=${RODADAS:-3}
+URL_PATH=${URL_PATH:-/cardapio}
+PORTA=18080
+
+docker compose up -d db >/dev/null
+REDE=$(docker inspect -f '{{range $k, $v := .NetworkSettings.Networks}}{{$k}}{{end}}' "$(docker compose ps -q db)")
+
+agora_ms() { date +%s%3N; }
+
+rss_kb() {
+    local container=$1 pid
+    pid=$(docker inspect -f '{{.State.Pid}}' "$container")
+    if [ -r "/proc/$pid/status" ]; then
+        awk '/VmRSS/ {print $2}' "/proc/$pid/status"
+    else
+        # Fora do Linux (Docker Desktop) o processo não é visível no host; usa a memória do container
+        docker stats --no-stream --format '{{.MemUsage}}' "$container" | awk '{print $1}'
+    fi
+}
+
+printf '%-8s %-6s %-22s %-12s\n' variante rodada primeira_requisicao_ms rss_kb
+for variante in "${VARIANTES[@]}"; do
+    docker build -q --target "$variante" -t "pizzademo:$variante" . >/dev/null
+    for rodada in $(seq 1 "$RODADAS"); do
+        inicio=$(agora_ms)
+        container=$(docker run -d --rm --network "$REDE" -p "$PORTA:8080" \
+            -e SPRING_DATASOURCE_URL=jdbc:mysql://db:3306/pizzademo?rewriteBatchedStatements=true \
+            -e SPRING_DATASOURCE_USERNAME=user \
+            -e SPRING_DATASOURCE_PASSWORD=password \
+            "pizzademo:$variante")
+        until curl -fs -o /dev/null "http://localhost:$PORTA$URL_PATH"; do
+            if [ $(( $(agora_ms) - inicio )) -gt 120000 ]; then
+                echo "variante $variante não respondeu em 120s" >&2
+                docker logs "$container" | tail -20 >&2
+                docker stop "$container" >/dev/null
+                exit 1
+            fi
+            sleep 0.05
+        done
+        tempo=$(( $(agora_ms) - inicio ))
+        printf '%-8s %-6s %-22s %-12s\n' "$variante" "$rodada" "$tempo" "$(rss_kb "$container")"
+        docker stop "$container" >/dev/null
+    done
+done
@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Mede o efeito do aquecimento: tempo até GET /ready responder 200 e latência das primeiras
+# requisições reais depois disso, com o aquecimento ligado e desligado.
+#
+# Uso: scripts/warmup-benchmark.sh   (variáveis: RODADAS=3, REQUISICOES=300, VARIANTE=jvm)
+# Requer Docker. Sobe o MySQL do docker-compose e roda a imagem na mesma rede.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RODADAS=${RODADAS:-3}
+REQUISICOES=${REQUISICOES:-300}
+VARIANTE=${VARIANTE:-jvm}
+PORTA=18080
+
+docker compose up -d db >/dev/null
+REDE=$(docker inspect -f '{{range $k, $v := .NetworkSettings.Networks}}{{$k}}{{end}}' "$(docker compose ps -q db)")
+docker build -q --target "$VARIANTE" -t "pizzademo:$VARIANTE" . >/dev/null
+
+agora_ms() { date +%s%3N; }
+
+# Percentil (0-100) das latências em ms lidas da entrada padrão, uma por linha
+percentil() { sort -n | awk -v p="$1" '{ v[NR] = $1 } END { i = int((p / 100) * NR + 0.999); if (i < 1) i = 1; printf "%.1f", v[i] }'; }
+
+printf '%-11s %-6s %-10s %-8s %-8s %-8s\n' aquecimento rodada pronta_ms p50_ms p99_ms max_ms
+for aquecimento in false true; do
+    for rodada in $(seq 1 "$RODADAS"); do
+        inicio=$(agora_ms)
+        container=$(docker run -d --rm --network "$REDE" -p "$PORTA:8080" \
+            -e SPRING_DATASOURCE_URL=jdbc:mysql://db:3306/pizzademo?rewriteBatchedStatements=true \
+            -e SPRING_DATASOURCE_USERNAME=user \
+            -e SPRING_DATASOURCE_PASSWORD=password \
+            -e PIZZADEMO_WARMUP_ENABLED="$aquecimento" \
+            "pizzademo:$VARIANTE")
+        until curl -fs -o /dev/null "http://localhost:$PORTA/ready"; do
+            if [ $(( $(agora_ms) - inicio )) -gt 180000 ]; then
+                echo "instância não ficou pronta em 180s" >&2
+                docker logs "$container" | tail -20 >&2
+                docker stop "$container" >/dev/null
+                exit 1
+            fi
+            sleep 0.05
+        done
+        pronta=$(( $(agora_ms) - inicio ))
+
+        latencias=$(for i in $(seq 1 "$REQUISICOES"); do
+            case $(( i % 3 )) in
+                0) url="/cardapio?fields=tamanho,valor&include=pizza" ;;
+                1) url="/cardapio/$(( i % 50 + 1 ))" ;;
+                2) url="/ingredientes/catalogo" ;;
+            esac
+            curl -s -o /dev/null -w '%{time_total}\n' "http://localhost:$PORTA$url"
+        done | awk '{ printf "%.3f\n", $1 * 1000 }')
+
+        printf '%-11s %-6s %-10s %-8s %-8s %-8s\n' "$aquecimento" "$rodada" "$pronta" \
+            "$(percentil 50 <<< "$latencias")" "$(percentil 99 <<< "$latencias")" "$(percentil 100 <<< "$latencias")"
+        docker logs "$container" 2>&1 | grep -m1 "Aquecimento concluído" >&2 || true
+        docker stop "$container" >/dev/null
+    done
+done
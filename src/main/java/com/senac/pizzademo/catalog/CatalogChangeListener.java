@@ -0,0 +1,119 @@
+package com.senac.pizzademo.catalog;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Listener JPA registrado nas entidades do catálogo (Pizza, Ingredientes e Cardapio).
+ *
+ * Publica um {@link CatalogChangedEvent} somente depois do commit, para que quem
+ * reconstrói visões do catálogo leia os dados já gravados. Cada transação publica no
+ * máximo um evento por entidade, mesmo que grave milhares de linhas.
+ *
+ * Durante a transação só anota quais entidades foram alteradas. As versões em
+ * catalog_version são incrementadas no beforeCommit, na mesma transação e em ordem
+ * alfabética de entidade: o lock da linha fica retido só até o commit que vem logo em
+ * seguida, e transações que alteram as mesmas entidades o pedem sempre na mesma ordem,
+ * sem deadlock. É assim que as outras instâncias ficam sabendo da alteração (ver
+ * {@link CatalogVersionPoller}).
+ *
+ * É instanciado pelo Hibernate através do container de beans do Spring.
+ */
+@Component
+public class CatalogChangeListener {
+    private static final String CHAVE = CatalogChangeListener.class.getName();
+
+    private final ApplicationEventPublisher publisher;
+    private final CatalogVersions catalogVersions;
+    private final ObjectProvider<EntityManager> entityManager;
+
+    public CatalogChangeListener(ApplicationEventPublisher publisher, CatalogVersions catalogVersions,
+                                 ObjectProvider<EntityManager> entityManager) {
+        this.publisher = publisher;
+        this.catalogVersions = catalogVersions;
+        this.entityManager = entityManager;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        String entidade = Hibernate.getClass(entity).getSimpleName();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publisher.publishEvent(new CatalogChangedEvent(entidade, catalogVersions.incrementar(entidade), true));
+            return;
+        }
+        alteracoes().alterada(entidade);
+    }
+
+    /**
+     * UPDATE e DELETE só chegam ao banco no flush do commit, depois do beforeCommit; a
+     * transação que carregou entidades do catálogo já se registra para fazer o flush antes.
+     */
+    @PostLoad
+    public void onLoad(Object entity) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            alteracoes();
+        }
+    }
+
+    private Alteracoes alteracoes() {
+        Alteracoes alteracoes = (Alteracoes) TransactionSynchronizationManager.getResource(CHAVE);
+        if (alteracoes == null) {
+            alteracoes = new Alteracoes();
+            TransactionSynchronizationManager.bindResource(CHAVE, alteracoes);
+            TransactionSynchronizationManager.registerSynchronization(alteracoes);
+        }
+        return alteracoes;
+    }
+
+    private final class Alteracoes implements TransactionSynchronization {
+        private final Set<String> entidades = new TreeSet<>();
+        private final Map<String, Long> versoes = new TreeMap<>();
+        private boolean incrementadas;
+
+        void alterada(String entidade) {
+            if (!entidades.add(entidade) || !incrementadas) {
+                return;
+            }
+            // Alteração feita por outro beforeCommit, depois do nosso: incrementa na hora
+            versoes.put(entidade, catalogVersions.incrementar(entidade));
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!readOnly && TransactionSynchronizationManager.isActualTransactionActive()) {
+                entityManager.getObject().flush();
+            }
+            for (String entidade : entidades) {
+                versoes.put(entidade, catalogVersions.incrementar(entidade));
+            }
+            incrementadas = true;
+        }
+
+        @Override
+        public void afterCommit() {
+            versoes.forEach((entidade, versao) -> publisher.publishEvent(new CatalogChangedEvent(entidade, versao, true)));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CHAVE);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.senac.pizzademo.catalog;
+
+/**
+ * Evento publicado após o commit de qualquer transação que tenha alterado
+ * pizzas, ingredientes ou itens do cardápio, nesta ou em outra instância da aplicação.
+ *
+ * @param entidade Nome simples da entidade alterada (ex.: "Pizza").
+ * @param versao Versão da entidade na tabela catalog_version após a alteração.
+ * @param local true se a alteração foi feita por esta instância, via JPA; false se foi
+ *              detectada pelo {@link CatalogVersionPoller} (outra instância ou carga via JDBC).
+ */
+public record CatalogChangedEvent(String entidade, long versao, boolean local) {
+}
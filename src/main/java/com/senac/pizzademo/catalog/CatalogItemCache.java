@@ -0,0 +1,110 @@
+package com.senac.pizzademo.catalog;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.senac.pizzademo.exception.BusinessException;
+import com.senac.pizzademo.model.Cardapio;
+import com.senac.pizzademo.model.Ingredientes;
+import com.senac.pizzademo.model.Pizza;
+import com.senac.pizzademo.repository.CardapioRepository;
+import com.senac.pizzademo.repository.IngredientesRepository;
+import com.senac.pizzademo.repository.PizzaRepository;
+
+/**
+ * Cache das buscas por id (GET /pizza/{id}, /cardapio/{id}, /ingredientes/{id} e ?ids=).
+ *
+ * Cada busca de várias chaves faz uma única consulta com IN para as que faltam no cache,
+ * e buscas simultâneas do mesmo id ausente disparam uma única carga (ver {@link CoalescingCache}).
+ * As pizzas vêm com ingredientes e cardápio já carregados, para serem serializadas fora
+ * da sessão do Hibernate.
+ *
+ * O cache de cada entidade é esvaziado a cada {@link CatalogChangedEvent}; o de pizzas
+ * também quando ingredientes ou cardápio mudam, já que a pizza os inclui.
+ */
+@Component
+public class CatalogItemCache {
+    private final PizzaRepository pizzaRepository;
+    private final CardapioRepository cardapioRepository;
+    private final IngredientesRepository ingredientesRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxIds;
+    private final CoalescingCache<Long, Pizza> pizzas;
+    private final CoalescingCache<Long, Cardapio> cardapios;
+    private final CoalescingCache<Long, Ingredientes> ingredientes;
+
+    public CatalogItemCache(PizzaRepository pizzaRepository, CardapioRepository cardapioRepository,
+                            IngredientesRepository ingredientesRepository, PlatformTransactionManager transactionManager,
+                            @Value("${pizzademo.cache.max-entries:10000}") int maxEntradas,
+                            @Value("${pizzademo.cache.max-ids:100}") int maxIds) {
+        this.pizzaRepository = pizzaRepository;
+        this.cardapioRepository = cardapioRepository;
+        this.ingredientesRepository = ingredientesRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.maxIds = maxIds;
+        this.pizzas = new CoalescingCache<>(maxEntradas);
+        this.cardapios = new CoalescingCache<>(maxEntradas);
+        this.ingredientes = new CoalescingCache<>(maxEntradas);
+    }
+
+    public Optional<Pizza> pizza(Long id) {
+        return pizzas(List.of(id)).stream().findFirst();
+    }
+
+    public List<Pizza> pizzas(Collection<Long> ids) {
+        return buscar(pizzas, ids, faltantes -> pizzaRepository.findAllWithCollectionsById(faltantes), Pizza::getId);
+    }
+
+    public Optional<Cardapio> cardapio(Long id) {
+        return cardapios(List.of(id)).stream().findFirst();
+    }
+
+    public List<Cardapio> cardapios(Collection<Long> ids) {
+        return buscar(cardapios, ids, faltantes -> cardapioRepository.findAllById(faltantes), Cardapio::getId);
+    }
+
+    public Optional<Ingredientes> ingrediente(Long id) {
+        return ingredientes(List.of(id)).stream().findFirst();
+    }
+
+    public List<Ingredientes> ingredientes(Collection<Long> ids) {
+        return buscar(ingredientes, ids, faltantes -> ingredientesRepository.findAllById(faltantes), Ingredientes::getId);
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        pizzas.invalidateAll();
+        switch (event.entidade()) {
+            case "Cardapio" -> cardapios.invalidateAll();
+            case "Ingredientes" -> ingredientes.invalidateAll();
+            default -> {
+                // Pizza: o cache de pizzas já foi esvaziado
+            }
+        }
+    }
+
+    private <T> List<T> buscar(CoalescingCache<Long, T> cache, Collection<Long> ids,
+                               Function<Set<Long>, List<T>> consulta, Function<T, Long> id) {
+        Set<Long> chaves = new LinkedHashSet<>(ids);
+        if (chaves.size() > maxIds) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "Máximo de " + maxIds + " ids por requisição");
+        }
+        Map<Long, T> encontrados = cache.getAll(chaves, faltantes -> transactionTemplate.execute(status ->
+            consulta.apply(faltantes).stream().collect(Collectors.toMap(id, Function.identity()))));
+        return List.copyOf(encontrados.values());
+    }
+}
@@ -0,0 +1,105 @@
+package com.senac.pizzademo.catalog;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Mantém os caches desta instância coerentes com alterações feitas em outras instâncias,
+ * usando apenas o banco: a cada intervalo lê catalog_version (uma linha por entidade) e
+ * publica um {@link CatalogChangedEvent} para cada entidade cuja versão mudou.
+ *
+ * Uma alteração feita em outra instância fica visível aqui em no máximo um intervalo
+ * (pizzademo.cluster.poll-interval) mais o tempo da consulta. Alterações feitas nesta
+ * instância já chegam pelo evento local, e a versão delas é registrada para não gerar
+ * uma segunda invalidação.
+ */
+@Component
+public class CatalogVersionPoller {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogVersionPoller.class);
+
+    private final CatalogVersions catalogVersions;
+    private final ApplicationEventPublisher publisher;
+    private final boolean enabled;
+    private final Duration intervalo;
+    private final Map<String, Long> conhecidas = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "catalog-version-poller");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile boolean falhando;
+
+    public CatalogVersionPoller(CatalogVersions catalogVersions, ApplicationEventPublisher publisher,
+                                @Value("${pizzademo.cluster.enabled:true}") boolean enabled,
+                                @Value("${pizzademo.cluster.poll-interval:PT1S}") Duration intervalo) {
+        this.catalogVersions = catalogVersions;
+        this.publisher = publisher;
+        this.enabled = enabled;
+        this.intervalo = intervalo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        // As versões lidas na inicialização são a base; os caches ainda estão vazios, a não
+        // ser os restaurados do arquivo de snapshot, cuja base já foi registrada
+        catalogVersions.ler().forEach(conhecidas::putIfAbsent);
+        executor.scheduleWithFixedDelay(this::verificar, intervalo.toMillis(), intervalo.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registra as versões em que os caches foram restaurados (ver WarmStartService), antes
+     * do início da verificação: alterações gravadas depois delas geram eventos como as de
+     * outras instâncias.
+     */
+    public void base(Map<String, Long> versoes) {
+        conhecidas.putAll(versoes);
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        conhecidas.merge(event.entidade(), event.versao(), Math::max);
+    }
+
+    void verificar() {
+        Map<String, Long> atuais;
+        try {
+            atuais = catalogVersions.ler();
+        } catch (RuntimeException e) {
+            if (!falhando) {
+                logger.warn("Falha ao consultar versões do catálogo: {}", e.getMessage());
+                falhando = true;
+            }
+            return;
+        }
+        falhando = false;
+        atuais.forEach((entidade, versao) -> {
+            Long conhecida = conhecidas.get(entidade);
+            if (conhecida == null || versao > conhecida) {
+                logger.info("Catálogo alterado em outra instância: {} versão {}", entidade, versao);
+                publisher.publishEvent(new CatalogChangedEvent(entidade, versao, false));
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
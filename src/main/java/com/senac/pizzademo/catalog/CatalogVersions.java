@@ -0,0 +1,47 @@
+package com.senac.pizzademo.catalog;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Acesso à tabela catalog_version, que guarda um contador por entidade do catálogo.
+ *
+ * O JdbcTemplate usa a mesma conexão da transação JPA em andamento, então o incremento
+ * é gravado (ou desfeito) junto com a alteração que o causou.
+ */
+@Component
+public class CatalogVersions {
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatalogVersions(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Incrementa a versão da entidade e retorna o novo valor.
+     */
+    public long incrementar(String entidade) {
+        int linhas = jdbcTemplate.update("UPDATE catalog_version SET versao = versao + 1 WHERE entidade = ?", entidade);
+        if (linhas == 0) {
+            jdbcTemplate.update("INSERT INTO catalog_version (entidade, versao) VALUES (?, 1)", entidade);
+            return 1;
+        }
+        Long versao = jdbcTemplate.queryForObject("SELECT versao FROM catalog_version WHERE entidade = ?", Long.class, entidade);
+        return versao != null ? versao : 0;
+    }
+
+    /**
+     * Lê a versão atual de todas as entidades.
+     */
+    public Map<String, Long> ler() {
+        Map<String, Long> versoes = new HashMap<>();
+        jdbcTemplate.query("SELECT entidade, versao FROM catalog_version",
+            rs -> {
+                versoes.put(rs.getString(1), rs.getLong(2));
+            });
+        return versoes;
+    }
+}
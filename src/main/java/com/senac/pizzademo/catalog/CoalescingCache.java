@@ -0,0 +1,124 @@
+package com.senac.pizzademo.catalog;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache por chave em que buscas simultâneas da mesma chave ausente são agrupadas:
+ * apenas uma requisição consulta o banco e as demais aguardam o mesmo resultado.
+ *
+ * Chaves inexistentes também ficam em cache (como ausentes) até a próxima invalidação.
+ * Uma carga que começou antes de {@link #invalidateAll()} devolve o resultado para quem
+ * a pediu, mas não fica no cache, já que pode ter lido dados anteriores à alteração.
+ *
+ * @param <K> Tipo da chave.
+ * @param <V> Tipo do valor.
+ */
+public class CoalescingCache<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> entradas = new ConcurrentHashMap<>();
+    private final AtomicLong geracao = new AtomicLong();
+    private final int maxEntradas;
+
+    public CoalescingCache(int maxEntradas) {
+        this.maxEntradas = maxEntradas;
+    }
+
+    /**
+     * Busca várias chaves. As ausentes no cache, e que ninguém está carregando, são
+     * carregadas juntas em uma única chamada do loader.
+     *
+     * @param chaves Chaves buscadas.
+     * @param loader Recebe as chaves a carregar e devolve as encontradas.
+     * @return Valores encontrados, na ordem das chaves; chaves inexistentes ficam de fora.
+     */
+    public Map<K, V> getAll(Set<K> chaves, Function<Set<K>, Map<K, V>> loader) {
+        Map<K, CompletableFuture<V>> futuros = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> minhas = new HashMap<>();
+        for (K chave : chaves) {
+            CompletableFuture<V> existente = entradas.get(chave);
+            if (existente == null) {
+                CompletableFuture<V> nova = new CompletableFuture<>();
+                existente = entradas.putIfAbsent(chave, nova);
+                if (existente == null) {
+                    existente = nova;
+                    minhas.put(chave, nova);
+                }
+            }
+            futuros.put(chave, existente);
+        }
+        if (!minhas.isEmpty()) {
+            carregar(minhas, loader);
+        }
+
+        Map<K, V> resultado = new LinkedHashMap<>();
+        for (Map.Entry<K, CompletableFuture<V>> entry : futuros.entrySet()) {
+            V valor = aguardar(entry.getValue());
+            if (valor != null) {
+                resultado.put(entry.getKey(), valor);
+            }
+        }
+        return resultado;
+    }
+
+    private void carregar(Map<K, CompletableFuture<V>> minhas, Function<Set<K>, Map<K, V>> loader) {
+        long geracaoInicial = geracao.get();
+        Map<K, V> carregados;
+        try {
+            carregados = loader.apply(minhas.keySet());
+        } catch (RuntimeException e) {
+            minhas.forEach((chave, futuro) -> {
+                entradas.remove(chave, futuro);
+                futuro.completeExceptionally(e);
+            });
+            throw e;
+        }
+        minhas.forEach((chave, futuro) -> futuro.complete(carregados.get(chave)));
+        if (geracao.get() != geracaoInicial) {
+            minhas.forEach(entradas::remove);
+        }
+        limitarTamanho();
+    }
+
+    /**
+     * Descarta entradas quando o limite é ultrapassado. Não é LRU: o objetivo é apenas
+     * limitar a memória, já que o cache é esvaziado a cada alteração do catálogo.
+     */
+    private void limitarTamanho() {
+        Iterator<K> it = entradas.keySet().iterator();
+        while (entradas.size() > maxEntradas && it.hasNext()) {
+            CompletableFuture<V> futuro = entradas.get(it.next());
+            if (futuro != null && futuro.isDone()) {
+                it.remove();
+            }
+        }
+    }
+
+    private static <V> V aguardar(CompletableFuture<V> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    public void invalidateAll() {
+        geracao.incrementAndGet();
+        // Entradas ainda carregando também saem; a carga em andamento não as devolve ao cache
+        entradas.clear();
+    }
+
+    int size() {
+        return entradas.size();
+    }
+}
@@ -0,0 +1,206 @@
+package com.senac.pizzademo.catalog;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Catálogo único de nomes de ingredientes (tabela ingrediente), com um dicionário
+ * id -> nome e nome -> id em memória.
+ *
+ * As receitas (tabela ingredientes) guardam só o ingrediente_id; o nome é resolvido por
+ * este dicionário, sem join. Uma linha do catálogo nunca muda de nome nem é removida, então
+ * o dicionário não precisa de invalidação: um id desconhecido (criado por outra instância ou
+ * por uma carga via JDBC) faz a tabela inteira ser relida uma vez, e não a cada linha que o
+ * referencia; um nome desconhecido é buscado no banco e passa a ficar em memória.
+ *
+ * Nomes lidos do banco já estão confirmados e entram no dicionário na hora. Só os incluídos
+ * por {@link #resolver} na transação em andamento esperam o commit, para que um rollback não
+ * deixe em memória um id que não existe; até lá, valem só para a própria transação.
+ *
+ * Na inicialização, o dicionário pode ser restaurado do arquivo de snapshot do catálogo
+ * (ver WarmStartService); só os ids maiores que o último salvo são lidos do banco.
+ */
+@Component
+public class IngredientCatalog {
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, String> nomes = new ConcurrentHashMap<>();
+    private final Map<String, Long> ids = new ConcurrentHashMap<>();
+    private volatile boolean restaurado;
+
+    public IngredientCatalog(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!restaurado) {
+            carregar();
+        }
+    }
+
+    /**
+     * Relê todos os ingredientes do banco.
+     */
+    public void carregar() {
+        Map<Long, String> criados = criadosNaTransacao();
+        jdbcTemplate.query("SELECT id, nome FROM ingrediente",
+            rs -> {
+                long id = rs.getLong(1);
+                // A própria transação enxerga as linhas que incluiu, ainda não confirmadas
+                if (criados == null || !criados.containsKey(id)) {
+                    guardar(id, rs.getString(2));
+                }
+            });
+    }
+
+    /**
+     * Nome do ingrediente com o id informado, ou null se o id não existir.
+     */
+    public String nome(Long id) {
+        if (id == null) {
+            return null;
+        }
+        String nome = nomes.get(id);
+        if (nome != null) {
+            return nome;
+        }
+        Map<Long, String> criados = criadosNaTransacao();
+        if (criados != null && criados.containsKey(id)) {
+            return criados.get(id);
+        }
+        // Os demais ids desconhecidos da mesma leitura vêm juntos
+        carregar();
+        return nomes.get(id);
+    }
+
+    /**
+     * Id do ingrediente com o nome informado, incluindo-o no catálogo se ainda não existir.
+     * Usa a transação em andamento, se houver.
+     */
+    public Long resolver(String nome) {
+        if (nome == null) {
+            return null;
+        }
+        Long id = ids.get(nome);
+        if (id != null) {
+            return id;
+        }
+        id = buscar(nome, false);
+        if (id == null) {
+            try {
+                jdbcTemplate.update("INSERT INTO ingrediente (nome) VALUES (?)", nome);
+                id = buscar(nome, false);
+                lembrarNoCommit(id, nome);
+                return id;
+            } catch (DuplicateKeyException e) {
+                // Outra transação incluiu o mesmo nome; a leitura com lock enxerga a linha
+                // já gravada mesmo com o snapshot do REPEATABLE READ aberto antes dela
+                id = buscar(nome, true);
+            }
+        }
+        Map<Long, String> criados = criadosNaTransacao();
+        if (id != null && (criados == null || !criados.containsKey(id))) {
+            guardar(id, nome);
+        }
+        return id;
+    }
+
+    /**
+     * Todos os ingredientes do catálogo, ordenados pelo id. Relê a tabela para incluir
+     * os nomes criados por outras instâncias.
+     */
+    public Map<Long, String> listar() {
+        carregar();
+        return new TreeMap<>(nomes);
+    }
+
+    /**
+     * Cópia dos ingredientes em memória, sem consultar o banco.
+     */
+    public Map<Long, String> conhecidos() {
+        return new TreeMap<>(nomes);
+    }
+
+    /**
+     * Inclui ingredientes salvos anteriormente e lê do banco os criados depois (ids maiores).
+     * Como um nome nunca muda, a cópia salva continua válida; um id menor gravado depois
+     * (transação mais lenta) é buscado quando pedido, como qualquer id desconhecido.
+     *
+     * @return Quantidade de ingredientes lidos do banco.
+     */
+    public int restaurar(Map<Long, String> salvos) {
+        salvos.forEach(this::guardar);
+        long ultimo = salvos.keySet().stream().mapToLong(Long::longValue).max().orElse(0);
+        int[] novos = {0};
+        jdbcTemplate.query("SELECT id, nome FROM ingrediente WHERE id > ?",
+            rs -> {
+                guardar(rs.getLong(1), rs.getString(2));
+                novos[0]++;
+            }, ultimo);
+        restaurado = true;
+        return novos[0];
+    }
+
+    private Long buscar(String nome, boolean comLock) {
+        List<Long> encontrados = jdbcTemplate.queryForList(
+            "SELECT id FROM ingrediente WHERE nome = ?" + (comLock ? " FOR UPDATE" : ""), Long.class, nome);
+        return encontrados.isEmpty() ? null : encontrados.get(0);
+    }
+
+    /**
+     * Ingredientes incluídos pela transação em andamento, ou null fora de transação ou se ela
+     * ainda não incluiu nenhum.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Long, String> criadosNaTransacao() {
+        return (Map<Long, String>) TransactionSynchronizationManager.getResource(this);
+    }
+
+    /**
+     * Guarda um ingrediente incluído agora: na hora, sem transação; senão, no commit.
+     */
+    private void lembrarNoCommit(Long id, String nome) {
+        if (id == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            guardar(id, nome);
+            return;
+        }
+        Map<Long, String> criados = criadosNaTransacao();
+        if (criados == null) {
+            Map<Long, String> novos = new HashMap<>();
+            criados = novos;
+            TransactionSynchronizationManager.bindResource(this, novos);
+            // Uma sincronização por transação, não por ingrediente
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    novos.forEach(IngredientCatalog.this::guardar);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(IngredientCatalog.this);
+                }
+            });
+        }
+        criados.put(id, nome);
+    }
+
+    private void guardar(Long id, String nome) {
+        nomes.put(id, nome);
+        ids.putIfAbsent(nome, id);
+    }
+}
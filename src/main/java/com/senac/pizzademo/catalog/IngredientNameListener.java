@@ -0,0 +1,41 @@
+package com.senac.pizzademo.catalog;
+
+import org.springframework.stereotype.Component;
+
+import com.senac.pizzademo.model.Ingredientes;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Listener JPA de {@link Ingredientes} que liga o nome do ingrediente, usado pela API,
+ * ao ingrediente_id gravado na receita.
+ *
+ * Na leitura o nome vem do dicionário em memória do {@link IngredientCatalog}; na gravação
+ * o nome é convertido em id, incluindo-o no catálogo se for novo.
+ *
+ * É instanciado pelo Hibernate através do container de beans do Spring.
+ */
+@Component
+public class IngredientNameListener {
+
+    private final IngredientCatalog ingredientCatalog;
+
+    public IngredientNameListener(IngredientCatalog ingredientCatalog) {
+        this.ingredientCatalog = ingredientCatalog;
+    }
+
+    @PostLoad
+    public void onLoad(Ingredientes ingredientes) {
+        ingredientes.carregarIngrediente(ingredientCatalog.nome(ingredientes.getIngredienteId()));
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void onSave(Ingredientes ingredientes) {
+        if (ingredientes.getIngredienteId() == null) {
+            ingredientes.setIngredienteId(ingredientCatalog.resolver(ingredientes.getIngrediente()));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.senac.pizzademo.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.senac.pizzademo.idempotency.IdempotencyStore;
+import com.senac.pizzademo.idempotency.InMemoryIdempotencyStore;
+import com.senac.pizzademo.idempotency.JdbcIdempotencyStore;
+
+/**
+ * Escolhe onde as respostas das chaves de idempotência são guardadas.
+ *
+ * pizzademo.idempotency.store=memory (padrão) mantém as respostas em memória;
+ * pizzademo.idempotency.store=jdbc usa a tabela idempotency_key, compartilhada entre instâncias.
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "pizzademo.idempotency.store", havingValue = "memory", matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore(
+            @Value("${pizzademo.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${pizzademo.idempotency.ttl:PT24H}") Duration ttl) {
+        return new InMemoryIdempotencyStore(maxEntries, ttl);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "pizzademo.idempotency.store", havingValue = "jdbc")
+    public IdempotencyStore jdbcIdempotencyStore(JdbcTemplate jdbcTemplate,
+            @Value("${pizzademo.idempotency.ttl:PT24H}") Duration ttl) {
+        return new JdbcIdempotencyStore(jdbcTemplate, ttl);
+    }
+}
@@ -0,0 +1,57 @@
+package com.senac.pizzademo.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.senac.pizzademo.serialization.CatalogJacksonModule;
+import com.senac.pizzademo.serialization.CatalogProtobufHttpMessageConverter;
+
+/**
+ * Formatos binários aceitos pela API, escolhidos pelos headers Accept e Content-Type.
+ *
+ * - application/cbor e application/x-jackson-smile: leitura e escrita, com as mesmas
+ *   configurações do Jackson usadas no JSON;
+ * - application/x-protobuf: somente escrita das listagens de /pizza e /cardapio.
+ *
+ * O JSON continua sendo o formato padrão quando o cliente aceita qualquer tipo. Pizza, Cardapio
+ * e Ingredientes usam serializadores escritos à mão ({@link CatalogJacksonModule}) nos três
+ * formatos do Jackson.
+ */
+@Configuration
+public class SerializationConfig implements WebMvcConfigurer {
+
+    /**
+     * Registrado no Jackson2ObjectMapperBuilder pelo Spring Boot, antes dos conversores abaixo.
+     */
+    @Bean
+    public Module catalogJacksonModule() {
+        return new CatalogJacksonModule();
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Override
+    public void extendMessageConverters(@NonNull List<HttpMessageConverter<?>> converters) {
+        // Adicionado ao final para que o JSON continue sendo escolhido com "Accept: */*"
+        converters.add(new CatalogProtobufHttpMessageConverter());
+    }
+}
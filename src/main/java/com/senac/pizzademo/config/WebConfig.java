@@ -1,23 +1,75 @@
 package com.senac.pizzademo.config;
 
+import com.senac.pizzademo.idempotency.IdempotencyFilter;
+import com.senac.pizzademo.idempotency.IdempotencyStore;
+import com.senac.pizzademo.resilience.DeadlineFilter;
 import com.senac.pizzademo.security.JwtFilter;
+import com.senac.pizzademo.snapshot.MenuSnapshotInterceptor;
+import com.senac.pizzademo.snapshot.MenuSnapshotService;
+import com.senac.pizzademo.timing.ServerTimingFilter;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.lang.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.Duration;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
+    private final MenuSnapshotInterceptor menuSnapshotInterceptor;
+
+    public WebConfig(MenuSnapshotInterceptor menuSnapshotInterceptor) {
+        this.menuSnapshotInterceptor = menuSnapshotInterceptor;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "pizzademo.deadline.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<DeadlineFilter> deadlineFilter(
+            @Value("${pizzademo.deadline.default:PT10S}") Duration padrao,
+            @Value("${pizzademo.deadline.routes:}") String rotas) {
+        FilterRegistrationBean<DeadlineFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new DeadlineFilter(padrao, rotas));
+        registrationBean.addUrlPatterns("/*");
+        registrationBean.setOrder(-1); // Antes de todos: o prazo conta desde a chegada da requisição
+        return registrationBean;
+    }
+    @Bean
+    @ConditionalOnProperty(name = "pizzademo.timing.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            @Value("${pizzademo.timing.slow-threshold:PT1S}") Duration limiteLenta) {
+        FilterRegistrationBean<ServerTimingFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new ServerTimingFilter(limiteLenta));
+        registrationBean.addUrlPatterns("/*");
+        registrationBean.setOrder(0); // Antes do JWT, para medir a validação do token
+        return registrationBean;
+    }
     @Bean
     public FilterRegistrationBean<JwtFilter> jwtFilter() {
         FilterRegistrationBean<JwtFilter> registrationBean = new FilterRegistrationBean<>();
         registrationBean.setFilter(new JwtFilter());
-        registrationBean.addUrlPatterns("/pizza/*");
+        registrationBean.addUrlPatterns("/pizza/*", "/jobs/*", "/auth/usuarios", "/admin/*");
         registrationBean.setOrder(1); // Garante prioridade do filtro se houver outros
         return registrationBean;
     }
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore idempotencyStore,
+            @Value("${pizzademo.idempotency.wait-timeout:PT30S}") Duration esperaMaxima) {
+        FilterRegistrationBean<IdempotencyFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new IdempotencyFilter(idempotencyStore, esperaMaxima));
+        registrationBean.addUrlPatterns("/pizza/*", "/cardapio/*", "/ingredientes/*", "/pedidos/*");
+        registrationBean.setOrder(2); // Depois do JWT, para não guardar respostas de requisições não autenticadas
+        return registrationBean;
+    }
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(menuSnapshotInterceptor)
+            .addPathPatterns(MenuSnapshotService.PIZZAS, MenuSnapshotService.CARDAPIO);
+    }
     @Override
     public void addCorsMappings(@NonNull CorsRegistry registry) {
         registry.addMapping("/**")
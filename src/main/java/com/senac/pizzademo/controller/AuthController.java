@@ -1,11 +1,17 @@
 package com.senac.pizzademo.controller;
 
+import com.senac.pizzademo.exception.BusinessException;
+import com.senac.pizzademo.model.Usuario;
+import com.senac.pizzademo.security.Administradores;
 import com.senac.pizzademo.security.JwtUtil;
+import com.senac.pizzademo.security.LoginService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.server.ResponseStatusException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,18 +22,29 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 /**
  * Controller responsável pela autenticação de usuários.
  * 
- * Fornece um endpoint para login, que retorna um token JWT caso as credenciais estejam corretas.
+ * Fornece um endpoint para login, que retorna um token JWT caso as credenciais estejam corretas,
+ * e o cadastro de novos usuários, restrito aos {@link Administradores}. As senhas são
+ * verificadas pelo {@link LoginService}, fora das threads do Tomcat.
  */
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
 
+    private final LoginService loginService;
+    private final Administradores administradores;
+
+    public AuthController(LoginService loginService, Administradores administradores) {
+        this.loginService = loginService;
+        this.administradores = administradores;
+    }
+
     /**
      * Realiza a autenticação do usuário e retorna um token JWT caso as credenciais estejam corretas.
      *
      * @param user Mapa contendo as chaves "username" e "password".
      * @return Mapa contendo o token JWT.
      * @throws ResponseStatusException Se as credenciais estiverem incorretas, retorna HTTP 401.
+     * @throws BusinessException Se houver logins demais em andamento, retorna HTTP 503.
      */
     @Operation(
         summary = "Realiza login e retorna um token JWT",
@@ -43,7 +60,8 @@ public class AuthController {
             content = @Content(mediaType = "application/json",
                 schema = @Schema(example = "{\"status\":401,\"error\":\"Unauthorized\",\"message\":\"Usuário ou senha inválidos.\",\"path\":\"/auth/login\"}")
             )
-        )
+        ),
+        @ApiResponse(responseCode = "503", description = "Logins demais em andamento, tente novamente em instantes")
     })
     @PostMapping("/login")
     @io.swagger.v3.oas.annotations.parameters.RequestBody(
@@ -60,8 +78,8 @@ public class AuthController {
         String username = user.get("username");
         String password = user.get("password");
 
-        // Verifica se o usuário e senha estão corretos (hardcoded para exemplo)
-        if ("admin".equals(username) && "senha123".equals(password)) {
+        // Verifica o usuário e a senha no cadastro de usuários
+        if (loginService.autenticar(username, password)) {
             // Gera o token JWT usando o utilitário JwtUtil
             String token = JwtUtil.generateToken(username);
 
@@ -76,4 +94,41 @@ public class AuthController {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Usuário ou senha inválidos.");
         }
     }
+
+    /**
+     * Cadastra um novo usuário. Exige o token JWT de um administrador, já que o novo usuário
+     * pode ter um nome listado em pizzademo.auth.admins.
+     *
+     * @param user Mapa contendo as chaves "username" e "password".
+     * @return O ID e o nome do usuário criado, com status 201.
+     * @throws BusinessException Se o token não for de um administrador, retorna HTTP 403.
+     */
+    @Operation(
+        summary = "Cadastra um usuário",
+        description = "Recebe um JSON com username e password (mínimo de 8 caracteres) e grava a senha como hash."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Usuário criado"),
+        @ApiResponse(responseCode = "400", description = "Usuário ou senha inválidos"),
+        @ApiResponse(responseCode = "403", description = "O token não é de um administrador"),
+        @ApiResponse(responseCode = "409", description = "Usuário já existe")
+    })
+    @PostMapping("/usuarios")
+    public ResponseEntity<Map<String, Object>> createUsuario(HttpServletRequest request, @RequestBody Map<String, String> user) {
+        administradores.exigir(request);
+        String username = user.get("username");
+        String password = user.get("password");
+        if (username == null || username.isBlank() || username.length() > 100) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "O usuário é obrigatório e deve ter até 100 caracteres.");
+        }
+        if (password == null || password.length() < 8) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "A senha deve ter pelo menos 8 caracteres.");
+        }
+        Usuario usuario = loginService.cadastrar(username, password);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", usuario.getId());
+        response.put("username", usuario.getUsername());
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
 }
@@ -0,0 +1,60 @@
+package com.senac.pizzademo.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.senac.pizzademo.job.BatchJob;
+import com.senac.pizzademo.job.BatchJobService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+/**
+ * BatchJobController expõe o acompanhamento dos jobs de importação assíncrona.
+ *
+ * Os jobs são criados pelos endpoints /pizza/batch/async, /cardapio/batch/async e
+ * /ingredientes/batch/async, que respondem 202 com o ID do job.
+ */
+@RestController
+@RequestMapping("/jobs")
+public class BatchJobController {
+
+    private final BatchJobService batchJobService;
+
+    public BatchJobController(BatchJobService batchJobService) {
+        this.batchJobService = batchJobService;
+    }
+
+    /**
+     * Consulta o status, o progresso e os erros de um job.
+     *
+     * @param id ID do job.
+     * @return O job, ou not found se não existir (ou se já tiver expirado).
+     */
+    @Operation(summary = "Consulta um job de importação", description = "Retorna status, progresso e erros de um job de importação em lote.")
+    @ApiResponse(responseCode = "200", description = "Job encontrado")
+    @GetMapping("/{id}")
+    public ResponseEntity<BatchJob<?>> getJob(@PathVariable String id) {
+        return batchJobService.find(id)
+            .<ResponseEntity<BatchJob<?>>>map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Reprocessa os blocos que falharam em um job.
+     *
+     * @param id ID do job.
+     * @return O job reagendado.
+     */
+    @Operation(summary = "Reprocessa um job com falha", description = "Agenda novamente apenas os blocos que falharam no job.")
+    @ApiResponse(responseCode = "202", description = "Job reagendado")
+    @PostMapping("/{id}/retry")
+    public ResponseEntity<BatchJob<?>> retryJob(@PathVariable String id) {
+        return new ResponseEntity<>(batchJobService.retry(id), HttpStatus.ACCEPTED);
+    }
+}
@@ -1,6 +1,10 @@
 package com.senac.pizzademo.controller;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import jakarta.validation.Valid;
 
@@ -12,11 +16,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.senac.pizzademo.catalog.CatalogItemCache;
 import com.senac.pizzademo.dto.CardapioDTO;
+import com.senac.pizzademo.dto.SparseFieldset;
+import com.senac.pizzademo.exception.NotFoundException;
+import com.senac.pizzademo.job.BatchJob;
+import com.senac.pizzademo.job.BatchJobService;
 import com.senac.pizzademo.model.Cardapio;
-import com.senac.pizzademo.model.Pizza;
 import com.senac.pizzademo.repository.CardapioRepository;
 import com.senac.pizzademo.repository.PizzaRepository;
 
@@ -28,6 +37,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 
 /**
  * CardapioController é responsável por gerenciar os endpoints REST relacionados ao cardápio de pizzas.
@@ -39,10 +49,15 @@ public class CardapioController {
 
     private final CardapioRepository cardapioRepository;
     private final PizzaRepository pizzaRepository;
+    private final BatchJobService batchJobService;
+    private final CatalogItemCache catalogItemCache;
 
-    public CardapioController(CardapioRepository cardapioRepository, PizzaRepository pizzaRepository) {
+    public CardapioController(CardapioRepository cardapioRepository, PizzaRepository pizzaRepository,
+                              BatchJobService batchJobService, CatalogItemCache catalogItemCache) {
         this.cardapioRepository = cardapioRepository;
         this.pizzaRepository = pizzaRepository;
+        this.batchJobService = batchJobService;
+        this.catalogItemCache = catalogItemCache;
     }
 
     /**
@@ -54,12 +69,61 @@ public class CardapioController {
      * @return Lista de objetos Cardapio.
      */
     @Operation(summary = "Lista todos os itens do cardápio", description = "Retorna uma lista com todos os itens cadastrados no cardápio.")
-    @GetMapping
+    @GetMapping(params = {"!fields", "!include", "!ids"})
     public List<Cardapio> getAllCardapios() {
         logger.info("Listando todos os itens do cardápio");
         return cardapioRepository.findAll();
     }
 
+    /**
+     * Lista os itens do cardápio trazendo apenas os campos pedidos.
+     *
+     * Exemplo: GET /cardapio?fields=tamanho,valor&include=pizza retorna tamanho, valor
+     * e o id/sabor da pizza, tudo em uma única consulta.
+     *
+     * @param fields Campos separados por vírgula (id, valor, tamanho).
+     * @param include Relacionamentos separados por vírgula (pizza).
+     * @return Lista de itens com os campos pedidos.
+     */
+    @Operation(
+        summary = "Lista itens do cardápio com campos selecionados",
+        description = "Usa ?fields=id,valor,tamanho e ?include=pizza para escolher o que é consultado e retornado."
+    )
+    @GetMapping(params = "!ids")
+    public List<Map<String, Object>> getCardapiosEsparsos(@RequestParam(required = false) String fields,
+                                                          @RequestParam(required = false) String include) {
+        SparseFieldset fieldset = SparseFieldset.parse(fields, include, CardapioRepository.CAMPOS, CardapioRepository.INCLUDES);
+        logger.info("Listando cardápio com campos {} e includes {}", fieldset.fields(), fieldset.include());
+        return cardapioRepository.findSparse(fieldset);
+    }
+
+    /**
+     * Busca um item do cardápio pelo ID.
+     *
+     * @param id ID do item.
+     * @return O item encontrado.
+     */
+    @Operation(summary = "Busca um item do cardápio pelo ID", description = "Retorna um item do cardápio identificado pelo ID.")
+    @GetMapping("/{id}")
+    public Cardapio getCardapio(@PathVariable Long id) {
+        return catalogItemCache.cardapio(id)
+            .orElseThrow(() -> new NotFoundException("Cardápio não encontrado"));
+    }
+
+    /**
+     * Busca vários itens do cardápio pelos IDs em uma única consulta.
+     *
+     * Exemplo: GET /cardapio?ids=1,2,3. IDs inexistentes são ignorados.
+     *
+     * @param ids IDs separados por vírgula.
+     * @return Os itens encontrados, na ordem dos IDs.
+     */
+    @Operation(summary = "Busca itens do cardápio por IDs", description = "Usa ?ids=1,2,3 para buscar vários itens de uma vez.")
+    @GetMapping(params = "ids")
+    public List<Cardapio> getCardapiosPorIds(@RequestParam List<Long> ids) {
+        return catalogItemCache.cardapios(ids);
+    }
+
     /**
      * Cria um novo item no cardápio.
      *
@@ -85,10 +149,9 @@ public class CardapioController {
         if (pizzaId == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ID da pizza é obrigatório para criar item do cardápio");
         }
-        Pizza pizza = pizzaRepository.findById(pizzaId)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Pizza não encontrada: id=" + pizzaId));
+        verificarPizzas(Set.of(pizzaId));
         Cardapio cardapio = new Cardapio();
-        cardapio.setPizza(pizza);
+        cardapio.setPizza(pizzaRepository.getReferenceById(pizzaId));
         cardapio.setValor(cardapioDTO.getPreco());
         cardapio.setTamanho(cardapioDTO.getTamanho());
         return cardapioRepository.save(cardapio);
@@ -98,9 +161,11 @@ public class CardapioController {
      * Cria múltiplos itens no cardápio de uma vez.
      *
      * Permite cadastrar vários itens do cardápio em uma única requisição.
-     * Útil para importação em lote.
+     * Útil para importação em lote. Cada item usa o mesmo formato do POST /cardapio
+     * (o valor pode vir como "preco" ou "valor"); todas as pizzas referenciadas são
+     * verificadas com uma única consulta.
      *
-     * @param cardapioList Lista de objetos Cardapio.
+     * @param cardapioList Lista de itens do cardápio.
      * @return Lista dos itens criados.
      */
     @Operation(
@@ -113,8 +178,29 @@ public class CardapioController {
         )
     )
     @PostMapping("/batch")
-    public List<Cardapio> createMultiplosCardapios(@RequestBody List<Cardapio> cardapioList) {
-        return cardapioRepository.saveAll(cardapioList);
+    public List<Cardapio> createMultiplosCardapios(@RequestBody List<CardapioDTO> cardapioList) {
+        return cardapioRepository.saveAll(paraCardapios(cardapioList));
+    }
+
+    /**
+     * Agenda a criação de múltiplos itens do cardápio em segundo plano.
+     *
+     * Indicado para lotes grandes: a requisição retorna imediatamente com o ID do job,
+     * que pode ser acompanhado em GET /jobs/{id}. As pizzas referenciadas são
+     * verificadas antes de agendar, com uma única consulta.
+     *
+     * @param cardapioList Lista de itens do cardápio.
+     * @return O job criado, com status 202.
+     */
+    @Operation(
+        summary = "Agenda a criação de múltiplos itens no cardápio",
+        description = "Valida a lista de itens, agenda a gravação em segundo plano e retorna o ID do job."
+    )
+    @ApiResponse(responseCode = "202", description = "Importação agendada")
+    @PostMapping("/batch/async")
+    public ResponseEntity<BatchJob<Cardapio>> createMultiplosCardapiosAsync(@RequestBody List<CardapioDTO> cardapioList) {
+        BatchJob<Cardapio> job = batchJobService.submit("cardapio", paraCardapios(cardapioList), cardapioRepository::saveAll);
+        return ResponseEntity.accepted().header("Location", "/jobs/" + job.getId()).body(job);
     }
 
     /**
@@ -144,14 +230,13 @@ public class CardapioController {
                 if (pizzaId == null) {
                     throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ID da pizza é obrigatório para atualizar item do cardápio");
                 }
-                Pizza pizza = pizzaRepository.findById(pizzaId)
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Pizza não encontrada: id=" + pizzaId));
-                existing.setPizza(pizza);
+                verificarPizzas(Set.of(pizzaId));
+                existing.setPizza(pizzaRepository.getReferenceById(pizzaId));
                 existing.setValor(cardapioDTO.getPreco());
                 existing.setTamanho(cardapioDTO.getTamanho());
                 return cardapioRepository.save(existing);
             })
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cardápio não encontrado"));
+            .orElseThrow(() -> new NotFoundException("Cardápio não encontrado"));
     }
 
     /**
@@ -188,7 +273,7 @@ public class CardapioController {
                 }
                 return cardapioRepository.save(existing);
             })
-            .orElseThrow(() -> new RuntimeException("Cardápio não encontrado"));
+            .orElseThrow(() -> new NotFoundException("Cardápio não encontrado"));
     }
 
     /**
@@ -209,4 +294,45 @@ public class CardapioController {
         cardapioRepository.deleteById(id);
     }
 
+    /**
+     * Converte os itens recebidos em entidades ligadas às pizzas por referência
+     * (getReferenceById), sem carregar as linhas das pizzas.
+     */
+    private List<Cardapio> paraCardapios(List<CardapioDTO> itens) {
+        if (itens == null) {
+            return List.of();
+        }
+        Set<Long> pizzaIds = new HashSet<>();
+        for (int i = 0; i < itens.size(); i++) {
+            CardapioDTO item = itens.get(i);
+            Long pizzaId = item.getPizza() != null ? item.getPizza().getId() : null;
+            if (pizzaId == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ID da pizza é obrigatório: item " + i);
+            }
+            pizzaIds.add(pizzaId);
+        }
+        verificarPizzas(pizzaIds);
+        List<Cardapio> cardapios = new ArrayList<>(itens.size());
+        for (CardapioDTO item : itens) {
+            cardapios.add(new Cardapio(item.getPreco(), item.getTamanho(),
+                pizzaRepository.getReferenceById(item.getPizza().getId())));
+        }
+        return cardapios;
+    }
+
+    /**
+     * Verifica com uma única consulta se todas as pizzas existem.
+     */
+    private void verificarPizzas(Set<Long> pizzaIds) {
+        if (pizzaIds.isEmpty()) {
+            return;
+        }
+        Set<Long> existentes = pizzaRepository.findExistingIds(pizzaIds);
+        if (existentes.size() == pizzaIds.size()) {
+            return;
+        }
+        List<Long> faltantes = pizzaIds.stream().filter(id -> !existentes.contains(id)).sorted().toList();
+        String ids = faltantes.size() == 1 ? "id=" + faltantes.get(0) : "ids=" + faltantes;
+        throw new NotFoundException(faltantes.size() == 1 ? "Pizza não encontrada: " + ids : "Pizzas não encontradas: " + ids);
+    }
 }
@@ -0,0 +1,122 @@
+package com.senac.pizzademo.controller;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.senac.pizzademo.diagnostics.GravacaoJfr;
+import com.senac.pizzademo.diagnostics.JfrService;
+import com.senac.pizzademo.diagnostics.PerfilJfr;
+import com.senac.pizzademo.diagnostics.ResumoJfr;
+import com.senac.pizzademo.security.Administradores;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+/**
+ * DiagnosticoController permite investigar lentidão em produção com o Java Flight Recorder,
+ * sem acesso ao container: gravações limitadas com perfis prontos, download do arquivo .jfr
+ * (aberto no JDK Mission Control ou com {@code jfr print}) e um resumo ao vivo.
+ *
+ * Exige o token JWT de um usuário listado em pizzademo.auth.admins (ver {@link Administradores}).
+ */
+@RestController
+@RequestMapping("/admin/diagnostico")
+public class DiagnosticoController {
+
+    private final JfrService jfrService;
+    private final Administradores administradores;
+
+    public DiagnosticoController(JfrService jfrService, Administradores administradores) {
+        this.jfrService = jfrService;
+        this.administradores = administradores;
+    }
+
+    /**
+     * Inicia uma gravação.
+     *
+     * Exemplo: POST /admin/diagnostico/gravacoes?perfil=CPU&duracao=PT2M
+     *
+     * @param perfil PADRAO, CPU, ALOCACAO ou LOCKS.
+     * @param duracao Duração em ISO-8601; limitada a pizzademo.diagnostics.max-duration.
+     * @return A gravação iniciada, com status 201.
+     */
+    @Operation(summary = "Inicia uma gravação JFR", description = "Inicia uma gravação com o perfil informado, que para sozinha ao fim da duração.")
+    @ApiResponse(responseCode = "409", description = "Já existe uma gravação em andamento")
+    @PostMapping("/gravacoes")
+    public ResponseEntity<GravacaoJfr> iniciarGravacao(HttpServletRequest request,
+                                                       @RequestParam(defaultValue = "PADRAO") PerfilJfr perfil,
+                                                       @RequestParam(required = false) Duration duracao) {
+        exigirAdmin(request);
+        return new ResponseEntity<>(jfrService.iniciar(perfil, duracao), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Lista as gravações JFR", description = "Lista as gravações em andamento e as encerradas que ainda estão guardadas.")
+    @GetMapping("/gravacoes")
+    public List<GravacaoJfr> listarGravacoes(HttpServletRequest request) {
+        exigirAdmin(request);
+        return jfrService.listar();
+    }
+
+    @Operation(summary = "Para uma gravação JFR", description = "Para a gravação e grava o arquivo .jfr.")
+    @PostMapping("/gravacoes/{id}/parar")
+    public GravacaoJfr pararGravacao(HttpServletRequest request, @PathVariable long id) {
+        exigirAdmin(request);
+        return jfrService.parar(id);
+    }
+
+    /**
+     * Baixa o arquivo .jfr. Se a gravação ainda estiver em andamento, traz o que foi gravado
+     * até agora, sem pará-la.
+     */
+    @Operation(summary = "Baixa o arquivo de uma gravação JFR", description = "Retorna o arquivo .jfr da gravação.")
+    @GetMapping("/gravacoes/{id}/arquivo")
+    public ResponseEntity<InputStreamResource> baixarGravacao(HttpServletRequest request, @PathVariable long id) throws IOException {
+        exigirAdmin(request);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"pizzademo-" + id + ".jfr\"")
+            .body(new InputStreamResource(jfrService.arquivo(id)));
+    }
+
+    @Operation(summary = "Remove uma gravação JFR", description = "Descarta a gravação e apaga o arquivo.")
+    @DeleteMapping("/gravacoes/{id}")
+    public void removerGravacao(HttpServletRequest request, @PathVariable long id) {
+        exigirAdmin(request);
+        jfrService.remover(id);
+    }
+
+    /**
+     * Resumo ao vivo: observa a aplicação pela janela informada e retorna os métodos quentes,
+     * a taxa de alocação por classe, a contenção por lock e o estado do heap.
+     *
+     * Exemplo: GET /admin/diagnostico/resumo?janela=PT10S
+     */
+    @Operation(summary = "Resumo ao vivo do JFR", description = "Agrega os eventos do JFR durante a janela (até 60 s) e retorna os rankings.")
+    @ApiResponse(responseCode = "409", description = "Já existe um resumo em andamento")
+    @GetMapping("/resumo")
+    public ResumoJfr resumo(HttpServletRequest request,
+                            @RequestParam(defaultValue = "PT10S") Duration janela) throws InterruptedException {
+        exigirAdmin(request);
+        return jfrService.resumir(janela);
+    }
+
+    private void exigirAdmin(HttpServletRequest request) {
+        administradores.exigir(request);
+    }
+}
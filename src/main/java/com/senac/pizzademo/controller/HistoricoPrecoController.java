@@ -0,0 +1,88 @@
+package com.senac.pizzademo.controller;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.senac.pizzademo.exception.BusinessException;
+import com.senac.pizzademo.exception.NotFoundException;
+import com.senac.pizzademo.history.PrecoVigente;
+import com.senac.pizzademo.history.PriceHistoryRepository;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+/**
+ * HistoricoPrecoController consulta os preços do cardápio em datas passadas.
+ *
+ * As datas seguem o formato ISO-8601 em UTC, por exemplo 2024-05-01T12:00:00Z. Sem data,
+ * vale o momento da consulta.
+ */
+@RestController
+@RequestMapping("/cardapio/historico")
+public class HistoricoPrecoController {
+
+    private final PriceHistoryRepository priceHistoryRepository;
+
+    public HistoricoPrecoController(PriceHistoryRepository priceHistoryRepository) {
+        this.priceHistoryRepository = priceHistoryRepository;
+    }
+
+    /**
+     * Cardápio como estava na data informada.
+     *
+     * Exemplo: GET /cardapio/historico?em=2024-05-01T00:00:00Z
+     *
+     * @param em Data da consulta.
+     * @return Os itens vigentes na data, em ordem de id, com o preço e a data desde quando valia.
+     */
+    @Operation(summary = "Cardápio em uma data", description = "Monta o cardápio vigente na data com uma única consulta ao histórico.")
+    @GetMapping
+    public List<PrecoVigente> getCardapioEm(@RequestParam(required = false) Instant em) {
+        return priceHistoryRepository.cardapio(em != null ? em : Instant.now());
+    }
+
+    /**
+     * Preço de uma pizza em um tamanho na data informada.
+     *
+     * Exemplo: GET /cardapio/historico/preco?pizzaId=1&tamanho=Grande&em=2024-05-01T00:00:00Z
+     *
+     * @return O preço vigente na data.
+     */
+    @Operation(summary = "Preço de uma pizza e tamanho em uma data", description = "Retorna o preço da pizza no tamanho informado, vigente na data.")
+    @ApiResponse(responseCode = "404", description = "A pizza não estava no cardápio nesse tamanho nessa data")
+    @GetMapping("/preco")
+    public PrecoVigente getPrecoEm(@RequestParam Long pizzaId, @RequestParam String tamanho,
+                                   @RequestParam(required = false) Instant em) {
+        return priceHistoryRepository.vigente(pizzaId, tamanho, em != null ? em : Instant.now())
+            .orElseThrow(() -> new NotFoundException("Preço não encontrado para a pizza " + pizzaId + " no tamanho " + tamanho));
+    }
+
+    /**
+     * Alterações de um item do cardápio em um período, incluindo o estado vigente no início.
+     * Linhas sem valor indicam que o item saiu do cardápio.
+     *
+     * Exemplo: GET /cardapio/historico/1?de=2024-01-01T00:00:00Z&ate=2025-01-01T00:00:00Z
+     *
+     * @param id ID do item do cardápio.
+     * @param de Início do período; sem início, todo o histórico.
+     * @param ate Fim do período.
+     * @return As linhas do histórico, em ordem cronológica.
+     */
+    @Operation(summary = "Histórico de um item do cardápio", description = "Lista os preços do item vigentes no período informado.")
+    @GetMapping("/{id}")
+    public List<PrecoVigente> getHistorico(@PathVariable Long id, @RequestParam(required = false) Instant de,
+                                           @RequestParam(required = false) Instant ate) {
+        Instant fim = ate != null ? ate : Instant.now();
+        if (de != null && de.isAfter(fim)) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "O início do período deve ser anterior ao fim");
+        }
+        return priceHistoryRepository.periodo(id, de, fim);
+    }
+}
@@ -3,6 +3,7 @@ import java.util.List;
 
 import jakarta.validation.Valid;
 
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,8 +12,15 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.senac.pizzademo.catalog.CatalogItemCache;
+import com.senac.pizzademo.catalog.IngredientCatalog;
+import com.senac.pizzademo.dto.IngredienteCatalogoDTO;
+import com.senac.pizzademo.exception.NotFoundException;
+import com.senac.pizzademo.job.BatchJob;
+import com.senac.pizzademo.job.BatchJobService;
 import com.senac.pizzademo.model.Ingredientes;
 import com.senac.pizzademo.repository.IngredientesRepository;
 
@@ -44,9 +52,16 @@ public class IngredientesController {
     private static final Logger logger = LoggerFactory.getLogger(IngredientesController.class);
 
     private final IngredientesRepository ingredientesRepository;
+    private final BatchJobService batchJobService;
+    private final CatalogItemCache catalogItemCache;
+    private final IngredientCatalog ingredientCatalog;
 
-    public IngredientesController(IngredientesRepository ingredientesRepository) {
+    public IngredientesController(IngredientesRepository ingredientesRepository, BatchJobService batchJobService,
+                                  CatalogItemCache catalogItemCache, IngredientCatalog ingredientCatalog) {
         this.ingredientesRepository = ingredientesRepository;
+        this.batchJobService = batchJobService;
+        this.catalogItemCache = catalogItemCache;
+        this.ingredientCatalog = ingredientCatalog;
     }
 
     /**
@@ -55,12 +70,52 @@ public class IngredientesController {
      * @return Lista de objetos Ingredientes.
      */
     @Operation(summary = "Lista todos os ingredientes", description = "Retorna uma lista com todos os ingredientes cadastrados.")
-    @GetMapping
+    @GetMapping(params = "!ids")
     public List<Ingredientes> getAllIngredientes() {
         logger.info("Listando todos os ingredientes");
         return ingredientesRepository.findAll();
     }
 
+    /**
+     * Lista o catálogo único de ingredientes, sem repetição entre pizzas.
+     *
+     * @return Os ingredientes do catálogo, ordenados pelo ID.
+     */
+    @Operation(summary = "Lista o catálogo de ingredientes", description = "Retorna cada ingrediente uma única vez, com o ID usado pelas receitas.")
+    @GetMapping("/catalogo")
+    public List<IngredienteCatalogoDTO> getCatalogo() {
+        return ingredientCatalog.listar().entrySet().stream()
+            .map(e -> new IngredienteCatalogoDTO(e.getKey(), e.getValue()))
+            .toList();
+    }
+
+    /**
+     * Busca um ingrediente pelo ID.
+     *
+     * @param id ID do ingrediente.
+     * @return O ingrediente encontrado.
+     */
+    @Operation(summary = "Busca um ingrediente pelo ID", description = "Retorna um ingrediente identificado pelo ID.")
+    @GetMapping("/{id}")
+    public Ingredientes getIngrediente(@PathVariable Long id) {
+        return catalogItemCache.ingrediente(id)
+            .orElseThrow(() -> new NotFoundException("Ingrediente não encontrado"));
+    }
+
+    /**
+     * Busca vários ingredientes pelos IDs em uma única consulta.
+     *
+     * Exemplo: GET /ingredientes?ids=1,2,3. IDs inexistentes são ignorados.
+     *
+     * @param ids IDs separados por vírgula.
+     * @return Os ingredientes encontrados, na ordem dos IDs.
+     */
+    @Operation(summary = "Busca ingredientes por IDs", description = "Usa ?ids=1,2,3 para buscar vários ingredientes de uma vez.")
+    @GetMapping(params = "ids")
+    public List<Ingredientes> getIngredientesPorIds(@RequestParam List<Long> ids) {
+        return catalogItemCache.ingredientes(ids);
+    }
+
     /**
      * Cria um novo ingrediente.
      * 
@@ -107,6 +162,27 @@ public class IngredientesController {
         return ingredientesRepository.saveAll(ingredientesList);
     }
 
+    /**
+     * Agenda a criação de múltiplos ingredientes em segundo plano.
+     * 
+     * Indicado para lotes grandes: a requisição retorna imediatamente com o ID do job,
+     * que pode ser acompanhado em GET /jobs/{id}.
+     * 
+     * @param ingredientesList Lista de objetos Ingredientes.
+     * @return O job criado, com status 202.
+     */
+    @Operation(
+        summary = "Agenda a criação de múltiplos ingredientes",
+        description = "Valida a lista de ingredientes, agenda a gravação em segundo plano e retorna o ID do job."
+    )
+    @ApiResponse(responseCode = "202", description = "Importação agendada")
+    @PostMapping("/batch/async")
+    public ResponseEntity<BatchJob<Ingredientes>> createMultiplosIngredientesAsync(@RequestBody List<Ingredientes> ingredientesList) {
+        logger.info("Agendando importação de {} ingredientes", ingredientesList.size());
+        BatchJob<Ingredientes> job = batchJobService.submit("ingredientes", ingredientesList, ingredientesRepository::saveAll);
+        return ResponseEntity.accepted().header("Location", "/jobs/" + job.getId()).body(job);
+    }
+
     /**
      * Atualiza completamente um ingrediente pelo ID.
      * 
@@ -137,7 +213,7 @@ public class IngredientesController {
                 }
                 return ingredientesRepository.save(existing);
             })
-            .orElseThrow(() -> new RuntimeException("Ingrediente não encontrado"));
+            .orElseThrow(() -> new NotFoundException("Ingrediente não encontrado"));
     }
 
     /**
@@ -174,7 +250,7 @@ public class IngredientesController {
                 }
                 return ingredientesRepository.save(existing);
             })
-            .orElseThrow(() -> new RuntimeException("Ingrediente não encontrado"));
+            .orElseThrow(() -> new NotFoundException("Ingrediente não encontrado"));
     }
 
     /**
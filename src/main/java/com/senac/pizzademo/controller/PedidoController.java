@@ -0,0 +1,77 @@
+package com.senac.pizzademo.controller;
+
+import jakarta.validation.Valid;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.senac.pizzademo.dto.CotacaoDTO;
+import com.senac.pizzademo.dto.PedidoDTO;
+import com.senac.pizzademo.order.Cotacao;
+import com.senac.pizzademo.order.OrderIngestionService;
+import com.senac.pizzademo.order.Pedido;
+import com.senac.pizzademo.order.QuoteEngine;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+/**
+ * PedidoController recebe os pedidos dos clientes.
+ *
+ * O pedido é precificado pelo cardápio em memória e gravado em segundo plano, em lotes;
+ * a resposta 202 significa que o pedido foi aceito e será gravado em instantes.
+ *
+ * Exemplo de JSON:
+ * {
+ *   "cliente": "Maria",
+ *   "itens": [
+ *     { "cardapioId": 1, "quantidade": 2 }
+ *   ]
+ * }
+ */
+@RestController
+@RequestMapping("/pedidos")
+public class PedidoController {
+
+    private final OrderIngestionService orderIngestionService;
+    private final QuoteEngine quoteEngine;
+
+    public PedidoController(OrderIngestionService orderIngestionService, QuoteEngine quoteEngine) {
+        this.orderIngestionService = orderIngestionService;
+        this.quoteEngine = quoteEngine;
+    }
+
+    /**
+     * Aceita um novo pedido.
+     *
+     * @param pedido Itens do cardápio e quantidades.
+     * @return O pedido aceito, com ID, preços unitários e total.
+     */
+    @Operation(summary = "Cria um pedido", description = "Precifica os itens pelo cardápio, enfileira o pedido para gravação e retorna 202 com o ID.")
+    @ApiResponse(responseCode = "202", description = "Pedido aceito")
+    @ApiResponse(responseCode = "404", description = "Item do cardápio não encontrado")
+    @ApiResponse(responseCode = "503", description = "Fila de pedidos cheia")
+    @PostMapping
+    public ResponseEntity<Pedido> createPedido(@Valid @RequestBody PedidoDTO pedido) {
+        return new ResponseEntity<>(orderIngestionService.aceitar(pedido), HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Cota um carrinho pelos preços atuais do cardápio, sem criar pedido.
+     *
+     * Exemplo: { "itens": [ { "pizzaId": 1, "tamanho": "Grande", "quantidade": 2 } ] }
+     *
+     * @param carrinho Pizzas, tamanhos e quantidades.
+     * @return Preços unitários, subtotais, itens indisponíveis e total.
+     */
+    @Operation(summary = "Cota um carrinho", description = "Calcula o total do carrinho pelos preços em memória, sem acessar o banco.")
+    @ApiResponse(responseCode = "200", description = "Carrinho cotado")
+    @PostMapping("/cotacao")
+    public Cotacao cotar(@Valid @RequestBody CotacaoDTO carrinho) {
+        return quoteEngine.cotar(carrinho);
+    }
+}
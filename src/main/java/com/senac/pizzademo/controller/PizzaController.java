@@ -13,8 +13,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.senac.pizzademo.catalog.CatalogItemCache;
+import com.senac.pizzademo.dto.SparseFieldset;
+import com.senac.pizzademo.job.BatchJob;
+import com.senac.pizzademo.job.BatchJobService;
 import com.senac.pizzademo.model.Cardapio;
 import com.senac.pizzademo.model.Ingredientes;
 import com.senac.pizzademo.model.Pizza;
@@ -50,9 +55,14 @@ public class PizzaController {
     private static final Logger logger = LoggerFactory.getLogger(PizzaController.class);
 
     private final PizzaRepository pizzaRepository;
+    private final BatchJobService batchJobService;
+    private final CatalogItemCache catalogItemCache;
 
-    public PizzaController(PizzaRepository pizzaRepository) {
+    public PizzaController(PizzaRepository pizzaRepository, BatchJobService batchJobService,
+                           CatalogItemCache catalogItemCache) {
         this.pizzaRepository = pizzaRepository;
+        this.batchJobService = batchJobService;
+        this.catalogItemCache = catalogItemCache;
     }
 
     /**
@@ -61,12 +71,63 @@ public class PizzaController {
      * @return Lista de objetos Pizza.
      */
     @Operation(summary = "Lista todas as pizzas", description = "Retorna uma lista com todas as pizzas cadastradas.")
-    @GetMapping
+    @GetMapping(params = {"!fields", "!include", "!ids"})
     public List<Pizza> getAllPizzas() {
         logger.info("Listando todas as pizzas");
         return pizzaRepository.findAll();
     }
 
+    /**
+     * Lista as pizzas trazendo apenas os campos e coleções pedidos.
+     *
+     * Exemplo: GET /pizza?fields=id,sabor retorna só id e sabor, sem consultar
+     * ingredientes e cardápio. GET /pizza?include=ingredientes acrescenta os
+     * ingredientes com uma única consulta extra.
+     *
+     * @param fields Campos separados por vírgula (id, sabor).
+     * @param include Coleções separadas por vírgula (ingredientes, cardapio).
+     * @return Lista de pizzas com os campos pedidos.
+     */
+    @Operation(
+        summary = "Lista pizzas com campos selecionados",
+        description = "Usa ?fields=id,sabor e ?include=ingredientes,cardapio para escolher o que é consultado e retornado."
+    )
+    @GetMapping(params = "!ids")
+    public List<Map<String, Object>> getPizzasEsparsas(@RequestParam(required = false) String fields,
+                                                        @RequestParam(required = false) String include) {
+        SparseFieldset fieldset = SparseFieldset.parse(fields, include, PizzaRepository.CAMPOS, PizzaRepository.INCLUDES);
+        logger.info("Listando pizzas com campos {} e includes {}", fieldset.fields(), fieldset.include());
+        return pizzaRepository.findSparse(fieldset);
+    }
+
+    /**
+     * Busca uma pizza pelo ID, com ingredientes e cardápio.
+     *
+     * @param id ID da pizza.
+     * @return A pizza, ou not found se não existir.
+     */
+    @Operation(summary = "Busca uma pizza pelo ID", description = "Retorna uma pizza com seus ingredientes e itens do cardápio.")
+    @GetMapping("/{id}")
+    public ResponseEntity<Pizza> getPizza(@PathVariable Long id) {
+        return catalogItemCache.pizza(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Busca várias pizzas pelos IDs em uma única consulta.
+     *
+     * Exemplo: GET /pizza?ids=1,2,3. IDs inexistentes são ignorados.
+     *
+     * @param ids IDs separados por vírgula.
+     * @return As pizzas encontradas, na ordem dos IDs.
+     */
+    @Operation(summary = "Busca pizzas por IDs", description = "Usa ?ids=1,2,3 para buscar várias pizzas de uma vez.")
+    @GetMapping(params = "ids")
+    public List<Pizza> getPizzasPorIds(@RequestParam List<Long> ids) {
+        return catalogItemCache.pizzas(ids);
+    }
+
     /**
      * Cria uma nova pizza.
      *
@@ -156,6 +217,26 @@ public class PizzaController {
         );
     }
 
+    /**
+     * Agenda a criação de múltiplas pizzas em segundo plano.
+     *
+     * Indicado para lotes grandes: a requisição retorna imediatamente com o ID do job,
+     * que pode ser acompanhado em GET /jobs/{id}.
+     *
+     * @param pizzas Lista de objetos Pizza.
+     * @return O job criado, com status 202.
+     */
+    @Operation(
+        summary = "Agenda a criação de múltiplas pizzas",
+        description = "Valida a lista de pizzas, agenda a gravação em segundo plano e retorna o ID do job."
+    )
+    @ApiResponse(responseCode = "202", description = "Importação agendada")
+    @PostMapping("/batch/async")
+    public ResponseEntity<BatchJob<Pizza>> inserirMultiplasAsync(@RequestBody List<Pizza> pizzas) {
+        BatchJob<Pizza> job = batchJobService.submit("pizza", pizzas, pizzaRepository::saveAll);
+        return ResponseEntity.accepted().header("Location", "/jobs/" + job.getId()).body(job);
+    }
+
     /**
      * Remove uma pizza pelo ID.
      *
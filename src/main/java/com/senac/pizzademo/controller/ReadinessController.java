@@ -0,0 +1,51 @@
+package com.senac.pizzademo.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.senac.pizzademo.warmup.WarmupRunner;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+/**
+ * ReadinessController informa ao balanceador (ou ao readiness probe) se a instância já
+ * pode receber tráfego.
+ */
+@RestController
+public class ReadinessController {
+
+    private final ApplicationAvailability availability;
+    private final WarmupRunner warmupRunner;
+
+    public ReadinessController(ApplicationAvailability availability, WarmupRunner warmupRunner) {
+        this.availability = availability;
+        this.warmupRunner = warmupRunner;
+    }
+
+    /**
+     * Responde 200 depois que a aplicação subiu e terminou o aquecimento, e 503 antes disso.
+     *
+     * @return O estado e, se houve aquecimento, a duração e as latências do início e do fim.
+     */
+    @Operation(summary = "Prontidão da instância", description = "Retorna 200 quando a instância está pronta para receber tráfego e 503 enquanto aquece.")
+    @ApiResponse(responseCode = "503", description = "Instância subindo ou aquecendo")
+    @GetMapping("/ready")
+    public ResponseEntity<Map<String, Object>> ready() {
+        boolean pronta = warmupRunner.concluido()
+            && availability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC;
+        Map<String, Object> corpo = new LinkedHashMap<>();
+        corpo.put("status", pronta ? "ACCEPTING_TRAFFIC" : "REFUSING_TRAFFIC");
+        if (warmupRunner.resultado() != null) {
+            corpo.put("aquecimento", warmupRunner.resultado());
+        }
+        return ResponseEntity.status(pronta ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(corpo);
+    }
+}
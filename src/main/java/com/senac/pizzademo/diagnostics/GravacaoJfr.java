@@ -0,0 +1,16 @@
+package com.senac.pizzademo.diagnostics;
+
+import java.time.Instant;
+
+/**
+ * Estado de uma gravação do JFR feita pelo endpoint de diagnóstico.
+ */
+public record GravacaoJfr(
+    long id,
+    PerfilJfr perfil,
+    String estado,
+    Instant inicio,
+    long duracaoMaximaSegundos,
+    long tamanhoBytes
+) {
+}
@@ -0,0 +1,293 @@
+package com.senac.pizzademo.diagnostics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.senac.pizzademo.exception.BusinessException;
+import com.senac.pizzademo.exception.NotFoundException;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Gravações do Java Flight Recorder sob demanda, sem acesso ao container.
+ *
+ * Toda gravação é limitada: no máximo pizzademo.diagnostics.max-concurrent ao mesmo tempo,
+ * duração de até pizzademo.diagnostics.max-duration (a gravação para sozinha) e tamanho em
+ * disco de até pizzademo.diagnostics.max-size. Os arquivos ficam em
+ * pizzademo.diagnostics.directory; só as últimas pizzademo.diagnostics.retained gravações
+ * encerradas são mantidas.
+ *
+ * O resumo ao vivo abre um RecordingStream por alguns segundos e agrega os eventos em
+ * memória, sem gravar arquivo; só um resumo roda por vez.
+ */
+@Service
+public class JfrService {
+    private static final Logger logger = LoggerFactory.getLogger(JfrService.class);
+    private static final int ITENS_POR_LISTA = 20;
+    private static final Duration JANELA_MAXIMA_RESUMO = Duration.ofSeconds(60);
+
+    private final Path diretorio;
+    private final int maxSimultaneas;
+    private final Duration duracaoMaxima;
+    private final long tamanhoMaximo;
+    private final int mantidas;
+    private final Map<Long, Entrada> gravacoes = new ConcurrentHashMap<>();
+    private final AtomicBoolean resumindo = new AtomicBoolean();
+
+    private record Entrada(Recording recording, PerfilJfr perfil, Path arquivo) {
+    }
+
+    public JfrService(@Value("${pizzademo.diagnostics.directory:${java.io.tmpdir}/pizzademo-jfr}") Path diretorio,
+                      @Value("${pizzademo.diagnostics.max-concurrent:1}") int maxSimultaneas,
+                      @Value("${pizzademo.diagnostics.max-duration:PT5M}") Duration duracaoMaxima,
+                      @Value("${pizzademo.diagnostics.max-size:104857600}") long tamanhoMaximo,
+                      @Value("${pizzademo.diagnostics.retained:5}") int mantidas) {
+        this.diretorio = diretorio;
+        this.maxSimultaneas = maxSimultaneas;
+        this.duracaoMaxima = duracaoMaxima;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.mantidas = mantidas;
+    }
+
+    /**
+     * Inicia uma gravação que para sozinha depois da duração informada (limitada à máxima).
+     *
+     * @throws BusinessException 409 se o limite de gravações simultâneas já foi atingido.
+     */
+    public synchronized GravacaoJfr iniciar(PerfilJfr perfil, Duration duracao) {
+        long emAndamento = gravacoes.values().stream()
+            .filter(e -> e.recording().getState() == RecordingState.RUNNING).count();
+        if (emAndamento >= maxSimultaneas) {
+            throw new BusinessException(HttpStatus.CONFLICT, "Já existe uma gravação em andamento; pare-a antes de iniciar outra");
+        }
+        Duration limite = duracao == null || duracao.isNegative() || duracao.isZero() || duracao.compareTo(duracaoMaxima) > 0
+            ? duracaoMaxima : duracao;
+        descartarAntigas();
+        try {
+            Map<String, String> settings = new HashMap<>(Configuration.getConfiguration(perfil.configuracao()).getSettings());
+            settings.putAll(perfil.ajustes());
+            Recording recording = new Recording(settings);
+            recording.setName("pizzademo-" + perfil.name().toLowerCase());
+            recording.setToDisk(true);
+            recording.setMaxSize(tamanhoMaximo);
+            recording.setDuration(limite);
+            Files.createDirectories(diretorio);
+            Path arquivo = diretorio.resolve("pizzademo-" + recording.getId() + ".jfr");
+            // Gravado no destino quando a gravação para, pela duração ou pelo endpoint
+            recording.setDestination(arquivo);
+            recording.start();
+            gravacoes.put(recording.getId(), new Entrada(recording, perfil, arquivo));
+            logger.info("Gravação JFR {} iniciada com o perfil {} por até {} s", recording.getId(), perfil, limite.toSeconds());
+            return estado(gravacoes.get(recording.getId()));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Falha ao iniciar a gravação JFR", e);
+        }
+    }
+
+    public GravacaoJfr parar(long id) {
+        Entrada entrada = buscar(id);
+        if (entrada.recording().getState() == RecordingState.RUNNING) {
+            entrada.recording().stop();
+            logger.info("Gravação JFR {} parada", id);
+        }
+        return estado(entrada);
+    }
+
+    public List<GravacaoJfr> listar() {
+        return gravacoes.values().stream().map(JfrService::estado)
+            .sorted(Comparator.comparingLong(GravacaoJfr::id)).toList();
+    }
+
+    /**
+     * Conteúdo da gravação em formato .jfr. Se ela ainda estiver em andamento, devolve o que
+     * foi gravado até agora, sem pará-la.
+     */
+    public InputStream arquivo(long id) throws IOException {
+        Entrada entrada = buscar(id);
+        if (entrada.recording().getState() == RecordingState.RUNNING) {
+            Path parcial = Files.createTempFile(diretorio, "pizzademo-" + id + "-", ".jfr");
+            entrada.recording().dump(parcial);
+            return Files.newInputStream(parcial, StandardOpenOption.DELETE_ON_CLOSE);
+        }
+        if (!Files.exists(entrada.arquivo())) {
+            throw new NotFoundException("A gravação " + id + " não tem arquivo");
+        }
+        return Files.newInputStream(entrada.arquivo());
+    }
+
+    public void remover(long id) {
+        Entrada entrada = buscar(id);
+        gravacoes.remove(id);
+        fechar(entrada);
+    }
+
+    /**
+     * Agrega os eventos do JFR de uma janela curta (limitada a 60 s).
+     *
+     * @throws BusinessException 409 se outro resumo estiver em andamento.
+     */
+    public ResumoJfr resumir(Duration janela) throws InterruptedException {
+        if (janela.isNegative() || janela.isZero()) {
+            throw new BusinessException(HttpStatus.BAD_REQUEST, "A janela do resumo deve ser positiva");
+        }
+        Duration duracao = janela.compareTo(JANELA_MAXIMA_RESUMO) > 0 ? JANELA_MAXIMA_RESUMO : janela;
+        if (!resumindo.compareAndSet(false, true)) {
+            throw new BusinessException(HttpStatus.CONFLICT, "Já existe um resumo em andamento");
+        }
+        Map<String, LongAdder[]> cpu = new ConcurrentHashMap<>();
+        Map<String, LongAdder[]> alocacao = new ConcurrentHashMap<>();
+        Map<String, LongAdder[]> locks = new ConcurrentHashMap<>();
+        long inicio = System.nanoTime();
+        try (RecordingStream stream = new RecordingStream()) {
+            stream.enable("jdk.ExecutionSample").withPeriod(Duration.ofMillis(10));
+            stream.enable("jdk.ObjectAllocationSample").with("throttle", "150/s");
+            stream.enable("jdk.JavaMonitorEnter").withThreshold(Duration.ofMillis(1));
+            stream.enable("jdk.ThreadPark").withThreshold(Duration.ofMillis(1));
+            stream.onEvent("jdk.ExecutionSample", event -> somar(cpu, metodoNoTopo(event), 1));
+            stream.onEvent("jdk.ObjectAllocationSample",
+                event -> somar(alocacao, nomeDaClasse(event.getClass("objectClass")), event.getLong("weight")));
+            stream.onEvent("jdk.JavaMonitorEnter",
+                event -> somar(locks, nomeDaClasse(event.getClass("monitorClass")), event.getDuration().toMillis()));
+            stream.onEvent("jdk.ThreadPark",
+                event -> somar(locks, nomeDaClasse(event.getClass("parkedClass")), event.getDuration().toMillis()));
+            stream.startAsync();
+            Thread.sleep(duracao.toMillis());
+        } finally {
+            resumindo.set(false);
+        }
+        long janelaMs = Math.max(1, (System.nanoTime() - inicio) / 1_000_000);
+        long amostras = cpu.values().stream().mapToLong(v -> v[1].sum()).sum();
+        long bytes = alocacao.values().stream().mapToLong(v -> v[1].sum()).sum();
+        return new ResumoJfr(janelaMs, amostras, ranking(cpu), bytes * 1000 / janelaMs, ranking(alocacao),
+            ranking(locks), heap());
+    }
+
+    private static ResumoJfr.Heap heap() {
+        MemoryUsage uso = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long coletas = 0;
+        long tempo = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            coletas += Math.max(0, gc.getCollectionCount());
+            tempo += Math.max(0, gc.getCollectionTime());
+        }
+        return new ResumoJfr.Heap(uso.getUsed(), uso.getCommitted(), uso.getMax(), coletas, tempo);
+    }
+
+    /**
+     * Contador por nome: [0] ocorrências, [1] total.
+     */
+    private static void somar(Map<String, LongAdder[]> contadores, String nome, long valor) {
+        LongAdder[] contador = contadores.computeIfAbsent(nome, n -> new LongAdder[] {new LongAdder(), new LongAdder()});
+        contador[0].increment();
+        contador[1].add(valor);
+    }
+
+    private static List<ResumoJfr.Item> ranking(Map<String, LongAdder[]> contadores) {
+        Map<String, long[]> valores = new LinkedHashMap<>();
+        contadores.forEach((nome, contador) -> valores.put(nome, new long[] {contador[0].sum(), contador[1].sum()}));
+        long total = valores.values().stream().mapToLong(v -> v[1]).sum();
+        List<ResumoJfr.Item> itens = new ArrayList<>();
+        valores.entrySet().stream()
+            .sorted((a, b) -> Long.compare(b.getValue()[1], a.getValue()[1]))
+            .limit(ITENS_POR_LISTA)
+            .forEach(e -> itens.add(new ResumoJfr.Item(e.getKey(), e.getValue()[0], e.getValue()[1],
+                total == 0 ? 0 : Math.round(e.getValue()[1] * 1000.0 / total) / 10.0)));
+        return itens;
+    }
+
+    private static String metodoNoTopo(RecordedEvent event) {
+        RecordedStackTrace pilha = event.getStackTrace();
+        if (pilha == null || pilha.getFrames().isEmpty()) {
+            return "(sem pilha)";
+        }
+        RecordedFrame frame = pilha.getFrames().get(0);
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    private static String nomeDaClasse(RecordedClass classe) {
+        return classe != null ? classe.getName() : "(desconhecida)";
+    }
+
+    private Entrada buscar(long id) {
+        Entrada entrada = gravacoes.get(id);
+        if (entrada == null) {
+            throw new NotFoundException("Gravação não encontrada: id=" + id);
+        }
+        return entrada;
+    }
+
+    private static GravacaoJfr estado(Entrada entrada) {
+        Recording recording = entrada.recording();
+        long tamanho = recording.getSize();
+        if (recording.getState() != RecordingState.RUNNING) {
+            try {
+                tamanho = Files.exists(entrada.arquivo()) ? Files.size(entrada.arquivo()) : 0;
+            } catch (IOException e) {
+                tamanho = 0;
+            }
+        }
+        Duration duracao = recording.getDuration();
+        return new GravacaoJfr(recording.getId(), entrada.perfil(), recording.getState().name(), recording.getStartTime(),
+            duracao != null ? duracao.toSeconds() : 0, tamanho);
+    }
+
+    /**
+     * Mantém só as últimas gravações encerradas, apagando os arquivos das mais antigas.
+     */
+    private void descartarAntigas() {
+        List<Entrada> encerradas = gravacoes.values().stream()
+            .filter(e -> e.recording().getState() != RecordingState.RUNNING)
+            .sorted(Comparator.comparingLong(e -> e.recording().getId()))
+            .toList();
+        for (int i = 0; i < encerradas.size() - mantidas + 1; i++) {
+            Entrada entrada = encerradas.get(i);
+            gravacoes.remove(entrada.recording().getId());
+            fechar(entrada);
+        }
+    }
+
+    private static void fechar(Entrada entrada) {
+        entrada.recording().close();
+        try {
+            Files.deleteIfExists(entrada.arquivo());
+        } catch (IOException e) {
+            logger.warn("Falha ao apagar {}: {}", entrada.arquivo(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        gravacoes.values().forEach(entrada -> entrada.recording().close());
+    }
+}
@@ -0,0 +1,49 @@
+package com.senac.pizzademo.diagnostics;
+
+import java.util.Map;
+
+/**
+ * Perfis de gravação do JFR disponíveis no endpoint de diagnóstico: uma configuração da
+ * JDK ("default", com custo em torno de 1%, ou "profile", em torno de 2%) e ajustes de
+ * alguns eventos para o tipo de problema investigado.
+ */
+public enum PerfilJfr {
+    /**
+     * Visão geral com baixo custo, segura para deixar ligada por mais tempo.
+     */
+    PADRAO("default", Map.of()),
+    /**
+     * Amostras de CPU a cada 10 ms, para achar os métodos quentes.
+     */
+    CPU("profile", Map.of("jdk.ExecutionSample#period", "10 ms")),
+    /**
+     * Mais amostras de alocação e objetos antigos, para taxa de alocação e crescimento do heap.
+     */
+    ALOCACAO("default", Map.of(
+        "jdk.ObjectAllocationSample#throttle", "300/s",
+        "jdk.OldObjectSample#enabled", "true",
+        "jdk.OldObjectSample#cutoff", "0 ns")),
+    /**
+     * Esperas por monitores e locks a partir de 1 ms.
+     */
+    LOCKS("default", Map.of(
+        "jdk.JavaMonitorEnter#threshold", "1 ms",
+        "jdk.JavaMonitorWait#threshold", "1 ms",
+        "jdk.ThreadPark#threshold", "1 ms"));
+
+    private final String configuracao;
+    private final Map<String, String> ajustes;
+
+    PerfilJfr(String configuracao, Map<String, String> ajustes) {
+        this.configuracao = configuracao;
+        this.ajustes = ajustes;
+    }
+
+    String configuracao() {
+        return configuracao;
+    }
+
+    Map<String, String> ajustes() {
+        return ajustes;
+    }
+}
@@ -0,0 +1,28 @@
+package com.senac.pizzademo.diagnostics;
+
+import java.util.List;
+
+/**
+ * Resumo de uma janela curta de eventos do JFR: métodos quentes, alocação, contenção de
+ * locks e o estado do heap no fim da janela.
+ */
+public record ResumoJfr(
+    long janelaMs,
+    long amostrasCpu,
+    List<Item> metodosQuentes,
+    long bytesAlocadosPorSegundo,
+    List<Item> alocacaoPorClasse,
+    List<Item> contencaoPorLock,
+    Heap heap
+) {
+
+    /**
+     * Uma linha de ranking: o nome, quantas vezes apareceu e o total (amostras, bytes ou
+     * milissegundos de espera, conforme a lista) com a participação no total da lista.
+     */
+    public record Item(String nome, long ocorrencias, long total, double percentual) {
+    }
+
+    public record Heap(long usadoBytes, long comprometidoBytes, long maximoBytes, long coletas, long tempoColetasMs) {
+    }
+}
@@ -1,7 +1,11 @@
 package com.senac.pizzademo.dto;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
+
 public class CardapioDTO {
     private PizzaDTO pizza;
+    // "valor" é o nome do campo na entidade Cardapio, aceito nos lotes
+    @JsonAlias("valor")
     private Float preco;
     private String tamanho;
 
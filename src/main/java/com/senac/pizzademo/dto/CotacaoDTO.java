@@ -0,0 +1,40 @@
+package com.senac.pizzademo.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Carrinho a ser cotado: pizzas, tamanhos e quantidades.
+ *
+ * @param itens Itens do carrinho.
+ */
+public record CotacaoDTO(
+    @NotEmpty(message = "O carrinho deve ter ao menos um item.")
+    @Size(max = 100, message = "O carrinho deve ter no máximo 100 itens.")
+    List<@Valid Item> itens) {
+
+    /**
+     * @param pizzaId ID da pizza.
+     * @param tamanho Tamanho, como cadastrado no cardápio (ex.: "Grande").
+     * @param quantidade Quantidade.
+     */
+    public record Item(
+        @NotNull(message = "A pizza é obrigatória.")
+        Long pizzaId,
+
+        @NotBlank(message = "O tamanho é obrigatório.")
+        String tamanho,
+
+        @NotNull(message = "A quantidade é obrigatória.")
+        @Min(value = 1, message = "A quantidade deve ser ao menos 1.")
+        @Max(value = 100, message = "A quantidade deve ser no máximo 100.")
+        Integer quantidade) {
+    }
+}
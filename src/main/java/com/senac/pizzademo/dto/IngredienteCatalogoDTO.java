@@ -0,0 +1,10 @@
+package com.senac.pizzademo.dto;
+
+/**
+ * Item do catálogo único de ingredientes, compartilhado entre as receitas das pizzas.
+ *
+ * @param id ID do ingrediente no catálogo.
+ * @param nome Nome do ingrediente.
+ */
+public record IngredienteCatalogoDTO(Long id, String nome) {
+}
@@ -0,0 +1,40 @@
+package com.senac.pizzademo.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Pedido enviado pelo cliente: os itens do cardápio e a quantidade de cada um.
+ * O preço não é enviado; ele vem do cardápio no momento do aceite.
+ *
+ * @param cliente Identificação opcional do cliente.
+ * @param itens Itens do pedido.
+ */
+public record PedidoDTO(
+    @Size(max = 255, message = "O cliente deve ter no máximo 255 caracteres.")
+    String cliente,
+
+    @NotEmpty(message = "O pedido deve ter ao menos um item.")
+    @Size(max = 50, message = "O pedido deve ter no máximo 50 itens.")
+    List<@Valid Item> itens) {
+
+    /**
+     * @param cardapioId ID do item do cardápio (pizza e tamanho).
+     * @param quantidade Quantidade pedida.
+     */
+    public record Item(
+        @NotNull(message = "O item do cardápio é obrigatório.")
+        Long cardapioId,
+
+        @NotNull(message = "A quantidade é obrigatória.")
+        @Min(value = 1, message = "A quantidade deve ser ao menos 1.")
+        @Max(value = 100, message = "A quantidade deve ser no máximo 100.")
+        Integer quantidade) {
+    }
+}
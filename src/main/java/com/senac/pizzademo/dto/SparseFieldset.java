@@ -0,0 +1,58 @@
+package com.senac.pizzademo.dto;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Campos e coleções pedidos pelo cliente nos parâmetros ?fields= e ?include=.
+ *
+ * Nomes de coleções informados em fields (ex.: fields=id,ingredientes) são tratados
+ * como include. Um fields vazio significa todos os campos simples.
+ *
+ * @param fields Campos simples a selecionar, na ordem pedida.
+ * @param include Coleções/relacionamentos a carregar.
+ */
+public record SparseFieldset(Set<String> fields, Set<String> include) {
+
+    /**
+     * Interpreta e valida os parâmetros da requisição.
+     *
+     * @throws ResponseStatusException 400 se algum nome não for permitido.
+     */
+    public static SparseFieldset parse(String fields, String include, Set<String> camposPermitidos, Set<String> includesPermitidos) {
+        Set<String> campos = new LinkedHashSet<>();
+        Set<String> incluidos = new LinkedHashSet<>();
+        for (String nome : separar(fields)) {
+            if (camposPermitidos.contains(nome)) {
+                campos.add(nome);
+            } else if (includesPermitidos.contains(nome)) {
+                incluidos.add(nome);
+            } else {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Campo inválido: " + nome + ". Permitidos: " + camposPermitidos + " " + includesPermitidos);
+            }
+        }
+        for (String nome : separar(include)) {
+            if (!includesPermitidos.contains(nome)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Include inválido: " + nome + ". Permitidos: " + includesPermitidos);
+            }
+            incluidos.add(nome);
+        }
+        if (campos.isEmpty()) {
+            campos.addAll(camposPermitidos);
+        }
+        return new SparseFieldset(campos, incluidos);
+    }
+
+    private static String[] separar(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return new String[0];
+        }
+        return Arrays.stream(valor.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toArray(String[]::new);
+    }
+}
@@ -0,0 +1,23 @@
+package com.senac.pizzademo.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Erro esperado de regra de negócio (registro inexistente, dado inválido...), convertido
+ * pelo {@link GlobalExceptionHandler} em uma resposta com o status informado.
+ *
+ * Não captura stack trace: o erro faz parte do fluxo normal da API, e preencher a pilha
+ * a cada 404 custa mais do que o resto da requisição.
+ */
+public class BusinessException extends RuntimeException {
+    private final HttpStatus status;
+
+    public BusinessException(HttpStatus status, String message) {
+        super(message, null, false, false);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -1,11 +1,18 @@
 package com.senac.pizzademo.exception;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import com.senac.pizzademo.resilience.DatabaseUnavailableException;
+
+import java.sql.SQLTimeoutException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -15,18 +22,72 @@ import java.util.Map;
  */
 @ControllerAdvice
 public class GlobalExceptionHandler {
+    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
     /**
-     * Trata exceções genéricas.
+     * Trata exceções genéricas. O stack trace vai para o log assíncrono (logback-spring.xml),
+     * sem bloquear a thread da requisição escrevendo no console.
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleAllExceptions(Exception ex, WebRequest request) {
-        ex.printStackTrace(); // Garante que o erro apareça no log do container
+        ResponseEntity<Object> banco = handleDatabaseUnavailable(ex, request);
+        if (banco != null) {
+            return banco;
+        }
+        logger.error("Erro não tratado em {}", request != null ? request.getDescription(false) : "-", ex);
         Map<String, Object> body = new HashMap<>();
         body.put("error", ex.getMessage());
         return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    /**
+     * Disjuntor do banco aberto (503 com Retry-After) ou prazo da requisição esgotado no banco
+     * (504), em qualquer ponto da cadeia de causas: o Spring e o Hibernate embrulham o erro do
+     * JDBC. Geram só um WARN de uma linha, porque chegam em rajadas quando o banco está com problemas.
+     *
+     * @return null se o erro não for de nenhum desses tipos.
+     */
+    private ResponseEntity<Object> handleDatabaseUnavailable(Exception ex, WebRequest request) {
+        for (Throwable causa = ex; causa != null; causa = causa.getCause() == causa ? null : causa.getCause()) {
+            if (causa instanceof DatabaseUnavailableException indisponivel) {
+                logger.warn("Banco indisponível em {}: disjuntor aberto", request != null ? request.getDescription(false) : "-");
+                Map<String, Object> body = new HashMap<>();
+                body.put("error", indisponivel.getMessage());
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(indisponivel.getRetryAfterSegundos()))
+                    .body(body);
+            }
+            if (causa instanceof SQLTimeoutException) {
+                logger.warn("Prazo esgotado no banco em {}: {}", request != null ? request.getDescription(false) : "-",
+                    causa.getMessage());
+                Map<String, Object> body = new HashMap<>();
+                body.put("error", "Tempo limite da requisição esgotado");
+                return new ResponseEntity<>(body, HttpStatus.GATEWAY_TIMEOUT);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Trata erros esperados de negócio (ex.: 404). Não gera log: fazem parte do fluxo normal.
+     */
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<Object> handleBusinessException(BusinessException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", ex.getMessage());
+        return new ResponseEntity<>(body, ex.getStatus());
+    }
+
+    /**
+     * Trata exceções que já carregam o status HTTP (404, 409, 503...), preservando o status.
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<Object> handleResponseStatusException(ResponseStatusException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", ex.getReason());
+        return new ResponseEntity<>(body, ex.getStatusCode());
+    }
+
     /**
      * Trata erros de validação Bean Validation.
      */
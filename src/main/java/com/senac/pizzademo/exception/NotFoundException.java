@@ -0,0 +1,13 @@
+package com.senac.pizzademo.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Registro não encontrado (404).
+ */
+public class NotFoundException extends BusinessException {
+
+    public NotFoundException(String message) {
+        super(HttpStatus.NOT_FOUND, message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.senac.pizzademo.history;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Estado de um item do cardápio a partir de {@code vigenteDesde}, como gravado no
+ * histórico de preços. {@code valor} nulo indica que o item saiu do cardápio nessa data.
+ */
+public record PrecoVigente(
+    long cardapioId,
+    Long pizzaId,
+    String tamanho,
+    BigDecimal valor,
+    Instant vigenteDesde
+) {
+}
@@ -0,0 +1,41 @@
+package com.senac.pizzademo.history;
+
+import org.springframework.stereotype.Component;
+
+import com.senac.pizzademo.model.Cardapio;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Listener JPA de {@link Cardapio} que grava no histórico de preços cada item incluído,
+ * alterado ou removido, na mesma transação da alteração: um rollback desfaz as duas.
+ *
+ * É instanciado pelo Hibernate através do container de beans do Spring.
+ */
+@Component
+public class PriceHistoryListener {
+
+    private final PriceHistoryRepository priceHistoryRepository;
+
+    public PriceHistoryListener(PriceHistoryRepository priceHistoryRepository) {
+        this.priceHistoryRepository = priceHistoryRepository;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Cardapio cardapio) {
+        priceHistoryRepository.registrar(cardapio.getId(), pizzaId(cardapio), cardapio.getTamanho(), cardapio.getValor());
+    }
+
+    @PostRemove
+    public void onRemove(Cardapio cardapio) {
+        priceHistoryRepository.registrar(cardapio.getId(), pizzaId(cardapio), cardapio.getTamanho(), null);
+    }
+
+    private static Long pizzaId(Cardapio cardapio) {
+        // O id de uma referência lazy é lido sem carregar a pizza
+        return cardapio.getPizza() != null ? cardapio.getPizza().getId() : null;
+    }
+}
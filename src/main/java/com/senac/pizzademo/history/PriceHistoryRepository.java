@@ -0,0 +1,146 @@
+package com.senac.pizzademo.history;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Histórico de preços do cardápio (tabela preco_historico, criada pela migração V7).
+ *
+ * As linhas só são inseridas, nunca alteradas. Todas as consultas "na data X" procuram a
+ * última linha de cada item com vigente_desde <= X pelo índice (cardapio_id, vigente_desde),
+ * desempatando pelo id.
+ */
+@Repository
+public class PriceHistoryRepository {
+    private static final String COLUNAS = "cardapio_id, pizza_id, tamanho, valor, vigente_desde";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PriceHistoryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Grava o estado do item a partir de agora. A data vem do relógio do banco, para que as
+     * linhas gravadas por instâncias diferentes fiquem na mesma ordem das alterações.
+     */
+    public void registrar(long cardapioId, Long pizzaId, String tamanho, Float valor) {
+        BigDecimal preco = valor != null ? BigDecimal.valueOf(Math.round(valor * 100.0), 2) : null;
+        jdbcTemplate.update("INSERT INTO preco_historico (" + COLUNAS + ") VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP(3))",
+            cardapioId, pizzaId, tamanho, preco);
+    }
+
+    /**
+     * Preço do item na data informada; vazio se o item ainda não existia ou já tinha saído do cardápio.
+     */
+    public Optional<PrecoVigente> vigente(long cardapioId, Instant em) {
+        return ultimo(cardapioId, em).filter(preco -> preco.valor() != null);
+    }
+
+    /**
+     * Preço da pizza no tamanho informado, na data informada. Como um item pode mudar de
+     * pizza ou de tamanho, cada item que já teve essa pizza e esse tamanho é conferido pelo
+     * seu estado na data; se houver mais de um, vale o de menor id, como na tabela de preços
+     * em memória.
+     */
+    public Optional<PrecoVigente> vigente(long pizzaId, String tamanho, Instant em) {
+        List<Long> itens = jdbcTemplate.queryForList(
+            "SELECT DISTINCT cardapio_id FROM preco_historico WHERE pizza_id = ? AND tamanho = ? AND vigente_desde <= ? "
+                + "ORDER BY cardapio_id",
+            Long.class, pizzaId, tamanho, Timestamp.from(em));
+        for (Long item : itens) {
+            Optional<PrecoVigente> preco = vigente(item, em)
+                .filter(p -> Objects.equals(p.pizzaId(), pizzaId) && tamanho.equals(p.tamanho()));
+            if (preco.isPresent()) {
+                return preco;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Linhas do item que estiveram vigentes no período: a vigente no início (se houver) e as
+     * gravadas depois dela até o fim, em ordem cronológica. Sem início, todo o histórico até o fim.
+     */
+    public List<PrecoVigente> periodo(long cardapioId, Instant de, Instant ate) {
+        List<PrecoVigente> linhas = new ArrayList<>();
+        if (de != null) {
+            ultimo(cardapioId, de).ifPresent(linhas::add);
+        }
+        linhas.addAll(jdbcTemplate.query(
+            "SELECT " + COLUNAS + " FROM preco_historico WHERE cardapio_id = ? AND vigente_desde > ? AND vigente_desde <= ? "
+                + "ORDER BY vigente_desde, id",
+            (rs, i) -> mapear(rs), cardapioId, Timestamp.from(de != null ? de : Instant.EPOCH), Timestamp.from(ate)));
+        return linhas;
+    }
+
+    /**
+     * Cardápio completo na data informada, em ordem de id, montado com uma única consulta
+     * ordenada por item e data (decrescentes, o que percorre o índice de trás para frente):
+     * a primeira linha de cada item é a vigente, e as demais são descartadas sem guardar nada.
+     */
+    public List<PrecoVigente> cardapio(Instant em) {
+        List<PrecoVigente> itens = new ArrayList<>();
+        long[] anterior = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                "SELECT " + COLUNAS + " FROM preco_historico WHERE vigente_desde <= ? "
+                    + "ORDER BY cardapio_id DESC, vigente_desde DESC, id DESC",
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            if (connection.getMetaData().getDatabaseProductName().startsWith("MySQL")) {
+                // Sem isso o driver do MySQL traz o histórico inteiro para a memória antes da primeira linha
+                statement.setFetchSize(Integer.MIN_VALUE);
+            }
+            statement.setTimestamp(1, Timestamp.from(em));
+            return statement;
+        }, rs -> {
+            long cardapioId = rs.getLong(1);
+            if (cardapioId == anterior[0]) {
+                return;
+            }
+            anterior[0] = cardapioId;
+            PrecoVigente preco = mapear(rs);
+            if (preco.valor() != null) {
+                itens.add(preco);
+            }
+        });
+        Collections.reverse(itens);
+        return itens;
+    }
+
+    /**
+     * Linhas gravadas a partir da data informada, de todos os itens, na ordem em que foram
+     * gravadas. Usado para atualizar uma cópia do cardápio salva naquela data.
+     */
+    public List<PrecoVigente> alteradosDesde(Instant desde) {
+        return jdbcTemplate.query(
+            "SELECT " + COLUNAS + " FROM preco_historico WHERE vigente_desde >= ? ORDER BY vigente_desde, id",
+            (rs, i) -> mapear(rs), Timestamp.from(desde));
+    }
+
+    private Optional<PrecoVigente> ultimo(long cardapioId, Instant em) {
+        return jdbcTemplate.query(
+            "SELECT " + COLUNAS + " FROM preco_historico WHERE cardapio_id = ? AND vigente_desde <= ? "
+                + "ORDER BY vigente_desde DESC, id DESC LIMIT 1",
+            (rs, i) -> mapear(rs), cardapioId, Timestamp.from(em)).stream().findFirst();
+    }
+
+    private static PrecoVigente mapear(ResultSet rs) throws SQLException {
+        long pizzaId = rs.getLong(2);
+        Long pizza = rs.wasNull() ? null : pizzaId;
+        return new PrecoVigente(rs.getLong(1), pizza, rs.getString(3), rs.getBigDecimal(4),
+            rs.getTimestamp(5).toInstant());
+    }
+}
@@ -0,0 +1,217 @@
+package com.senac.pizzademo.idempotency;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.senac.pizzademo.security.JwtFilter;
+
+/**
+ * Filtro que implementa o header Idempotency-Key nos POSTs.
+ *
+ * A primeira requisição com uma chave é executada normalmente e sua resposta é guardada
+ * no {@link IdempotencyStore}. Retries com a mesma chave recebem a resposta guardada sem
+ * executar o insert novamente. Requisições concorrentes com a mesma chave são agrupadas:
+ * apenas uma executa e as demais aguardam o resultado dela.
+ *
+ * A chave vale por usuário (o do token, nas rotas protegidas) e por rota: dois usuários que
+ * usem a mesma Idempotency-Key nunca recebem a resposta um do outro. O agrupamento de
+ * requisições concorrentes é feito só nesta instância, mesmo com o store jdbc; entre
+ * instâncias, o que evita a segunda execução é a resposta já guardada.
+ *
+ * Respostas 5xx não são guardadas, para que o cliente possa tentar de novo.
+ */
+public class IdempotencyFilter implements Filter {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAY_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final Duration esperaMaxima;
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> emAndamento = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(IdempotencyStore store, Duration esperaMaxima) {
+        this.store = store;
+        this.esperaMaxima = esperaMaxima;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest req = (HttpServletRequest) request;
+        HttpServletResponse res = (HttpServletResponse) response;
+        String chaveCliente = req.getHeader(HEADER);
+
+        if (!"POST".equalsIgnoreCase(req.getMethod()) || chaveCliente == null || chaveCliente.isBlank()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (chaveCliente.length() > MAX_KEY_LENGTH) {
+            res.sendError(HttpServletResponse.SC_BAD_REQUEST, "Idempotency-Key excede " + MAX_KEY_LENGTH + " caracteres");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(req);
+        String fingerprint = fingerprint(req, cachedRequest.body);
+        String chave = escopo(req) + ":" + req.getRequestURI() + ":" + chaveCliente;
+
+        Optional<StoredResponse> guardada = store.get(chave);
+        if (guardada.isPresent()) {
+            replay(guardada.get(), fingerprint, res);
+            return;
+        }
+
+        CompletableFuture<StoredResponse> minha = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> outra = emAndamento.putIfAbsent(chave, minha);
+        if (outra != null) {
+            aguardarEReplay(outra, fingerprint, res);
+            return;
+        }
+
+        try {
+            // Outra requisição pode ter terminado entre a consulta ao store e o registro acima
+            guardada = store.get(chave);
+            if (guardada.isPresent()) {
+                minha.complete(guardada.get());
+                replay(guardada.get(), fingerprint, res);
+                return;
+            }
+            ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(res);
+            chain.doFilter(cachedRequest, wrapper);
+            StoredResponse resposta = new StoredResponse(fingerprint, wrapper.getStatus(),
+                wrapper.getContentType(), wrapper.getContentAsByteArray());
+            if (resposta.status() < 500) {
+                store.put(chave, resposta);
+            }
+            minha.complete(resposta);
+            wrapper.copyBodyToResponse();
+        } catch (IOException | ServletException | RuntimeException e) {
+            minha.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, minha);
+        }
+    }
+
+    private void aguardarEReplay(CompletableFuture<StoredResponse> outra, String fingerprint, HttpServletResponse res)
+            throws IOException {
+        try {
+            replay(outra.get(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS), fingerprint, res);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            res.sendError(HttpServletResponse.SC_CONFLICT, "Requisição com a mesma Idempotency-Key em processamento");
+        } catch (ExecutionException | TimeoutException e) {
+            res.sendError(HttpServletResponse.SC_CONFLICT, "Requisição com a mesma Idempotency-Key em processamento");
+        }
+    }
+
+    private void replay(StoredResponse resposta, String fingerprint, HttpServletResponse res) throws IOException {
+        if (!resposta.fingerprint().equals(fingerprint)) {
+            res.sendError(422, "Idempotency-Key já utilizada com outro payload");
+            return;
+        }
+        res.setStatus(resposta.status());
+        if (resposta.contentType() != null) {
+            res.setContentType(resposta.contentType());
+        }
+        res.setHeader(REPLAY_HEADER, "true");
+        res.setContentLength(resposta.body().length);
+        res.getOutputStream().write(resposta.body());
+    }
+
+    /**
+     * Prefixo da chave com o usuário autenticado pelo JwtFilter, ou "-" nas rotas sem token.
+     * O usuário entra como hash curto, para que a chave caiba em idempotency_key.chave.
+     */
+    private static String escopo(HttpServletRequest req) {
+        Object usuario = req.getAttribute(JwtFilter.USUARIO);
+        if (usuario == null) {
+            return "-";
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(usuario.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String fingerprint(HttpServletRequest req, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((req.getMethod() + " " + req.getRequestURI() + "\n").getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Lê o corpo da requisição uma única vez para calcular o fingerprint e o
+     * entrega novamente ao controller.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
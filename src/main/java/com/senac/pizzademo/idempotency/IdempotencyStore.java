@@ -0,0 +1,15 @@
+package com.senac.pizzademo.idempotency;
+
+import java.util.Optional;
+
+/**
+ * Armazenamento das respostas associadas a chaves de idempotência (header Idempotency-Key).
+ *
+ * As implementações devem descartar entradas mais antigas que o TTL configurado.
+ */
+public interface IdempotencyStore {
+
+    Optional<StoredResponse> get(String key);
+
+    void put(String key, StoredResponse response);
+}
@@ -0,0 +1,52 @@
+package com.senac.pizzademo.idempotency;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Store de idempotência em memória, limitado em número de entradas e com expiração por TTL.
+ *
+ * Quando o limite é atingido, a entrada mais antiga é descartada.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private record Entry(StoredResponse response, long expiraEm) {
+    }
+
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+
+    public InMemoryIdempotencyStore(int maxEntries, Duration ttl) {
+        this.ttlMillis = ttl.toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries || eldest.getValue().expiraEm() < System.currentTimeMillis();
+            }
+        };
+    }
+
+    @Override
+    public synchronized Optional<StoredResponse> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiraEm() < System.currentTimeMillis()) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.response());
+    }
+
+    @Override
+    public synchronized void put(String key, StoredResponse response) {
+        entries.put(key, new Entry(response, System.currentTimeMillis() + ttlMillis));
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,58 @@
+package com.senac.pizzademo.idempotency;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Store de idempotência persistido na tabela idempotency_key (criada pela migração V3).
+ *
+ * Permite que a resposta guardada seja reaproveitada mesmo que o retry do cliente
+ * caia em outra instância ou após um restart. A limpeza das entradas expiradas é feita
+ * de tempos em tempos durante as gravações, sem necessidade de um job agendado.
+ */
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final int LIMPEZA_A_CADA = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final AtomicInteger gravacoes = new AtomicInteger();
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Optional<StoredResponse> get(String key) {
+        Timestamp limite = Timestamp.from(Instant.now().minus(ttl));
+        List<StoredResponse> rows = jdbcTemplate.query(
+            "SELECT fingerprint, status, content_type, body FROM idempotency_key WHERE chave = ? AND criado_em > ?",
+            (rs, i) -> new StoredResponse(rs.getString(1), rs.getInt(2), rs.getString(3), rs.getBytes(4)),
+            key, limite);
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public void put(String key, StoredResponse response) {
+        try {
+            jdbcTemplate.update(
+                "INSERT INTO idempotency_key (chave, fingerprint, status, content_type, body, criado_em) VALUES (?, ?, ?, ?, ?, ?)",
+                key, response.fingerprint(), response.status(), response.contentType(), response.body(),
+                Timestamp.from(Instant.now()));
+        } catch (DuplicateKeyException e) {
+            // Outra instância gravou a mesma chave primeiro; a resposta dela prevalece
+        }
+        if (gravacoes.incrementAndGet() % LIMPEZA_A_CADA == 0) {
+            jdbcTemplate.update("DELETE FROM idempotency_key WHERE criado_em < ?",
+                Timestamp.from(Instant.now().minus(ttl)));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.senac.pizzademo.idempotency;
+
+/**
+ * Resposta HTTP guardada para uma chave de idempotência.
+ *
+ * @param fingerprint Hash do método, caminho e corpo da requisição original.
+ * @param status Status HTTP retornado.
+ * @param contentType Content-Type da resposta (pode ser nulo).
+ * @param body Corpo da resposta em bytes.
+ */
+public record StoredResponse(String fingerprint, int status, String contentType, byte[] body) {
+}
@@ -0,0 +1,146 @@
+package com.senac.pizzademo.job;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Representa um job de importação em lote processado de forma assíncrona.
+ *
+ * O payload é dividido em blocos (chunks) que são gravados um a um pelo worker.
+ * Blocos que falham ficam guardados para que possam ser reprocessados depois.
+ *
+ * @param <T> Tipo dos itens importados (Pizza, Cardapio ou Ingredientes).
+ */
+public class BatchJob<T> {
+
+    public enum Status { PENDING, RUNNING, COMPLETED, FAILED }
+
+    /**
+     * Erro ocorrido na gravação de um bloco do job.
+     */
+    public record ChunkError(int chunk, int inicio, int tamanho, String mensagem) {
+    }
+
+    private final String id;
+    private final String tipo;
+    private final int total;
+    private final Instant criadoEm = Instant.now();
+    private final AtomicInteger processados = new AtomicInteger();
+    private final List<ChunkError> erros = new CopyOnWriteArrayList<>();
+    private volatile Status status = Status.PENDING;
+    private volatile Instant finalizadoEm;
+
+    // Blocos pendentes de gravação, indexados pela posição do bloco no payload
+    private final Map<Integer, List<T>> pendentes = new ConcurrentSkipListMap<>();
+    private final Consumer<List<T>> gravador;
+    private final int tamanhoChunk;
+
+    BatchJob(String id, String tipo, List<T> itens, int tamanhoChunk, Consumer<List<T>> gravador) {
+        this.id = id;
+        this.tipo = tipo;
+        this.total = itens.size();
+        this.tamanhoChunk = tamanhoChunk;
+        this.gravador = gravador;
+        for (int inicio = 0, chunk = 0; inicio < itens.size(); inicio += tamanhoChunk, chunk++) {
+            int fim = Math.min(inicio + tamanhoChunk, itens.size());
+            pendentes.put(chunk, new ArrayList<>(itens.subList(inicio, fim)));
+        }
+    }
+
+    /**
+     * Grava todos os blocos pendentes. Cada bloco é gravado em sua própria transação,
+     * de modo que a falha de um bloco não desfaz os demais.
+     */
+    void run() {
+        status = Status.RUNNING;
+        erros.clear();
+        for (Map.Entry<Integer, List<T>> entry : pendentes.entrySet()) {
+            int chunk = entry.getKey();
+            List<T> itens = entry.getValue();
+            try {
+                gravador.accept(itens);
+                processados.addAndGet(itens.size());
+                pendentes.remove(chunk);
+            } catch (RuntimeException e) {
+                erros.add(new ChunkError(chunk, chunk * tamanhoChunk, itens.size(), e.getMessage()));
+            }
+        }
+        finalizadoEm = Instant.now();
+        status = pendentes.isEmpty() ? Status.COMPLETED : Status.FAILED;
+    }
+
+    /**
+     * Volta o job para PENDING caso ele tenha terminado com falha.
+     * Sincronizado para que duas chamadas de retry simultâneas não agendem o job duas vezes.
+     */
+    synchronized boolean resetIfFailed() {
+        if (status != Status.FAILED) {
+            return false;
+        }
+        status = Status.PENDING;
+        finalizadoEm = null;
+        return true;
+    }
+
+    synchronized void markFailed() {
+        finalizadoEm = Instant.now();
+        status = Status.FAILED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getProcessados() {
+        return processados.get();
+    }
+
+    /**
+     * Percentual de itens gravados com sucesso (0 a 100).
+     */
+    public int getProgresso() {
+        return total == 0 ? 100 : (int) (processados.get() * 100L / total);
+    }
+
+    public List<ChunkError> getErros() {
+        return erros;
+    }
+
+    public Instant getCriadoEm() {
+        return criadoEm;
+    }
+
+    public Instant getFinalizadoEm() {
+        return finalizadoEm;
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    boolean isExpired(Instant limite) {
+        Instant fim = finalizadoEm;
+        return isFinished() && fim != null && fim.isBefore(limite);
+    }
+}
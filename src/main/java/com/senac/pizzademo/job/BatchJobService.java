@@ -0,0 +1,158 @@
+package com.senac.pizzademo.job;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Serviço que recebe importações em lote e as processa fora da thread HTTP.
+ *
+ * Os jobs entram em uma fila limitada e são consumidos por um pool pequeno de workers.
+ * Como cada worker grava um bloco por vez, o número de workers é também o número
+ * máximo de conexões do pool do banco que os jobs podem ocupar simultaneamente,
+ * deixando o restante das conexões livre para a API.
+ */
+@Service
+public class BatchJobService {
+    private static final Logger logger = LoggerFactory.getLogger(BatchJobService.class);
+
+    private final Validator validator;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, BatchJob<?>> jobs = new ConcurrentHashMap<>();
+    private final int tamanhoChunk;
+    private final int maxItens;
+    private final Duration retencao;
+
+    public BatchJobService(Validator validator,
+                           @Value("${pizzademo.jobs.workers:2}") int workers,
+                           @Value("${pizzademo.jobs.queue-capacity:50}") int capacidadeFila,
+                           @Value("${pizzademo.jobs.chunk-size:500}") int tamanhoChunk,
+                           @Value("${pizzademo.jobs.max-items:100000}") int maxItens,
+                           @Value("${pizzademo.jobs.retention:PT1H}") Duration retencao) {
+        this.validator = validator;
+        this.tamanhoChunk = tamanhoChunk;
+        this.maxItens = maxItens;
+        this.retencao = retencao;
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(capacidadeFila),
+            r -> {
+                Thread t = new Thread(r, "batch-job-" + contador.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Valida o payload e agenda o job para processamento assíncrono.
+     *
+     * @param tipo Nome do recurso importado (ex.: "pizza").
+     * @param itens Itens a serem gravados.
+     * @param gravador Função que grava um bloco de itens (normalmente repository::saveAll).
+     * @return O job criado, com status PENDING.
+     * @throws ResponseStatusException 400 se o payload for inválido, 503 se a fila estiver cheia.
+     */
+    public <T> BatchJob<T> submit(String tipo, List<T> itens, Consumer<List<T>> gravador) {
+        validar(itens);
+        removerExpirados();
+        BatchJob<T> job = new BatchJob<>(UUID.randomUUID().toString(), tipo, itens, tamanhoChunk, gravador);
+        jobs.put(job.getId(), job);
+        if (!enfileirar(job)) {
+            jobs.remove(job.getId());
+            throw filaCheia();
+        }
+        logger.info("Job {} de {} agendado com {} itens", job.getId(), tipo, itens.size());
+        return job;
+    }
+
+    /**
+     * Busca um job pelo ID.
+     */
+    public Optional<BatchJob<?>> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Reagenda os blocos que falharam em um job já finalizado.
+     *
+     * @throws ResponseStatusException 404 se o job não existir, 409 se não houver o que reprocessar.
+     */
+    public BatchJob<?> retry(String id) {
+        BatchJob<?> job = find(id)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Job não encontrado: id=" + id));
+        if (!job.resetIfFailed()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Apenas jobs com falha podem ser reprocessados");
+        }
+        if (!enfileirar(job)) {
+            job.markFailed();
+            throw filaCheia();
+        }
+        logger.info("Job {} reagendado para reprocessar {} bloco(s)", id, job.getErros().size());
+        return job;
+    }
+
+    private boolean enfileirar(BatchJob<?> job) {
+        try {
+            executor.execute(job::run);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private ResponseStatusException filaCheia() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Fila de importação cheia, tente novamente mais tarde");
+    }
+
+    private <T> void validar(List<T> itens) {
+        if (itens == null || itens.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A lista de itens não pode ser vazia");
+        }
+        if (itens.size() > maxItens) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "O lote excede o limite de " + maxItens + " itens");
+        }
+        for (int i = 0; i < itens.size(); i++) {
+            Set<ConstraintViolation<T>> violacoes = validator.validate(itens.get(i));
+            if (!violacoes.isEmpty()) {
+                String mensagens = violacoes.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .collect(Collectors.joining(", "));
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Item " + i + " inválido: " + mensagens);
+            }
+        }
+    }
+
+    private void removerExpirados() {
+        Instant limite = Instant.now().minus(retencao);
+        jobs.values().removeIf(job -> job.isExpired(limite));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,79 @@
+package com.senac.pizzademo.logging;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Amostragem de logs por logger: mantém 1 a cada N eventos INFO/DEBUG/TRACE dos loggers
+ * configurados. WARN e ERROR nunca são descartados.
+ *
+ * Configurado no logback-spring.xml, uma regra por linha no formato prefixo=N, ex.:
+ *   &lt;sample&gt;com.senac.pizzademo.controller=10&lt;/sample&gt;
+ * Vale a regra de prefixo mais longo que casar com o nome do logger.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+    private static final Regra SEM_AMOSTRAGEM = new Regra("", 1);
+
+    private final List<Regra> regras = new ArrayList<>();
+    private final Map<String, Regra> porLogger = new ConcurrentHashMap<>();
+
+    /** Uma regra de amostragem: 1 a cada {@code intervalo} eventos. */
+    private record Regra(String prefixo, long intervalo, AtomicLong contador) {
+        Regra(String prefixo, long intervalo) {
+            this(prefixo, intervalo, new AtomicLong());
+        }
+
+        boolean manter() {
+            return intervalo <= 1 || contador.getAndIncrement() % intervalo == 0;
+        }
+    }
+
+    public void addSample(String regra) {
+        int igual = regra.lastIndexOf('=');
+        if (igual <= 0) {
+            addError("Regra de amostragem inválida (esperado prefixo=N): " + regra);
+            return;
+        }
+        try {
+            regras.add(new Regra(regra.substring(0, igual).trim(), Long.parseLong(regra.substring(igual + 1).trim())));
+        } catch (NumberFormatException e) {
+            addError("Regra de amostragem inválida (esperado prefixo=N): " + regra);
+        }
+    }
+
+    @Override
+    public void start() {
+        regras.sort(Comparator.comparingInt((Regra r) -> r.prefixo().length()).reversed());
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format nulo: chamada de isXxxEnabled(), que não deve consumir a amostragem
+        if (!isStarted() || format == null || level == null || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        Regra regra = porLogger.computeIfAbsent(logger.getName(), this::regraPara);
+        return regra.manter() ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private Regra regraPara(String nome) {
+        for (Regra regra : regras) {
+            if (nome.startsWith(regra.prefixo())) {
+                return regra;
+            }
+        }
+        return SEM_AMOSTRAGEM;
+    }
+}
@@ -1,8 +1,12 @@
 package com.senac.pizzademo.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.senac.pizzademo.catalog.CatalogChangeListener;
+import com.senac.pizzademo.history.PriceHistoryListener;
+import com.senac.pizzademo.order.CardapioPriceListener;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -12,6 +16,7 @@ import jakarta.persistence.ManyToOne;
 
 
 @Entity
+@EntityListeners({CatalogChangeListener.class, CardapioPriceListener.class, PriceHistoryListener.class})
 
 public class Cardapio {
     @Id
@@ -33,6 +38,10 @@ public class Cardapio {
         return this.id;
     }
 
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public Float getValor() {
         return this.valor;
     }
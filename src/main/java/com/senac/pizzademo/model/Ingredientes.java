@@ -2,18 +2,27 @@ package com.senac.pizzademo.model;
 
 
 
+import java.util.Objects;
+
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.senac.pizzademo.catalog.CatalogChangeListener;
+import com.senac.pizzademo.catalog.IngredientNameListener;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Transient;
 
 
 @Entity
+@EntityListeners({CatalogChangeListener.class, IngredientNameListener.class})
 
 
 public class Ingredientes {
@@ -21,6 +30,12 @@ public class Ingredientes {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // A receita guarda só o id do catálogo de ingredientes; o nome é resolvido pelo IngredientNameListener
+    @Column(name = "ingrediente_id")
+    @JsonIgnore
+    private Long ingredienteId;
+
+    @Transient
     @jakarta.validation.constraints.NotBlank(message = "O nome do ingrediente é obrigatório.")
     @jakarta.validation.constraints.Size(min = 2, max = 50, message = "O nome do ingrediente deve ter entre 2 e 50 caracteres.")
     private String ingrediente;
@@ -37,14 +52,39 @@ public class Ingredientes {
         return this.id;
     }
 
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public String getIngrediente() {
         return this.ingrediente;
     }
 
+    /**
+     * Trocar o nome desvincula o id do catálogo, que é resolvido de novo na próxima gravação.
+     */
     public void setIngrediente(String ingrediente) {
+        if (!Objects.equals(this.ingrediente, ingrediente)) {
+            this.ingredienteId = null;
+        }
         this.ingrediente = ingrediente;
     }
 
+    /**
+     * Define o nome lido do catálogo para o ingrediente_id atual, sem desvinculá-lo.
+     */
+    public void carregarIngrediente(String ingrediente) {
+        this.ingrediente = ingrediente;
+    }
+
+    public Long getIngredienteId() {
+        return this.ingredienteId;
+    }
+
+    public void setIngredienteId(Long ingredienteId) {
+        this.ingredienteId = ingredienteId;
+    }
+
     public String getQuantidade() {
         return this.quantidade;
     }
@@ -0,0 +1,52 @@
+package com.senac.pizzademo.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+
+@Entity
+public class Usuario {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String username;
+
+    // Hash PBKDF2 da senha (ver PasswordHasher); nunca sai nas respostas
+    @Column(name = "senha_hash")
+    @JsonIgnore
+    private String senhaHash;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public String getUsername() {
+        return this.username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getSenhaHash() {
+        return this.senhaHash;
+    }
+
+    public void setSenhaHash(String senhaHash) {
+        this.senhaHash = senhaHash;
+    }
+
+    public Usuario(String username, String senhaHash) {
+        this.username = username;
+        this.senhaHash = senhaHash;
+    }
+
+    public Usuario() {
+
+    }
+}
@@ -0,0 +1,78 @@
+package com.senac.pizzademo.order;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.senac.pizzademo.model.Cardapio;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Listener JPA de {@link Cardapio} que repassa cada preço incluído, alterado ou removido
+ * à {@link MenuPriceTable}.
+ *
+ * As alterações de uma transação são acumuladas e aplicadas juntas, em um único snapshot
+ * novo, somente depois do commit; um rollback não chega à tabela de preços.
+ *
+ * É instanciado pelo Hibernate através do container de beans do Spring.
+ */
+@Component
+public class CardapioPriceListener {
+    private static final String RECURSO = CardapioPriceListener.class.getName();
+
+    /**
+     * Alteração de um item do cardápio, com o estado gravado.
+     */
+    record Alteracao(long cardapioId, Long pizzaId, String tamanho, Float valor, boolean removido) {
+    }
+
+    private final MenuPriceTable menuPriceTable;
+
+    public CardapioPriceListener(MenuPriceTable menuPriceTable) {
+        this.menuPriceTable = menuPriceTable;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Cardapio cardapio) {
+        Long pizzaId = cardapio.getPizza() != null ? cardapio.getPizza().getId() : null;
+        registrar(new Alteracao(cardapio.getId(), pizzaId, cardapio.getTamanho(), cardapio.getValor(), false));
+    }
+
+    @PostRemove
+    public void onRemove(Cardapio cardapio) {
+        registrar(new Alteracao(cardapio.getId(), null, null, null, true));
+    }
+
+    private void registrar(Alteracao alteracao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            menuPriceTable.aplicar(List.of(alteracao));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Alteracao> pendentes = (List<Alteracao>) TransactionSynchronizationManager.getResource(RECURSO);
+        if (pendentes == null) {
+            List<Alteracao> novas = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(RECURSO, novas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    menuPriceTable.aplicar(novas);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RECURSO);
+                }
+            });
+            pendentes = novas;
+        }
+        pendentes.add(alteracao);
+    }
+}
@@ -0,0 +1,20 @@
+package com.senac.pizzademo.order;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.senac.pizzademo.dto.CotacaoDTO;
+
+/**
+ * Resultado da cotação de um carrinho.
+ *
+ * @param versaoPrecos Versão da tabela de preços usada; muda sempre que algum preço muda.
+ * @param itens Itens cotados, com preço unitário e subtotal.
+ * @param indisponiveis Itens sem preço no cardápio, fora do total.
+ * @param total Soma dos subtotais.
+ */
+public record Cotacao(long versaoPrecos, List<Item> itens, List<CotacaoDTO.Item> indisponiveis, BigDecimal total) {
+
+    public record Item(long pizzaId, String tamanho, int quantidade, BigDecimal precoUnitario, BigDecimal subtotal) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.senac.pizzademo.order;
+
+/**
+ * Mapa long -> long com endereçamento aberto (sondagem linear) sobre dois arrays primitivos,
+ * sem boxing nem um objeto por entrada. A chave 0 é reservada para posições vazias.
+ *
+ * Não é thread-safe para escrita: é montado (ou copiado com {@link #copia()} e alterado) por
+ * uma única thread e só depois publicado; a partir daí é apenas lido, por qualquer thread.
+ */
+final class LongLongTable {
+    private static final long VAZIO = 0;
+
+    private long[] chaves;
+    private long[] valores;
+    private int tamanho;
+
+    LongLongTable(int capacidadeEsperada) {
+        int capacidade = Integer.highestOneBit(Math.max(4, capacidadeEsperada) * 2 - 1) << 1;
+        this.chaves = new long[capacidade];
+        this.valores = new long[capacidade];
+    }
+
+    private LongLongTable(long[] chaves, long[] valores, int tamanho) {
+        this.chaves = chaves;
+        this.valores = valores;
+        this.tamanho = tamanho;
+    }
+
+    /**
+     * Cópia independente, para alterar sem afetar quem ainda lê esta tabela.
+     */
+    LongLongTable copia() {
+        return new LongLongTable(chaves.clone(), valores.clone(), tamanho);
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    long get(long chave, long ausente) {
+        if (chave == VAZIO) {
+            return ausente;
+        }
+        int mascara = chaves.length - 1;
+        for (int i = indice(chave, mascara); ; i = (i + 1) & mascara) {
+            long atual = chaves[i];
+            if (atual == chave) {
+                return valores[i];
+            }
+            if (atual == VAZIO) {
+                return ausente;
+            }
+        }
+    }
+
+    void put(long chave, long valor) {
+        if (chave == VAZIO) {
+            throw new IllegalArgumentException("A chave 0 é reservada");
+        }
+        // Fator de carga máximo de 1/2: as sondagens continuam curtas
+        if ((tamanho + 1) * 2 > chaves.length) {
+            redimensionar(chaves.length * 2);
+        }
+        int mascara = chaves.length - 1;
+        for (int i = indice(chave, mascara); ; i = (i + 1) & mascara) {
+            if (chaves[i] == chave) {
+                valores[i] = valor;
+                return;
+            }
+            if (chaves[i] == VAZIO) {
+                chaves[i] = chave;
+                valores[i] = valor;
+                tamanho++;
+                return;
+            }
+        }
+    }
+
+    void remove(long chave) {
+        int mascara = chaves.length - 1;
+        int i = indice(chave, mascara);
+        while (chaves[i] != chave) {
+            if (chaves[i] == VAZIO) {
+                return;
+            }
+            i = (i + 1) & mascara;
+        }
+        // Remoção com deslocamento: puxa para trás as entradas seguintes do mesmo grupo,
+        // para que nenhuma busca pare antes da hora em um buraco (dispensa marcadores de remoção)
+        int vazio = i;
+        for (int j = (i + 1) & mascara; chaves[j] != VAZIO; j = (j + 1) & mascara) {
+            int ideal = indice(chaves[j], mascara);
+            boolean podeMover = vazio <= j ? (ideal <= vazio || ideal > j) : (ideal <= vazio && ideal > j);
+            if (podeMover) {
+                chaves[vazio] = chaves[j];
+                valores[vazio] = valores[j];
+                vazio = j;
+            }
+        }
+        chaves[vazio] = VAZIO;
+        valores[vazio] = 0;
+        tamanho--;
+    }
+
+    /**
+     * Percorre as entradas, em ordem arbitrária.
+     */
+    void forEach(Visitante visitante) {
+        for (int i = 0; i < chaves.length; i++) {
+            if (chaves[i] != VAZIO) {
+                visitante.visitar(chaves[i], valores[i]);
+            }
+        }
+    }
+
+    private void redimensionar(int capacidade) {
+        long[] antigasChaves = chaves;
+        long[] antigosValores = valores;
+        chaves = new long[capacidade];
+        valores = new long[capacidade];
+        tamanho = 0;
+        for (int i = 0; i < antigasChaves.length; i++) {
+            if (antigasChaves[i] != VAZIO) {
+                put(antigasChaves[i], antigosValores[i]);
+            }
+        }
+    }
+
+    private static int indice(long chave, int mascara) {
+        // Espalha os bits altos: ids sequenciais e chaves compostas ficariam agrupados
+        long h = chave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mascara;
+    }
+
+    @Override
+    public String toString() {
+        return "LongLongTable[tamanho=" + tamanho + ", capacidade=" + chaves.length + "]";
+    }
+
+    @FunctionalInterface
+    interface Visitante {
+        void visitar(long chave, long valor);
+    }
+}
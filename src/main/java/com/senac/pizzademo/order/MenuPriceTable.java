@@ -0,0 +1,202 @@
+package com.senac.pizzademo.order;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.senac.pizzademo.catalog.CatalogChangedEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Tabela de preços do cardápio em memória, usada para precificar pedidos e cotações sem
+ * consultar o banco.
+ *
+ * Guarda um {@link PriceSnapshot} imutável, trocado atomicamente. As alterações do cardápio
+ * feitas nesta instância chegam como alterações pontuais (ver {@link CardapioPriceListener})
+ * e são aplicadas em uma cópia do snapshot atual depois do commit. Alterações vindas de
+ * outras instâncias (ou de cargas via JDBC) não dizem quais itens mudaram, então disparam
+ * uma recarga completa, em uma thread própria; se a carga falhar, uma nova tentativa é
+ * agendada alguns segundos depois.
+ *
+ * Na inicialização, a tabela pode ser restaurada do arquivo de snapshot do catálogo
+ * (ver WarmStartService) antes da primeira carga, que então não é feita.
+ */
+@Component
+public class MenuPriceTable {
+    private static final Logger logger = LoggerFactory.getLogger(MenuPriceTable.class);
+    private static final long ESPERA_APOS_FALHA_MS = 5_000;
+    private static final String ITENS = "SELECT id, pizza_id, tamanho, valor FROM cardapio";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicBoolean agendado = new AtomicBoolean();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "menu-price-table");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicReference<PriceSnapshot> atual = new AtomicReference<>();
+    private final AtomicLong alteracoesAplicadas = new AtomicLong();
+
+    /**
+     * Um item do cardápio como está no banco; sem valor, o item fica fora da tabela.
+     */
+    public record Item(long cardapioId, Long pizzaId, String tamanho, Float valor) {
+    }
+
+    public MenuPriceTable(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Snapshot atual, ou null se a tabela ainda não foi carregada. Quem precifica vários
+     * itens deve ler o snapshot uma vez e usá-lo para todos, para não misturar versões.
+     */
+    PriceSnapshot snapshot() {
+        return atual.get();
+    }
+
+    /**
+     * Aplica alterações já gravadas, publicando uma cópia do snapshot atual.
+     */
+    void aplicar(List<CardapioPriceListener.Alteracao> alteracoes) {
+        alteracoesAplicadas.incrementAndGet();
+        // A função pode rodar mais de uma vez se outra alteração publicar antes; ela só altera a cópia
+        atual.updateAndGet(snapshot -> {
+            if (snapshot == null) {
+                // A carga inicial ainda não terminou; ela relê o cardápio depois desta alteração
+                return null;
+            }
+            PriceSnapshot.Edicao edicao = snapshot.editar();
+            for (CardapioPriceListener.Alteracao alteracao : alteracoes) {
+                if (alteracao.removido()) {
+                    edicao.remover(alteracao.cardapioId());
+                } else {
+                    edicao.incluir(alteracao.cardapioId(), alteracao.pizzaId(), alteracao.tamanho(), alteracao.valor());
+                }
+            }
+            return edicao.publicar();
+        });
+    }
+
+    /**
+     * Itens do cardápio lidos do banco, na transação em andamento, se houver.
+     */
+    public List<Item> itensDoBanco() {
+        List<Item> itens = new ArrayList<>();
+        jdbcTemplate.query(ITENS, rs -> {
+            itens.add(lerItem(rs));
+        });
+        return itens;
+    }
+
+    /**
+     * Publica a primeira versão da tabela a partir de uma cópia salva e das alterações
+     * gravadas depois dela, aplicadas em ordem (item sem valor sai da tabela). Não faz nada
+     * se a tabela já foi carregada.
+     *
+     * @param alteracoes Lidas só depois de registrado o contador de alterações locais: uma
+     *                   alteração local aplicada durante a restauração agenda uma recarga.
+     * @return true se a tabela foi restaurada.
+     */
+    public boolean restaurar(List<Item> itens, Supplier<List<Item>> alteracoes) {
+        long aplicadasAntes = alteracoesAplicadas.get();
+        List<Item> posteriores = alteracoes.get();
+        PriceSnapshot.Edicao edicao = PriceSnapshot.novo(1, itens.size());
+        for (Item item : itens) {
+            edicao.incluir(item.cardapioId(), item.pizzaId(), item.tamanho(), item.valor());
+        }
+        for (Item item : posteriores) {
+            edicao.incluir(item.cardapioId(), item.pizzaId(), item.tamanho(), item.valor());
+        }
+        PriceSnapshot restaurado = edicao.publicar();
+        if (!atual.compareAndSet(null, restaurado)) {
+            return false;
+        }
+        logger.info("Tabela de preços restaurada com {} itens ({} alterações posteriores)",
+            restaurado.itens(), posteriores.size());
+        if (alteracoesAplicadas.get() != aplicadasAntes) {
+            agendarRecarga(0);
+        }
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (atual.get() == null) {
+            agendarRecarga(0);
+        }
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        // As alterações locais já foram aplicadas pelo CardapioPriceListener
+        if ("Cardapio".equals(event.entidade()) && !event.local()) {
+            agendarRecarga(0);
+        }
+    }
+
+    private void agendarRecarga(long esperaMs) {
+        if (agendado.compareAndSet(false, true)) {
+            executor.schedule(this::recarregar, esperaMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void recarregar() {
+        // Alterações que chegarem a partir daqui agendam uma nova recarga
+        agendado.set(false);
+        long aplicadasAntes = alteracoesAplicadas.get();
+        try {
+            long inicio = System.nanoTime();
+            PriceSnapshot anterior = atual.get();
+            Integer total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cardapio", Integer.class);
+            PriceSnapshot.Edicao edicao = PriceSnapshot.novo(anterior != null ? anterior.versao() + 1 : 1,
+                total != null ? total : 0);
+            jdbcTemplate.query(ITENS,
+                rs -> {
+                    Item item = lerItem(rs);
+                    edicao.incluir(item.cardapioId(), item.pizzaId(), item.tamanho(), item.valor());
+                });
+            PriceSnapshot carregado = edicao.publicar();
+            atual.set(carregado);
+            logger.info("Tabela de preços versão {} carregada com {} itens em {} ms",
+                carregado.versao(), carregado.itens(), (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao carregar a tabela de preços: {}", e.getMessage());
+            agendarRecarga(ESPERA_APOS_FALHA_MS);
+            return;
+        }
+        if (alteracoesAplicadas.get() != aplicadasAntes) {
+            // Uma alteração local pode ter sido aplicada ao snapshot anterior e sobrescrita pela carga
+            agendarRecarga(0);
+        }
+    }
+
+    private static Item lerItem(ResultSet rs) throws SQLException {
+        long pizzaId = rs.getLong(2);
+        Long pizza = rs.wasNull() ? null : pizzaId;
+        String tamanho = rs.getString(3);
+        float valor = rs.getFloat(4);
+        return new Item(rs.getLong(1), pizza, tamanho, rs.wasNull() ? null : valor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
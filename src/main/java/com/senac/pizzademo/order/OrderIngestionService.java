@@ -0,0 +1,93 @@
+package com.senac.pizzademo.order;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.senac.pizzademo.dto.PedidoDTO;
+import com.senac.pizzademo.exception.BusinessException;
+import com.senac.pizzademo.exception.NotFoundException;
+
+/**
+ * Aceite de pedidos: precifica os itens por um único snapshot da {@link MenuPriceTable} e entrega o pedido ao
+ * {@link OrderWriter}, sem acessar o banco. O tempo de resposta do aceite, portanto, não
+ * depende do banco; se ele ficar lento por tempo suficiente para encher a fila, os novos
+ * pedidos recebem 503 imediatamente.
+ *
+ * Os IDs são gerados aqui, para que o cliente receba o ID antes da gravação: milissegundos
+ * desde 01/01/2024 nos bits altos, o número do nó (pizzademo.orders.node-id, 0 a 1023) e uma
+ * sequência de 12 bits. São crescentes em cada instância e não colidem entre instâncias
+ * com nós diferentes enquanto cada uma aceitar menos de 4096 pedidos por milissegundo.
+ */
+@Service
+public class OrderIngestionService {
+    private static final int BITS_SEQUENCIA = 12;
+    private static final int BITS_NO = 10;
+    // 2024-01-01T00:00:00Z; com 41 bits de milissegundos, os IDs cabem em um long até 2093
+    private static final long EPOCA_MS = 1_704_067_200_000L;
+
+    private final MenuPriceTable precos;
+    private final OrderWriter writer;
+    private final long no;
+    private final AtomicLong ultimoId = new AtomicLong();
+
+    public OrderIngestionService(MenuPriceTable precos, OrderWriter writer,
+                                 @Value("${pizzademo.orders.node-id:-1}") int no) {
+        this.precos = precos;
+        this.writer = writer;
+        // Sem nó configurado, sorteia um: colisões entre instâncias ficam improváveis, mas não impossíveis
+        this.no = (no >= 0 ? no : ThreadLocalRandom.current().nextInt(1 << BITS_NO)) & ((1 << BITS_NO) - 1);
+    }
+
+    /**
+     * Precifica e enfileira o pedido.
+     *
+     * @return O pedido aceito, com ID, preços e total.
+     * @throws NotFoundException se algum item não existir no cardápio.
+     * @throws BusinessException 503 se a tabela de preços ainda não carregou ou se a fila estiver cheia.
+     */
+    public Pedido aceitar(PedidoDTO dto) {
+        PriceSnapshot snapshot = precos.snapshot();
+        if (snapshot == null) {
+            throw new BusinessException(HttpStatus.SERVICE_UNAVAILABLE, "Tabela de preços ainda não carregada, tente novamente");
+        }
+        List<Pedido.Item> itens = new ArrayList<>(dto.itens().size());
+        List<Long> inexistentes = null;
+        long total = 0;
+        for (PedidoDTO.Item item : dto.itens()) {
+            long centavos = snapshot.centavos(item.cardapioId());
+            if (centavos == PriceSnapshot.AUSENTE) {
+                if (inexistentes == null) {
+                    inexistentes = new ArrayList<>();
+                }
+                inexistentes.add(item.cardapioId());
+                continue;
+            }
+            itens.add(new Pedido.Item(item.cardapioId(), item.quantidade(), BigDecimal.valueOf(centavos, 2)));
+            total += centavos * item.quantidade();
+        }
+        if (inexistentes != null) {
+            throw new NotFoundException(inexistentes.size() == 1
+                ? "Item do cardápio não encontrado: id=" + inexistentes.get(0)
+                : "Itens do cardápio não encontrados: ids=" + inexistentes);
+        }
+
+        Pedido pedido = new Pedido(proximoId(), dto.cliente(), BigDecimal.valueOf(total, 2), Instant.now(), List.copyOf(itens));
+        if (!writer.enfileirar(pedido)) {
+            throw new BusinessException(HttpStatus.SERVICE_UNAVAILABLE, "Fila de pedidos cheia, tente novamente mais tarde");
+        }
+        return pedido;
+    }
+
+    long proximoId() {
+        long base = ((System.currentTimeMillis() - EPOCA_MS) << (BITS_NO + BITS_SEQUENCIA)) | (no << BITS_SEQUENCIA);
+        return ultimoId.accumulateAndGet(base, (ultimo, candidato) -> Math.max(ultimo + 1, candidato));
+    }
+}
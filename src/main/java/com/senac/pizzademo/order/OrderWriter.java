@@ -0,0 +1,209 @@
+package com.senac.pizzademo.order;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Grava os pedidos aceitos em segundo plano, com group commit: uma única thread retira da
+ * fila todos os pedidos acumulados (até pizzademo.orders.batch-size) e grava o lote em uma
+ * transação, com INSERTs em batch para pedido e pedido_item. Enquanto um lote está sendo
+ * gravado, os próximos pedidos se acumulam e saem juntos no lote seguinte, então o número
+ * de commits cai à medida que a taxa de pedidos sobe.
+ *
+ * A fila é limitada: quando o banco fica lento a fila enche e os novos pedidos são
+ * recusados no aceite, em vez de acumular memória sem limite. Falhas transitórias do banco
+ * (timeout, deadlock, conexão indisponível) são repetidas com espera crescente, sem perder o
+ * lote. Um lote que viola uma restrição é gravado pedido a pedido, para que só o pedido
+ * inválido seja descartado; qualquer outro erro não se resolveria repetindo, e o lote é
+ * registrado no log e descartado.
+ *
+ * Pedidos ainda na fila quando a aplicação termina são gravados até o limite de
+ * pizzademo.orders.shutdown-timeout; os que sobrarem são registrados no log e perdidos.
+ */
+@Component
+public class OrderWriter {
+    private static final Logger logger = LoggerFactory.getLogger(OrderWriter.class);
+    private static final long ESPERA_INICIAL_MS = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Pedido> fila;
+    private final int tamanhoLote;
+    private final Duration esperaMaxima;
+    private final Duration tempoDesligamento;
+    private final Thread thread;
+    private volatile boolean ativo = true;
+
+    public OrderWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                       @Value("${pizzademo.orders.queue-capacity:10000}") int capacidadeFila,
+                       @Value("${pizzademo.orders.batch-size:500}") int tamanhoLote,
+                       @Value("${pizzademo.orders.max-retry-delay:PT5S}") Duration esperaMaxima,
+                       @Value("${pizzademo.orders.shutdown-timeout:PT10S}") Duration tempoDesligamento) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+        this.tamanhoLote = tamanhoLote;
+        this.esperaMaxima = esperaMaxima;
+        this.tempoDesligamento = tempoDesligamento;
+        this.thread = new Thread(this::executar, "order-writer");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Coloca o pedido na fila de gravação sem bloquear.
+     *
+     * @return false se a fila estiver cheia.
+     */
+    public boolean enfileirar(Pedido pedido) {
+        return fila.offer(pedido);
+    }
+
+    /**
+     * Número de pedidos aceitos que ainda não foram gravados.
+     */
+    public int pendentes() {
+        return fila.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        thread.start();
+    }
+
+    private void executar() {
+        List<Pedido> lote = new ArrayList<>(tamanhoLote);
+        while (ativo || !fila.isEmpty()) {
+            try {
+                Pedido primeiro = fila.poll(100, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                fila.drainTo(lote, tamanhoLote - 1);
+                gravarLote(lote);
+            } catch (RuntimeException e) {
+                // Um erro inesperado perde o lote, mas não a thread, que grava os próximos
+                logger.error("Lote de {} pedidos não foi gravado", lote.size(), e);
+            } catch (InterruptedException e) {
+                // Só acontece no encerramento, depois de esgotado o shutdown-timeout
+                if (!lote.isEmpty()) {
+                    logger.error("Lote de {} pedidos aceitos não foi gravado no encerramento", lote.size());
+                }
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void gravarLote(List<Pedido> lote) throws InterruptedException {
+        try {
+            gravarComRetry(lote);
+        } catch (DataIntegrityViolationException e) {
+            gravarUmAUm(lote);
+        } catch (RuntimeException e) {
+            logger.error("Lote de {} pedidos descartado por um erro que não se resolve repetindo (pedidos {} a {})",
+                lote.size(), lote.get(0).id(), lote.get(lote.size() - 1).id(), e);
+        }
+    }
+
+    private void gravarUmAUm(List<Pedido> lote) throws InterruptedException {
+        for (Pedido pedido : lote) {
+            try {
+                gravarComRetry(List.of(pedido));
+            } catch (DataIntegrityViolationException e) {
+                logger.error("Pedido {} descartado por violar uma restrição do banco: {}", pedido.id(), e.getMessage());
+            } catch (RuntimeException e) {
+                logger.error("Pedido {} descartado: {}", pedido.id(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Grava o lote, repetindo com espera crescente enquanto a falha for transitória.
+     *
+     * @throws RuntimeException A primeira falha que não é transitória.
+     */
+    private void gravarComRetry(List<Pedido> lote) throws InterruptedException {
+        long espera = ESPERA_INICIAL_MS;
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                gravar(lote);
+                if (tentativa > 1) {
+                    logger.info("Lote de {} pedidos gravado após {} tentativas", lote.size(), tentativa);
+                }
+                return;
+            } catch (RuntimeException e) {
+                if (!transitoria(e)) {
+                    throw e;
+                }
+                if (tentativa == 1) {
+                    logger.warn("Falha ao gravar lote de {} pedidos, tentando novamente: {}", lote.size(), e.getMessage());
+                }
+                Thread.sleep(espera);
+                espera = Math.min(espera * 2, esperaMaxima.toMillis());
+            }
+        }
+    }
+
+    /**
+     * Falhas que podem passar sozinhas: timeout, deadlock, conexão perdida ou indisponível
+     * (inclusive com o disjuntor do banco aberto, ver GuardedDataSource).
+     */
+    static boolean transitoria(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+            || e instanceof RecoverableDataAccessException
+            || e instanceof DataAccessResourceFailureException;
+    }
+
+    void gravar(List<Pedido> lote) {
+        List<Object[]> pedidos = new ArrayList<>(lote.size());
+        List<Object[]> itens = new ArrayList<>(lote.size() * 2);
+        for (Pedido pedido : lote) {
+            pedidos.add(new Object[] {pedido.id(), pedido.cliente(), pedido.total(), Timestamp.from(pedido.criadoEm())});
+            for (int i = 0; i < pedido.itens().size(); i++) {
+                Pedido.Item item = pedido.itens().get(i);
+                itens.add(new Object[] {pedido.id(), i, item.cardapioId(), item.quantidade(), item.precoUnitario()});
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("INSERT INTO pedido (id, cliente, total, criado_em) VALUES (?, ?, ?, ?)", pedidos);
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO pedido_item (pedido_id, item, cardapio_id, quantidade, preco_unitario) VALUES (?, ?, ?, ?, ?)", itens);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        ativo = false;
+        if (thread.isAlive()) {
+            thread.join(tempoDesligamento.toMillis());
+            thread.interrupt();
+        }
+        if (!fila.isEmpty()) {
+            logger.error("{} pedidos aceitos não foram gravados no encerramento", fila.size());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.senac.pizzademo.order;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+/**
+ * Pedido aceito e já precificado, como é enfileirado para gravação e devolvido ao cliente.
+ *
+ * @param id ID gerado no aceite; serializado como texto porque passa de 2^53 e perderia
+ *           precisão em clientes JavaScript.
+ * @param cliente Identificação opcional do cliente.
+ * @param total Soma de quantidade x preço unitário dos itens.
+ * @param criadoEm Momento do aceite.
+ * @param itens Itens com o preço unitário do momento do aceite.
+ */
+public record Pedido(
+    @JsonSerialize(using = ToStringSerializer.class) long id,
+    String cliente,
+    BigDecimal total,
+    Instant criadoEm,
+    List<Item> itens) {
+
+    public record Item(long cardapioId, int quantidade, BigDecimal precoUnitario) {
+    }
+}
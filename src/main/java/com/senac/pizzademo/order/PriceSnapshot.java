@@ -0,0 +1,158 @@
+package com.senac.pizzademo.order;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Preços do cardápio em um instante, imutáveis depois de publicados.
+ *
+ * Os preços ficam em centavos em tabelas de chave primitiva ({@link LongLongTable}):
+ * por item do cardápio (id) e por pizza x tamanho. O tamanho, que é texto livre, vira um
+ * índice pequeno, e a chave da pizza x tamanho é o id da pizza nos bits altos e o índice
+ * nos 16 bits baixos. Se houver mais de um item para a mesma pizza e tamanho, vale o de
+ * menor id.
+ *
+ * Consultar não aloca nem bloqueia. Alterar é copy-on-write: {@link #editar()} copia as
+ * tabelas, a cópia é alterada por uma única thread e publicada como um novo snapshot.
+ */
+final class PriceSnapshot {
+    static final long AUSENTE = -1;
+    private static final int BITS_TAMANHO = 16;
+
+    private final long versao;
+    private final LongLongTable centavosPorItem;
+    private final LongLongTable chavePorItem;
+    private final LongLongTable itemPorChave;
+    private final Map<String, Integer> tamanhos;
+
+    private PriceSnapshot(long versao, LongLongTable centavosPorItem, LongLongTable chavePorItem,
+                          LongLongTable itemPorChave, Map<String, Integer> tamanhos) {
+        this.versao = versao;
+        this.centavosPorItem = centavosPorItem;
+        this.chavePorItem = chavePorItem;
+        this.itemPorChave = itemPorChave;
+        this.tamanhos = tamanhos;
+    }
+
+    /**
+     * Começa um snapshot vazio, para uma carga completa.
+     */
+    static Edicao novo(long versao, int itensEsperados) {
+        return new Edicao(versao, new LongLongTable(itensEsperados), new LongLongTable(itensEsperados),
+            new LongLongTable(itensEsperados), new HashMap<>());
+    }
+
+    /**
+     * Começa uma cópia deste snapshot, com a versão seguinte.
+     */
+    Edicao editar() {
+        return new Edicao(versao + 1, centavosPorItem.copia(), chavePorItem.copia(), itemPorChave.copia(),
+            new HashMap<>(tamanhos));
+    }
+
+    long versao() {
+        return versao;
+    }
+
+    int itens() {
+        return centavosPorItem.tamanho();
+    }
+
+    /**
+     * Preço em centavos do item do cardápio, ou {@link #AUSENTE}.
+     */
+    long centavos(long cardapioId) {
+        return centavosPorItem.get(cardapioId, AUSENTE);
+    }
+
+    /**
+     * Preço em centavos da pizza no tamanho informado, ou {@link #AUSENTE}.
+     */
+    long centavos(long pizzaId, String tamanho) {
+        Integer indice = tamanhos.get(tamanho);
+        if (indice == null) {
+            return AUSENTE;
+        }
+        long item = itemPorChave.get(chave(pizzaId, indice), 0);
+        return item == 0 ? AUSENTE : centavosPorItem.get(item, AUSENTE);
+    }
+
+    static long paraCentavos(float valor) {
+        return Math.round(valor * 100.0);
+    }
+
+    private static long chave(long pizzaId, int indiceTamanho) {
+        return (pizzaId << BITS_TAMANHO) | indiceTamanho;
+    }
+
+    /**
+     * Snapshot em construção, ainda privado da thread que o altera.
+     */
+    static final class Edicao {
+        private final long versao;
+        private final LongLongTable centavosPorItem;
+        private final LongLongTable chavePorItem;
+        private final LongLongTable itemPorChave;
+        private final Map<String, Integer> tamanhos;
+
+        private Edicao(long versao, LongLongTable centavosPorItem, LongLongTable chavePorItem,
+                       LongLongTable itemPorChave, Map<String, Integer> tamanhos) {
+            this.versao = versao;
+            this.centavosPorItem = centavosPorItem;
+            this.chavePorItem = chavePorItem;
+            this.itemPorChave = itemPorChave;
+            this.tamanhos = tamanhos;
+        }
+
+        /**
+         * Inclui ou substitui um item do cardápio. Itens sem valor ficam fora; itens sem
+         * pizza ou sem tamanho só podem ser consultados pelo id.
+         */
+        Edicao incluir(long cardapioId, Long pizzaId, String tamanho, Float valor) {
+            remover(cardapioId);
+            if (valor == null) {
+                return this;
+            }
+            centavosPorItem.put(cardapioId, paraCentavos(valor));
+            if (pizzaId == null || tamanho == null) {
+                return this;
+            }
+            int indice = tamanhos.computeIfAbsent(tamanho, t -> tamanhos.size() + 1);
+            if (indice >= 1 << BITS_TAMANHO) {
+                return this;
+            }
+            long chave = chave(pizzaId, indice);
+            chavePorItem.put(cardapioId, chave);
+            long atual = itemPorChave.get(chave, 0);
+            if (atual == 0 || cardapioId < atual) {
+                itemPorChave.put(chave, cardapioId);
+            }
+            return this;
+        }
+
+        Edicao remover(long cardapioId) {
+            long chave = chavePorItem.get(cardapioId, 0);
+            centavosPorItem.remove(cardapioId);
+            chavePorItem.remove(cardapioId);
+            if (chave != 0 && itemPorChave.get(chave, 0) == cardapioId) {
+                itemPorChave.remove(chave);
+                // Outro item da mesma pizza e tamanho assume; a varredura só acontece
+                // quando o item removido era o que respondia por essa chave
+                long[] substituto = {0};
+                chavePorItem.forEach((item, outraChave) -> {
+                    if (outraChave == chave && (substituto[0] == 0 || item < substituto[0])) {
+                        substituto[0] = item;
+                    }
+                });
+                if (substituto[0] != 0) {
+                    itemPorChave.put(chave, substituto[0]);
+                }
+            }
+            return this;
+        }
+
+        PriceSnapshot publicar() {
+            return new PriceSnapshot(versao, centavosPorItem, chavePorItem, itemPorChave, Map.copyOf(tamanhos));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.senac.pizzademo.order;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.senac.pizzademo.dto.CotacaoDTO;
+import com.senac.pizzademo.exception.BusinessException;
+
+/**
+ * Cota carrinhos pelo snapshot de preços da {@link MenuPriceTable}.
+ *
+ * Cada cotação lê o snapshot uma única vez, então todos os itens saem da mesma versão de
+ * preços mesmo que o cardápio mude no meio. O cálculo é feito em centavos, sem locks, sem
+ * acesso ao banco e sem alocar nada além dos objetos da resposta.
+ */
+@Service
+public class QuoteEngine {
+
+    private final MenuPriceTable precos;
+
+    public QuoteEngine(MenuPriceTable precos) {
+        this.precos = precos;
+    }
+
+    /**
+     * @throws BusinessException 503 se a tabela de preços ainda não foi carregada.
+     */
+    public Cotacao cotar(CotacaoDTO carrinho) {
+        PriceSnapshot snapshot = precos.snapshot();
+        if (snapshot == null) {
+            throw new BusinessException(HttpStatus.SERVICE_UNAVAILABLE, "Tabela de preços ainda não carregada, tente novamente");
+        }
+        List<Cotacao.Item> itens = new ArrayList<>(carrinho.itens().size());
+        List<CotacaoDTO.Item> indisponiveis = List.of();
+        long total = 0;
+        for (CotacaoDTO.Item item : carrinho.itens()) {
+            long centavos = snapshot.centavos(item.pizzaId(), item.tamanho());
+            if (centavos == PriceSnapshot.AUSENTE) {
+                if (indisponiveis.isEmpty()) {
+                    indisponiveis = new ArrayList<>();
+                }
+                indisponiveis.add(item);
+                continue;
+            }
+            long subtotal = centavos * item.quantidade();
+            total += subtotal;
+            itens.add(new Cotacao.Item(item.pizzaId(), item.tamanho(), item.quantidade(),
+                BigDecimal.valueOf(centavos, 2), BigDecimal.valueOf(subtotal, 2)));
+        }
+        return new Cotacao(snapshot.versao(), itens, indisponiveis, BigDecimal.valueOf(total, 2));
+    }
+}
@@ -5,5 +5,5 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.senac.pizzademo.model.Cardapio;
 
-public interface CardapioRepository extends JpaRepository<Cardapio, Long> {
+public interface CardapioRepository extends JpaRepository<Cardapio, Long>, CardapioRepositoryCustom {
 }
@@ -0,0 +1,26 @@
+package com.senac.pizzademo.repository;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.senac.pizzademo.dto.SparseFieldset;
+
+/**
+ * Consultas do cardápio que selecionam apenas as colunas pedidas.
+ */
+public interface CardapioRepositoryCustom {
+
+    /** Campos simples de Cardapio, na ordem em que aparecem no JSON. */
+    Set<String> CAMPOS = new LinkedHashSet<>(List.of("id", "valor", "tamanho"));
+
+    /** Relacionamentos de Cardapio que podem ser incluídos. */
+    Set<String> INCLUDES = new LinkedHashSet<>(List.of("pizza"));
+
+    /**
+     * Lista os itens do cardápio com apenas os campos pedidos. Incluir a pizza
+     * acrescenta um join na mesma consulta, trazendo só o id e o sabor.
+     */
+    List<Map<String, Object>> findSparse(SparseFieldset fieldset);
+}
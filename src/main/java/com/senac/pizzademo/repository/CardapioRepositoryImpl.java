@@ -0,0 +1,61 @@
+package com.senac.pizzademo.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.senac.pizzademo.dto.SparseFieldset;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+
+/**
+ * Implementação de {@link CardapioRepositoryCustom} com JPQL montado a partir de uma
+ * lista fechada de colunas.
+ */
+public class CardapioRepositoryImpl implements CardapioRepositoryCustom {
+
+    private static final Map<String, String> COLUNAS = Map.of("id", "c.id", "valor", "c.valor", "tamanho", "c.tamanho");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findSparse(SparseFieldset fieldset) {
+        List<String> selecionados = new ArrayList<>(fieldset.fields());
+        boolean incluiPizza = fieldset.include().contains("pizza");
+        StringBuilder jpql = new StringBuilder("select ");
+        for (int i = 0; i < selecionados.size(); i++) {
+            jpql.append(i > 0 ? ", " : "").append(COLUNAS.get(selecionados.get(i)));
+        }
+        if (incluiPizza) {
+            jpql.append(", p.id, p.Sabor from Cardapio c left join c.pizza p");
+        } else {
+            jpql.append(" from Cardapio c");
+        }
+        jpql.append(" order by c.id");
+
+        List<Map<String, Object>> itens = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(jpql.toString(), Tuple.class).getResultList()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            for (int i = 0; i < selecionados.size(); i++) {
+                item.put(selecionados.get(i), tuple.get(i));
+            }
+            if (incluiPizza) {
+                Object pizzaId = tuple.get(selecionados.size());
+                if (pizzaId == null) {
+                    item.put("pizza", null);
+                } else {
+                    Map<String, Object> pizza = new LinkedHashMap<>();
+                    pizza.put("id", pizzaId);
+                    pizza.put("sabor", tuple.get(selecionados.size() + 1));
+                    item.put("pizza", pizza);
+                }
+            }
+            itens.add(item);
+        }
+        return itens;
+    }
+}
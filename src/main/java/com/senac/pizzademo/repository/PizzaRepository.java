@@ -1,9 +1,20 @@
-
 package com.senac.pizzademo.repository;
 
+import java.util.Collection;
+import java.util.Set;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.senac.pizzademo.model.Pizza;
 
-public interface PizzaRepository extends JpaRepository<Pizza, Long> {
+public interface PizzaRepository extends JpaRepository<Pizza, Long>, PizzaRepositoryCustom {
+
+    /**
+     * Retorna quais dos ids informados existem, com uma única consulta com IN
+     * que lê apenas a chave primária.
+     */
+    @Query("select p.id from Pizza p where p.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,41 @@
+package com.senac.pizzademo.repository;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.senac.pizzademo.dto.SparseFieldset;
+import com.senac.pizzademo.model.Pizza;
+
+/**
+ * Consultas de pizzas que selecionam apenas as colunas e coleções pedidas, e a
+ * listagem completa sem N+1.
+ */
+public interface PizzaRepositoryCustom {
+
+    /** Campos simples de Pizza, na ordem em que aparecem no JSON. */
+    Set<String> CAMPOS = new LinkedHashSet<>(List.of("id", "sabor"));
+
+    /** Coleções de Pizza que podem ser incluídas. */
+    Set<String> INCLUDES = new LinkedHashSet<>(List.of("ingredientes", "cardapio"));
+
+    /**
+     * Lista as pizzas com apenas os campos pedidos. Cada coleção incluída custa uma
+     * única consulta adicional, independentemente do número de pizzas.
+     */
+    List<Map<String, Object>> findSparse(SparseFieldset fieldset);
+
+    /**
+     * Lista todas as pizzas com ingredientes e cardápio já carregados, em duas consultas
+     * no total. Substitui o findAll do JpaRepository, que deixava cada coleção ser
+     * carregada por pizza durante a serialização.
+     */
+    List<Pizza> findAll();
+
+    /**
+     * Como {@link #findAll()}, mas apenas para os ids informados (consultas com IN).
+     */
+    List<Pizza> findAllWithCollectionsById(Collection<Long> ids);
+}
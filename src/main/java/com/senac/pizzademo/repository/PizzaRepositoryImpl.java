@@ -0,0 +1,147 @@
+package com.senac.pizzademo.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import com.senac.pizzademo.catalog.IngredientCatalog;
+import com.senac.pizzademo.dto.SparseFieldset;
+import com.senac.pizzademo.model.Pizza;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+
+/**
+ * Implementação de {@link PizzaRepositoryCustom} com JPQL montado a partir de uma lista
+ * fechada de colunas, de modo que o SQL gerado só traz o que foi pedido.
+ */
+public class PizzaRepositoryImpl implements PizzaRepositoryCustom {
+
+    private static final Map<String, String> COLUNAS = Map.of("id", "p.id", "sabor", "p.Sabor");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final IngredientCatalog ingredientCatalog;
+
+    public PizzaRepositoryImpl(IngredientCatalog ingredientCatalog) {
+        this.ingredientCatalog = ingredientCatalog;
+    }
+
+    /**
+     * Cada coleção vem em uma consulta separada: um único join fetch com as duas
+     * multiplicaria as linhas (ingredientes x tamanhos). A segunda consulta só completa
+     * o cardápio das pizzas que já estão no contexto de persistência.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Pizza> findAll() {
+        List<Pizza> pizzas = entityManager.createQuery(
+            "select distinct p from Pizza p left join fetch p.ingredientes order by p.id", Pizza.class).getResultList();
+        if (!pizzas.isEmpty()) {
+            entityManager.createQuery("select distinct p from Pizza p left join fetch p.cardapio", Pizza.class)
+                .getResultList();
+        }
+        return pizzas;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Pizza> findAllWithCollectionsById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Pizza> pizzas = entityManager.createQuery(
+            "select distinct p from Pizza p left join fetch p.ingredientes where p.id in :ids order by p.id", Pizza.class)
+            .setParameter("ids", ids)
+            .getResultList();
+        if (!pizzas.isEmpty()) {
+            entityManager.createQuery("select distinct p from Pizza p left join fetch p.cardapio where p.id in :ids", Pizza.class)
+                .setParameter("ids", ids)
+                .getResultList();
+        }
+        return pizzas;
+    }
+
+    @Override
+    public List<Map<String, Object>> findSparse(SparseFieldset fieldset) {
+        boolean incluiColecoes = !fieldset.include().isEmpty();
+        List<String> selecionados = new ArrayList<>(fieldset.fields());
+        if (incluiColecoes && !selecionados.contains("id")) {
+            // O id é necessário para ligar as coleções às pizzas, mas não é devolvido
+            selecionados.add("id");
+        }
+        StringBuilder jpql = new StringBuilder("select ");
+        for (int i = 0; i < selecionados.size(); i++) {
+            jpql.append(i > 0 ? ", " : "").append(COLUNAS.get(selecionados.get(i)));
+        }
+        jpql.append(" from Pizza p order by p.id");
+
+        List<Map<String, Object>> pizzas = new ArrayList<>();
+        Map<Long, Map<String, Object>> porId = new HashMap<>();
+        for (Tuple tuple : entityManager.createQuery(jpql.toString(), Tuple.class).getResultList()) {
+            Map<String, Object> pizza = new LinkedHashMap<>();
+            for (int i = 0; i < selecionados.size(); i++) {
+                String campo = selecionados.get(i);
+                if (fieldset.fields().contains(campo)) {
+                    pizza.put(campo, tuple.get(i));
+                }
+            }
+            if (incluiColecoes) {
+                Long id = (Long) tuple.get(selecionados.indexOf("id"));
+                porId.put(id, pizza);
+                for (String colecao : fieldset.include()) {
+                    pizza.put(colecao, new ArrayList<>());
+                }
+            }
+            pizzas.add(pizza);
+        }
+
+        if (fieldset.include().contains("ingredientes")) {
+            anexar(porId, "ingredientes",
+                "select i.pizza.id, i.id, i.ingredienteId, i.quantidade from Ingredientes i where i.pizza is not null order by i.id",
+                "id", "ingrediente", "quantidade");
+            // A consulta traz o id do catálogo; o nome vem do dicionário em memória
+            for (Map<String, Object> pizza : porId.values()) {
+                for (Map<String, Object> item : itens(pizza, "ingredientes")) {
+                    item.put("ingrediente", ingredientCatalog.nome((Long) item.get("ingrediente")));
+                }
+            }
+        }
+        if (fieldset.include().contains("cardapio")) {
+            anexar(porId, "cardapio",
+                "select c.pizza.id, c.id, c.valor, c.tamanho from Cardapio c where c.pizza is not null order by c.id",
+                "id", "valor", "tamanho");
+        }
+        return pizzas;
+    }
+
+    /**
+     * Carrega todos os filhos de uma coleção em uma única consulta e os distribui entre as pizzas.
+     * A primeira coluna da consulta deve ser o id da pizza.
+     */
+    private void anexar(Map<Long, Map<String, Object>> porId, String colecao, String jpql, String... campos) {
+        for (Tuple tuple : entityManager.createQuery(jpql, Tuple.class).getResultList()) {
+            Map<String, Object> pizza = porId.get((Long) tuple.get(0));
+            if (pizza == null) {
+                continue;
+            }
+            Map<String, Object> item = new LinkedHashMap<>();
+            for (int i = 0; i < campos.length; i++) {
+                item.put(campos[i], tuple.get(i + 1));
+            }
+            itens(pizza, colecao).add(item);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> itens(Map<String, Object> pizza, String colecao) {
+        return (List<Map<String, Object>>) pizza.get(colecao);
+    }
+}
@@ -0,0 +1,211 @@
+package com.senac.pizzademo.resilience;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Disjuntor (circuit breaker) do banco, alimentado pelo {@link GuardedDataSource} com o
+ * resultado de cada comando SQL, de qualquer thread.
+ *
+ * Fechado: guarda o resultado das últimas window-size chamadas. Quando há pelo menos
+ * minimum-calls chamadas e a proporção de falhas (timeouts e erros de conexão) ou de
+ * chamadas lentas passa do limite, abre. Aberto: novas conexões são recusadas na hora,
+ * sem esperar pelo pool, durante open-duration. Depois disso fica meio aberto e libera
+ * half-open-calls conexões de teste: se todas as chamadas de teste dão certo, fecha;
+ * qualquer falha abre de novo.
+ *
+ * Erros em que o banco respondeu (restrição violada, SQL inválido) não são falhas aqui.
+ */
+@Component
+public class DatabaseCircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseCircuitBreaker.class);
+
+    public enum Estado { FECHADO, ABERTO, MEIO_ABERTO }
+
+    private static final byte OK = 0;
+    private static final byte FALHA = 1;
+    private static final byte LENTA = 2;
+
+    private final boolean enabled;
+    private final int minimoChamadas;
+    private final int taxaFalhas;
+    private final int taxaLentas;
+    private final long limiteLentaNanos;
+    private final long aberturaNanos;
+    private final int chamadasTeste;
+
+    // Janela circular com os últimos resultados; tudo abaixo é protegido por this
+    private final byte[] janela;
+    private int posicao;
+    private int registradas;
+    private int falhas;
+    private int lentas;
+    private volatile Estado estado = Estado.FECHADO;
+    private long desde;
+    private int testesLiberados;
+    private int testesOk;
+
+    public DatabaseCircuitBreaker(@Value("${pizzademo.db.breaker.enabled:true}") boolean enabled,
+                                  @Value("${pizzademo.db.breaker.window-size:50}") int tamanhoJanela,
+                                  @Value("${pizzademo.db.breaker.minimum-calls:20}") int minimoChamadas,
+                                  @Value("${pizzademo.db.breaker.failure-rate:50}") int taxaFalhas,
+                                  @Value("${pizzademo.db.breaker.slow-call-rate:80}") int taxaLentas,
+                                  @Value("${pizzademo.db.breaker.slow-call-threshold:PT2S}") Duration limiteLenta,
+                                  @Value("${pizzademo.db.breaker.open-duration:PT10S}") Duration abertura,
+                                  @Value("${pizzademo.db.breaker.half-open-calls:3}") int chamadasTeste) {
+        this.enabled = enabled;
+        this.janela = new byte[Math.max(1, tamanhoJanela)];
+        this.minimoChamadas = Math.max(1, Math.min(minimoChamadas, janela.length));
+        this.taxaFalhas = taxaFalhas;
+        this.taxaLentas = taxaLentas;
+        this.limiteLentaNanos = limiteLenta.toNanos();
+        this.aberturaNanos = abertura.toNanos();
+        this.chamadasTeste = Math.max(1, chamadasTeste);
+    }
+
+    public Estado estado() {
+        return estado;
+    }
+
+    /**
+     * Chamado antes de pedir uma conexão ao pool.
+     *
+     * @throws DatabaseUnavailableException se o disjuntor estiver aberto, ou meio aberto
+     *                                      com todas as conexões de teste já liberadas.
+     */
+    public void permitir() throws DatabaseUnavailableException {
+        if (!enabled || estado == Estado.FECHADO) {
+            return;
+        }
+        synchronized (this) {
+            long agora = System.nanoTime();
+            if (estado == Estado.ABERTO) {
+                long restante = aberturaNanos - (agora - desde);
+                if (restante > 0) {
+                    throw new DatabaseUnavailableException(Math.max(1, (restante + 999_999_999) / 1_000_000_000));
+                }
+                estado = Estado.MEIO_ABERTO;
+                desde = agora;
+                testesLiberados = 0;
+                testesOk = 0;
+                logger.info("Disjuntor do banco meio aberto: liberando {} conexões de teste", chamadasTeste);
+            }
+            if (estado == Estado.MEIO_ABERTO) {
+                if (testesLiberados >= chamadasTeste) {
+                    if (agora - desde < aberturaNanos) {
+                        throw new DatabaseUnavailableException(1);
+                    }
+                    // As conexões de teste não executaram nada a tempo; libera uma nova leva
+                    desde = agora;
+                    testesLiberados = 0;
+                }
+                testesLiberados++;
+            }
+        }
+    }
+
+    /**
+     * Registra o resultado de uma chamada ao banco.
+     *
+     * @param nanos Duração da chamada.
+     * @param erro  Erro lançado, ou null.
+     */
+    public void registrar(long nanos, Throwable erro) {
+        if (!enabled) {
+            return;
+        }
+        byte resultado = erro != null && falhaDoBanco(erro) ? FALHA : nanos >= limiteLentaNanos ? LENTA : OK;
+        synchronized (this) {
+            switch (estado) {
+                case FECHADO -> {
+                    anotar(resultado);
+                    if (registradas >= minimoChamadas
+                            && (falhas * 100L >= (long) taxaFalhas * registradas || lentas * 100L >= (long) taxaLentas * registradas)) {
+                        abrir();
+                    }
+                }
+                case MEIO_ABERTO -> {
+                    if (resultado != OK) {
+                        abrir();
+                    } else if (++testesOk >= chamadasTeste) {
+                        fechar();
+                    }
+                }
+                // Chamadas liberadas antes da abertura que terminaram depois dela
+                case ABERTO -> { }
+            }
+        }
+    }
+
+    /**
+     * Registra a espera por uma conexão que o pool entregou; só conta se for lenta.
+     */
+    public void registrarEsperaNoPool(long nanos) {
+        if (nanos >= limiteLentaNanos) {
+            registrar(nanos, null);
+        }
+    }
+
+    /**
+     * Falhas que indicam banco fora do ar ou sobrecarregado: timeouts (do driver ou do pool)
+     * e erros de conexão. O prazo esgotado da própria requisição não conta.
+     */
+    static boolean falhaDoBanco(Throwable erro) {
+        if (erro instanceof DeadlineExceededException || erro instanceof DatabaseUnavailableException) {
+            return false;
+        }
+        if (erro instanceof SQLTimeoutException || erro instanceof SQLTransientConnectionException
+                || erro instanceof SQLNonTransientConnectionException || erro instanceof SQLRecoverableException) {
+            return true;
+        }
+        return erro instanceof SQLException sql && sql.getSQLState() != null && sql.getSQLState().startsWith("08");
+    }
+
+    private void anotar(byte resultado) {
+        if (registradas == janela.length) {
+            byte antigo = janela[posicao];
+            falhas -= antigo == FALHA ? 1 : 0;
+            lentas -= antigo == LENTA ? 1 : 0;
+        } else {
+            registradas++;
+        }
+        janela[posicao] = resultado;
+        falhas += resultado == FALHA ? 1 : 0;
+        lentas += resultado == LENTA ? 1 : 0;
+        posicao = (posicao + 1) % janela.length;
+    }
+
+    private void abrir() {
+        if (estado == Estado.FECHADO) {
+            logger.warn("Disjuntor do banco aberto por {} ms: {} falhas e {} chamadas lentas nas últimas {} chamadas",
+                aberturaNanos / 1_000_000, falhas, lentas, registradas);
+        } else {
+            logger.warn("Disjuntor do banco aberto de novo por {} ms: falha em uma chamada de teste", aberturaNanos / 1_000_000);
+        }
+        estado = Estado.ABERTO;
+        desde = System.nanoTime();
+        limparJanela();
+    }
+
+    private void fechar() {
+        estado = Estado.FECHADO;
+        limparJanela();
+        logger.info("Disjuntor do banco fechado: {} chamadas de teste bem-sucedidas", testesOk);
+    }
+
+    private void limparJanela() {
+        posicao = 0;
+        registradas = 0;
+        falhas = 0;
+        lentas = 0;
+    }
+}
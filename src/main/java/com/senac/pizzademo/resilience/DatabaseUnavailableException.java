@@ -0,0 +1,27 @@
+package com.senac.pizzademo.resilience;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * O {@link DatabaseCircuitBreaker} está aberto: a conexão é recusada sem ir ao pool.
+ *
+ * O SQLState 08 faz o Hibernate e o Spring tratarem o erro como falha de conexão; o
+ * {@link com.senac.pizzademo.exception.GlobalExceptionHandler} responde 503 com Retry-After.
+ */
+public class DatabaseUnavailableException extends SQLTransientConnectionException {
+    private final long retryAfterSegundos;
+
+    public DatabaseUnavailableException(long retryAfterSegundos) {
+        super("Banco de dados indisponível, tente novamente em instantes", "08000");
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+    public long getRetryAfterSegundos() {
+        return retryAfterSegundos;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
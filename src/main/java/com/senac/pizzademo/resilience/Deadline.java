@@ -0,0 +1,45 @@
+package com.senac.pizzademo.resilience;
+
+/**
+ * Prazo da requisição em andamento, em um ThreadLocal entre {@link #definir(long)} e
+ * {@link #limpar()}, chamados pelo {@link DeadlineFilter}.
+ *
+ * O {@link GuardedDataSource} usa o tempo restante como query timeout de cada comando SQL
+ * e recusa comandos quando o prazo já acabou. Fora de uma requisição (jobs, threads de
+ * fundo) não há prazo.
+ */
+public final class Deadline {
+    private static final ThreadLocal<Long> LIMITE = new ThreadLocal<>();
+
+    private Deadline() {
+    }
+
+    /**
+     * @param limiteNanos Instante limite, na escala de {@link System#nanoTime()}.
+     */
+    static void definir(long limiteNanos) {
+        LIMITE.set(limiteNanos);
+    }
+
+    static void limpar() {
+        LIMITE.remove();
+    }
+
+    /**
+     * Tempo restante em nanossegundos (zero ou negativo se o prazo acabou),
+     * ou {@link Long#MAX_VALUE} se a thread não tem prazo.
+     */
+    public static long restanteNanos() {
+        Long limite = LIMITE.get();
+        return limite == null ? Long.MAX_VALUE : limite - System.nanoTime();
+    }
+
+    /**
+     * @throws DeadlineExceededException se o prazo já acabou.
+     */
+    public static void verificar() throws DeadlineExceededException {
+        if (restanteNanos() <= 0) {
+            throw new DeadlineExceededException();
+        }
+    }
+}
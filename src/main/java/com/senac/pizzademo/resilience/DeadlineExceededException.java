@@ -0,0 +1,29 @@
+package com.senac.pizzademo.resilience;
+
+import java.sql.SQLTimeoutException;
+
+/**
+ * O prazo da requisição acabou antes de um acesso ao banco, e o comando nem chega a ser
+ * enviado, ou durante o comando, que o banco cancelou pelo query timeout derivado do prazo.
+ *
+ * Não conta como falha do banco no {@link DatabaseCircuitBreaker}, e não captura stack trace,
+ * como a {@link com.senac.pizzademo.exception.BusinessException}.
+ */
+public class DeadlineExceededException extends SQLTimeoutException {
+
+    public DeadlineExceededException() {
+        super("Prazo da requisição esgotado antes do acesso ao banco");
+    }
+
+    /**
+     * @param timeout O erro de query timeout do driver.
+     */
+    public DeadlineExceededException(SQLTimeoutException timeout) {
+        super("Prazo da requisição esgotado durante o comando SQL", timeout.getSQLState(), timeout.getErrorCode(), timeout);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
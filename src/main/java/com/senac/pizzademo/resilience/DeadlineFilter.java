@@ -0,0 +1,108 @@
+package com.senac.pizzademo.resilience;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Define o prazo ({@link Deadline}) de cada requisição a partir da sua chegada.
+ *
+ * O prazo vem da rota (pizzademo.deadline.routes, no formato "GET /pizza=PT3S,POST /pedidos=PT2S";
+ * vale o prefixo mais longo, e uma rota sem método vale para todos) ou, sem rota, do prazo
+ * padrão. O cliente pode encurtá-lo com o header X-Request-Timeout, em milissegundos, para
+ * que o servidor não continue trabalhando depois que ele desistiu; nunca pode aumentá-lo.
+ */
+public class DeadlineFilter implements Filter {
+    public static final String HEADER = "X-Request-Timeout";
+
+    private final long padraoNanos;
+    private final List<Rota> rotas;
+
+    public DeadlineFilter(Duration padrao, String rotas) {
+        this.padraoNanos = padrao.toNanos();
+        this.rotas = rotas(rotas);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        long chegada = System.nanoTime();
+        Deadline.definir(chegada + prazoNanos((HttpServletRequest) request));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Deadline.limpar();
+        }
+    }
+
+    long prazoNanos(HttpServletRequest request) {
+        long prazo = padraoNanos;
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Rota rota : rotas) {
+            if (rota.atende(request.getMethod(), path)) {
+                prazo = rota.nanos();
+                break;
+            }
+        }
+        String header = request.getHeader(HEADER);
+        if (header != null) {
+            try {
+                long pedido = Duration.ofMillis(Long.parseLong(header.trim())).toNanos();
+                if (pedido > 0 && pedido < prazo) {
+                    prazo = pedido;
+                }
+            } catch (NumberFormatException | ArithmeticException e) {
+                // Header inválido: vale o prazo da rota
+            }
+        }
+        return prazo;
+    }
+
+    /**
+     * Lê a lista de rotas, ordenada do prefixo mais longo para o mais curto.
+     *
+     * @throws IllegalArgumentException se alguma rota estiver mal formada.
+     */
+    static List<Rota> rotas(String config) {
+        List<Rota> rotas = new ArrayList<>();
+        if (config == null || config.isBlank()) {
+            return rotas;
+        }
+        for (String item : config.split(",")) {
+            String texto = item.trim();
+            int igual = texto.lastIndexOf('=');
+            if (igual < 0) {
+                throw new IllegalArgumentException("Rota sem prazo em pizzademo.deadline.routes: " + texto);
+            }
+            String[] partes = texto.substring(0, igual).trim().split("\\s+");
+            String metodo = partes.length > 1 ? partes[0].toUpperCase() : null;
+            String prefixo = partes[partes.length - 1];
+            if (!prefixo.startsWith("/")) {
+                throw new IllegalArgumentException("Caminho inválido em pizzademo.deadline.routes: " + texto);
+            }
+            rotas.add(new Rota(metodo, prefixo, Duration.parse(texto.substring(igual + 1).trim()).toNanos()));
+        }
+        rotas.sort(Comparator.comparingInt((Rota r) -> r.prefixo().length()).reversed()
+            .thenComparing(r -> r.metodo() == null));
+        return rotas;
+    }
+
+    record Rota(String metodo, String prefixo, long nanos) {
+
+        boolean atende(String metodoRequisicao, String path) {
+            if (metodo != null && !metodo.equals(metodoRequisicao)) {
+                return false;
+            }
+            return path.equals(prefixo) || path.startsWith(prefixo.endsWith("/") ? prefixo : prefixo + "/");
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.senac.pizzademo.resilience;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource que aplica o prazo da requisição ({@link Deadline}) e o
+ * {@link DatabaseCircuitBreaker} a todo acesso ao banco, do JPA e do JdbcTemplate.
+ *
+ * Ao pedir uma conexão: recusa na hora se o prazo já acabou ou se o disjuntor estiver
+ * aberto. Antes de cada comando SQL: recusa se o prazo acabou e, senão, usa o tempo
+ * restante (arredondado para cima, em segundos, que é a resolução do JDBC) como query
+ * timeout, para que o banco cancele a consulta quando o cliente já desistiu. O resultado
+ * e a duração de cada comando alimentam o disjuntor.
+ *
+ * Um comando cancelado por esse timeout vira {@link DeadlineExceededException} e não conta
+ * como falha do banco: o prazo pode ter sido encurtado pelo cliente (X-Request-Timeout), e
+ * um cliente impaciente não deve abrir o disjuntor para todos.
+ */
+public class GuardedDataSource extends DelegatingDataSource {
+    private static final long SEGUNDO = 1_000_000_000L;
+
+    private final DatabaseCircuitBreaker disjuntor;
+
+    public GuardedDataSource(DataSource alvo, DatabaseCircuitBreaker disjuntor) {
+        super(alvo);
+        this.disjuntor = disjuntor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proteger(super::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proteger(() -> super.getConnection(username, password));
+    }
+
+    private Connection proteger(Abertura abertura) throws SQLException {
+        Deadline.verificar();
+        disjuntor.permitir();
+        long inicio = System.nanoTime();
+        Connection connection;
+        try {
+            connection = abertura.abrir();
+        } catch (SQLException | RuntimeException e) {
+            disjuntor.registrar(System.nanoTime() - inicio, e);
+            throw e;
+        }
+        // Conexões obtidas rapidamente não entram na janela: só os comandos dizem se o banco
+        // responde. Esperas longas no pool, sim, porque são o primeiro sinal de esgotamento
+        long espera = System.nanoTime() - inicio;
+        disjuntor.registrarEsperaNoPool(espera);
+        return (Connection) Proxy.newProxyInstance(GuardedDataSource.class.getClassLoader(),
+            new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+    }
+
+    /**
+     * Query timeout, em segundos, para o tempo restante (no mínimo 1: zero desligaria o timeout).
+     */
+    static int segundos(long restanteNanos) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, (restanteNanos + SEGUNDO - 1) / SEGUNDO));
+    }
+
+    private static Object invocar(Object alvo, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Abertura {
+        Connection abrir() throws SQLException;
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object resultado = invocar(connection, method, args);
+            if (resultado instanceof Statement statement) {
+                Class<?> tipo = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(GuardedDataSource.class.getClassLoader(),
+                    new Class<?>[] {tipo}, new StatementHandler(statement));
+            }
+            return resultado;
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+
+        StatementHandler(Statement statement) {
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return invocar(statement, method, args);
+            }
+            long restante = Deadline.restanteNanos();
+            if (restante <= 0) {
+                throw new DeadlineExceededException();
+            }
+            boolean timeoutDoPrazo = false;
+            if (restante != Long.MAX_VALUE) {
+                int segundos = segundos(restante);
+                int atual = statement.getQueryTimeout();
+                // Um timeout menor, definido por quem criou o comando, continua valendo
+                if (atual == 0 || segundos < atual) {
+                    statement.setQueryTimeout(segundos);
+                }
+                // Igual ao do prazo também conta: o prazo teria cancelado o comando do mesmo jeito
+                timeoutDoPrazo = atual == 0 || segundos <= atual;
+            }
+            long inicio = System.nanoTime();
+            Object resultado;
+            try {
+                resultado = invocar(statement, method, args);
+            } catch (SQLTimeoutException e) {
+                // O timeout é arredondado para cima: se foi ele que venceu, o prazo já acabou
+                Throwable erro = timeoutDoPrazo && Deadline.restanteNanos() <= 0 ? new DeadlineExceededException(e) : e;
+                disjuntor.registrar(System.nanoTime() - inicio, erro);
+                throw erro;
+            } catch (Throwable e) {
+                disjuntor.registrar(System.nanoTime() - inicio, e);
+                throw e;
+            }
+            disjuntor.registrar(System.nanoTime() - inicio, null);
+            return resultado;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.senac.pizzademo.resilience;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * Envolve o DataSource da aplicação em um {@link GuardedDataSource}.
+ *
+ * O disjuntor é resolvido só quando o DataSource aparece, para não criar beans comuns
+ * durante o registro dos BeanPostProcessors.
+ */
+@Component
+@ConditionalOnExpression("${pizzademo.deadline.enabled:true} or ${pizzademo.db.breaker.enabled:true}")
+public class GuardedDataSourcePostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<DatabaseCircuitBreaker> disjuntor;
+
+    public GuardedDataSourcePostProcessor(ObjectProvider<DatabaseCircuitBreaker> disjuntor) {
+        this.disjuntor = disjuntor;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof GuardedDataSource)) {
+            return new GuardedDataSource(dataSource, disjuntor.getObject());
+        }
+        return bean;
+    }
+}
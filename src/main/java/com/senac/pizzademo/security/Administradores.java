@@ -0,0 +1,34 @@
+package com.senac.pizzademo.security;
+
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.senac.pizzademo.exception.BusinessException;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Usuários listados em pizzademo.auth.admins, os únicos que podem cadastrar usuários e usar
+ * o diagnóstico com o JFR. O usuário vem do token, validado antes pelo {@link JwtFilter}.
+ */
+@Component
+public class Administradores {
+    private final Set<String> admins;
+
+    public Administradores(@Value("${pizzademo.auth.admins:admin}") Set<String> admins) {
+        this.admins = admins;
+    }
+
+    /**
+     * Recusa com 403 a requisição que não traz o token de um administrador.
+     */
+    public void exigir(HttpServletRequest request) {
+        Object usuario = request.getAttribute(JwtFilter.USUARIO);
+        if (usuario == null || !admins.contains(usuario.toString())) {
+            throw new BusinessException(HttpStatus.FORBIDDEN, "Acesso restrito a administradores");
+        }
+    }
+}
@@ -5,7 +5,14 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
+import com.senac.pizzademo.timing.RequestTiming;
+
 public class JwtFilter implements Filter {
+    /**
+     * Atributo da requisição com o usuário do token, nas rotas protegidas.
+     */
+    public static final String USUARIO = JwtFilter.class.getName() + ".usuario";
+
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
@@ -20,17 +27,21 @@ public class JwtFilter implements Filter {
             return;
         }
 
-        if (path.startsWith("/pizza")) {
+        if (path.startsWith("/pizza") || path.startsWith("/jobs") || path.startsWith("/auth/usuarios") || path.startsWith("/admin")) {
             String authHeader = req.getHeader("Authorization");
             if (authHeader == null || !authHeader.startsWith("Bearer ")) {
                 res.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 return;
             }
             String token = authHeader.substring(7);
-            if (!JwtUtil.validateToken(token)) {
+            long inicio = System.nanoTime();
+            String usuario = JwtUtil.subject(token);
+            RequestTiming.registrarJwt(System.nanoTime() - inicio);
+            if (usuario == null) {
                 res.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 return;
             }
+            req.setAttribute(USUARIO, usuario);
         }
         chain.doFilter(request, response);
     }
@@ -27,11 +27,17 @@ public class JwtUtil {
     }
 
     public static boolean validateToken(String token) {
+        return subject(token) != null;
+    }
+
+    /**
+     * Usuário do token, ou null se o token for inválido ou estiver expirado.
+     */
+    public static String subject(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(KEY).build().parseClaimsJws(token);
-            return true;
+            return Jwts.parserBuilder().setSigningKey(KEY).build().parseClaimsJws(token).getBody().getSubject();
         } catch (Exception e) {
-            return false;
+            return null;
         }
     }
 }
@@ -0,0 +1,186 @@
+package com.senac.pizzademo.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.senac.pizzademo.exception.BusinessException;
+import com.senac.pizzademo.model.Usuario;
+import com.senac.pizzademo.repository.UsuarioRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Autenticação e cadastro de usuários com senhas em hash lento ({@link PasswordHasher}).
+ *
+ * Os hashes rodam em um executor próprio, com pizzademo.auth.hash-threads threads e uma
+ * fila de pizzademo.auth.queue-capacity tarefas: uma rajada de logins ocupa no máximo essas
+ * threads (e as threads do Tomcat que esperam por elas), em vez de disputar CPU com o resto
+ * da API. Com a fila cheia, ou se a verificação não terminar em pizzademo.auth.verify-timeout,
+ * o login responde 503 imediatamente.
+ *
+ * Logins bem-sucedidos ficam em cache por pizzademo.auth.cache-ttl: o cache guarda um HMAC
+ * da senha, com uma chave aleatória de cada instância (nunca a senha), e o hash gravado no
+ * momento da verificação, então uma troca de senha invalida a entrada. Usuários inexistentes
+ * também passam por um hash, para que o tempo de resposta não revele quais usuários existem.
+ */
+@Service
+public class LoginService {
+    private final UsuarioRepository usuarioRepository;
+    private final PasswordHasher passwordHasher;
+    private final long esperaMaximaMs;
+    private final long ttlCacheMs;
+    private final int maxEntradasCache;
+    private final ThreadPoolExecutor executor;
+    private final SecretKeySpec chaveCache;
+    private final Map<String, Verificacao> verificadas = new ConcurrentHashMap<>();
+    private volatile String hashFicticio;
+
+    /**
+     * Senha verificada com sucesso; vale até {@code expiraEm} enquanto o hash gravado for o mesmo.
+     */
+    private record Verificacao(String senhaHash, byte[] assinatura, long expiraEm) {
+    }
+
+    public LoginService(UsuarioRepository usuarioRepository, PasswordHasher passwordHasher,
+                        @Value("${pizzademo.auth.hash-threads:2}") int threads,
+                        @Value("${pizzademo.auth.queue-capacity:16}") int capacidadeFila,
+                        @Value("${pizzademo.auth.verify-timeout:PT3S}") Duration esperaMaxima,
+                        @Value("${pizzademo.auth.cache-ttl:PT5M}") Duration ttlCache,
+                        @Value("${pizzademo.auth.cache-max-entries:10000}") int maxEntradasCache) {
+        this.usuarioRepository = usuarioRepository;
+        this.passwordHasher = passwordHasher;
+        this.esperaMaximaMs = esperaMaxima.toMillis();
+        this.ttlCacheMs = ttlCache.toMillis();
+        this.maxEntradasCache = maxEntradasCache;
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(capacidadeFila), r -> {
+                Thread t = new Thread(r, "password-hasher-" + contador.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }, new ThreadPoolExecutor.AbortPolicy());
+        byte[] chave = new byte[32];
+        new SecureRandom().nextBytes(chave);
+        this.chaveCache = new SecretKeySpec(chave, "HmacSHA256");
+    }
+
+    /**
+     * @return true se o usuário existe e a senha confere.
+     * @throws BusinessException 503 se a fila de verificações estiver cheia ou a verificação demorar demais.
+     */
+    public boolean autenticar(String username, String senha) {
+        if (username == null || username.isBlank() || senha == null || senha.isEmpty()) {
+            return false;
+        }
+        String hash = usuarioRepository.findByUsername(username).map(Usuario::getSenhaHash).orElse(null);
+        byte[] assinatura = assinar(username, senha);
+        if (hash != null) {
+            Verificacao verificacao = verificadas.get(username);
+            if (verificacao != null && verificacao.expiraEm() > System.currentTimeMillis()
+                    && verificacao.senhaHash().equals(hash) && MessageDigest.isEqual(verificacao.assinatura(), assinatura)) {
+                return true;
+            }
+        }
+        boolean valida = executar(() -> hash != null ? passwordHasher.verificar(senha, hash) : verificarFicticio(senha));
+        if (valida) {
+            lembrar(username, new Verificacao(hash, assinatura, System.currentTimeMillis() + ttlCacheMs));
+        }
+        return valida;
+    }
+
+    /**
+     * Cadastra um usuário, com o hash calculado no mesmo executor dos logins.
+     *
+     * @throws BusinessException 409 se o usuário já existir; 503 como em {@link #autenticar}.
+     */
+    public Usuario cadastrar(String username, String senha) {
+        String hash = executar(() -> passwordHasher.hash(senha));
+        try {
+            return usuarioRepository.save(new Usuario(username, hash));
+        } catch (DataIntegrityViolationException e) {
+            throw new BusinessException(HttpStatus.CONFLICT, "Usuário já existe: " + username);
+        }
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            throw new BusinessException(HttpStatus.SERVICE_UNAVAILABLE, "Muitos logins simultâneos, tente novamente em instantes");
+        }
+        try {
+            return futuro.get(esperaMaximaMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            throw new BusinessException(HttpStatus.SERVICE_UNAVAILABLE, "Muitos logins simultâneos, tente novamente em instantes");
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new BusinessException(HttpStatus.SERVICE_UNAVAILABLE, "Login interrompido, tente novamente");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao calcular o hash da senha", e.getCause());
+        }
+    }
+
+    private boolean verificarFicticio(String senha) {
+        String hash = hashFicticio;
+        if (hash == null) {
+            // Calculado uma vez, com as mesmas iterações das senhas novas
+            hash = passwordHasher.hash("usuario-inexistente");
+            hashFicticio = hash;
+        }
+        passwordHasher.verificar(senha, hash);
+        return false;
+    }
+
+    private void lembrar(String username, Verificacao verificacao) {
+        if (verificadas.size() >= maxEntradasCache) {
+            long agora = System.currentTimeMillis();
+            verificadas.values().removeIf(v -> v.expiraEm() <= agora);
+            if (verificadas.size() >= maxEntradasCache) {
+                return;
+            }
+        }
+        verificadas.put(username, verificacao);
+    }
+
+    private byte[] assinar(String username, String senha) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(chaveCache);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(senha.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 indisponível", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,72 @@
+package com.senac.pizzademo.security;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hash de senhas com PBKDF2-HMAC-SHA256, da própria JDK, no formato
+ * {@code pbkdf2-sha256$iterações$salt$hash}.
+ *
+ * É propositalmente lento (centenas de milissegundos por senha com o número padrão de
+ * iterações), por isso só deve ser chamado pelo executor limitado do {@link LoginService}.
+ * As iterações ficam gravadas em cada hash: aumentar pizzademo.auth.pbkdf2-iterations vale
+ * para as senhas novas sem invalidar as antigas.
+ */
+@Component
+public class PasswordHasher {
+    private static final String ALGORITMO = "pbkdf2-sha256";
+    private static final int BYTES_SALT = 16;
+    private static final int BITS_HASH = 256;
+
+    private final SecureRandom random = new SecureRandom();
+    private final int iteracoes;
+
+    public PasswordHasher(@Value("${pizzademo.auth.pbkdf2-iterations:600000}") int iteracoes) {
+        this.iteracoes = iteracoes;
+    }
+
+    public String hash(String senha) {
+        byte[] salt = new byte[BYTES_SALT];
+        random.nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder();
+        return ALGORITMO + "$" + iteracoes + "$" + base64.encodeToString(salt) + "$"
+            + base64.encodeToString(derivar(senha, salt, iteracoes));
+    }
+
+    /**
+     * @return true se a senha corresponde ao hash; false também para hashes em formato desconhecido.
+     */
+    public boolean verificar(String senha, String hash) {
+        String[] partes = hash.split("\\$");
+        if (partes.length != 4 || !ALGORITMO.equals(partes[0])) {
+            return false;
+        }
+        try {
+            Base64.Decoder base64 = Base64.getDecoder();
+            byte[] esperado = base64.decode(partes[3]);
+            // Comparação em tempo constante
+            return MessageDigest.isEqual(esperado, derivar(senha, base64.decode(partes[2]), Integer.parseInt(partes[1])));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static byte[] derivar(String senha, byte[] salt, int iteracoes) {
+        PBEKeySpec spec = new PBEKeySpec(senha.toCharArray(), salt, iteracoes, BITS_HASH);
+        try {
+            return SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2WithHmacSHA256 indisponível", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
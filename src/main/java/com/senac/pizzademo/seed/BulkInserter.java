@@ -0,0 +1,133 @@
+package com.senac.pizzademo.seed;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * Acumula linhas de uma tabela e as grava com INSERTs de várias linhas
+ * (INSERT ... VALUES (...), (...), ...), sem passar pelo Hibernate.
+ *
+ * Um único INSERT com centenas de linhas evita uma ida ao banco por linha mesmo
+ * sem a opção rewriteBatchedStatements do driver do MySQL.
+ *
+ * A primeira coluna é o id da pizza, e as linhas chegam em ordem crescente dele. Com um
+ * inserter pai (o das pizzas), só são gravadas as linhas cujas pizzas o pai já gravou; as
+ * demais ficam no buffer, que cresce além de linhasPorInsert até o pai gravar o próximo
+ * INSERT completo. Assim o pai nunca é forçado a gravar um INSERT parcial no meio da carga.
+ */
+class BulkInserter {
+    private final Connection connection;
+    private final String tabela;
+    private final String[] colunas;
+    private final int linhasPorInsert;
+    private final BulkInserter pai;
+    private Object[] buffer;
+    private PreparedStatement insertCompleto;
+    private int linhas;
+    private long maiorIdGravado = Long.MIN_VALUE;
+    private long total;
+
+    /**
+     * @param pai Inserter da tabela referenciada pela primeira coluna, ou null.
+     */
+    BulkInserter(Connection connection, String tabela, String[] colunas, int linhasPorInsert, BulkInserter pai) {
+        this.connection = connection;
+        this.tabela = tabela;
+        this.colunas = colunas;
+        this.linhasPorInsert = linhasPorInsert;
+        this.pai = pai;
+        this.buffer = new Object[linhasPorInsert * colunas.length];
+    }
+
+    void add(Object... valores) throws SQLException {
+        if ((linhas + 1) * colunas.length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        System.arraycopy(valores, 0, buffer, linhas * colunas.length, colunas.length);
+        linhas++;
+        while (linhas >= linhasPorInsert && paiJaGravou(linhasPorInsert)) {
+            gravar(linhasPorInsert);
+        }
+    }
+
+    /**
+     * Grava todas as linhas do buffer; o pai só é gravado antes se alguma delas referencia
+     * uma pizza que ainda está no buffer dele.
+     */
+    void flush() throws SQLException {
+        if (linhas == 0) {
+            return;
+        }
+        if (!paiJaGravou(linhas)) {
+            pai.flush();
+        }
+        while (linhas >= linhasPorInsert) {
+            gravar(linhasPorInsert);
+        }
+        if (linhas > 0) {
+            gravar(linhas);
+        }
+    }
+
+    long total() {
+        return total;
+    }
+
+    void close() throws SQLException {
+        if (insertCompleto != null) {
+            insertCompleto.close();
+        }
+    }
+
+    /**
+     * Se o pai já gravou as pizzas das primeiras {@code quantidade} linhas do buffer (basta
+     * conferir a última, pela ordem dos ids).
+     */
+    private boolean paiJaGravou(int quantidade) {
+        return pai == null || id(quantidade - 1) <= pai.maiorIdGravado;
+    }
+
+    private long id(int linha) {
+        return ((Number) buffer[linha * colunas.length]).longValue();
+    }
+
+    /**
+     * Grava as primeiras {@code quantidade} linhas do buffer e move as restantes para o início.
+     */
+    private void gravar(int quantidade) throws SQLException {
+        if (quantidade == linhasPorInsert) {
+            if (insertCompleto == null) {
+                insertCompleto = connection.prepareStatement(sql(linhasPorInsert));
+            }
+            executar(insertCompleto, quantidade);
+        } else {
+            try (PreparedStatement parcial = connection.prepareStatement(sql(quantidade))) {
+                executar(parcial, quantidade);
+            }
+        }
+        maiorIdGravado = Math.max(maiorIdGravado, id(quantidade - 1));
+        System.arraycopy(buffer, quantidade * colunas.length, buffer, 0, (linhas - quantidade) * colunas.length);
+        linhas -= quantidade;
+        total += quantidade;
+    }
+
+    private void executar(PreparedStatement statement, int quantidade) throws SQLException {
+        int valores = quantidade * colunas.length;
+        for (int i = 0; i < valores; i++) {
+            statement.setObject(i + 1, buffer[i]);
+        }
+        statement.executeUpdate();
+    }
+
+    private String sql(int quantidade) {
+        String linha = "(" + "?, ".repeat(colunas.length - 1) + "?)";
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(tabela)
+            .append(" (").append(String.join(", ", colunas)).append(") VALUES ");
+        for (int i = 0; i < quantidade; i++) {
+            sql.append(i > 0 ? ", " : "").append(linha);
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,98 @@
+package com.senac.pizzademo.seed;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Gera um catálogo sintético com distribuições parecidas com as de produção.
+ *
+ * - sabores sorteados de uma lista base com distribuição de Zipf;
+ * - de 5 a 15 ingredientes distintos por pizza, também com Zipf (os mais comuns
+ *   aparecem em quase todas as pizzas);
+ * - 3 ou 4 tamanhos por pizza, com preço derivado do sabor e do tamanho.
+ *
+ * A mesma semente sempre gera exatamente o mesmo catálogo.
+ */
+public class CatalogGenerator {
+
+    /**
+     * Recebe as linhas geradas. Os ingredientes e preços de uma pizza são sempre
+     * entregues depois da própria pizza.
+     */
+    public interface Sink {
+        void pizza(long id, String sabor);
+
+        void ingrediente(long pizzaId, String ingrediente, String quantidade);
+
+        void preco(long pizzaId, float valor, String tamanho);
+    }
+
+    static final String[] SABORES = {
+        "Mussarela", "Calabresa", "Portuguesa", "Frango com Catupiry", "Marguerita", "Quatro Queijos",
+        "Napolitana", "Atum", "Bacon", "Pepperoni", "Palmito", "Toscana", "Lombo", "Vegetariana",
+        "Brócolis", "Escarola", "Caipira", "Rúcula com Tomate Seco", "Carne Seca", "Baiana",
+        "Siciliana", "Moda da Casa", "Alho e Óleo", "Aliche", "Camarão", "Strogonoff", "Milho",
+        "Chocolate", "Banana com Canela", "Romeu e Julieta"
+    };
+
+    static final String[] INGREDIENTES = {
+        "Mussarela", "Molho de tomate", "Orégano", "Azeitona", "Cebola", "Tomate", "Calabresa",
+        "Presunto", "Ovo", "Ervilha", "Catupiry", "Frango", "Bacon", "Milho", "Palmito", "Parmesão",
+        "Provolone", "Gorgonzola", "Manjericão", "Pimentão", "Champignon", "Atum", "Lombo", "Alho",
+        "Rúcula", "Tomate seco", "Brócolis", "Escarola", "Pepperoni", "Carne seca", "Aliche",
+        "Camarão", "Requeijão", "Cheddar", "Pimenta calabresa", "Abobrinha", "Berinjela", "Alcaparra",
+        "Chocolate", "Banana", "Canela", "Goiabada", "Azeite", "Salame", "Peito de peru"
+    };
+
+    static final String[] TAMANHOS = {"Broto", "Média", "Grande", "Gigante"};
+    private static final float[] FATOR_TAMANHO = {0.6f, 0.85f, 1.0f, 1.3f};
+
+    private final long semente;
+    private final ZipfSampler sabores;
+    private final ZipfSampler ingredientes;
+
+    public CatalogGenerator(long semente, double skew) {
+        this.semente = semente;
+        this.sabores = new ZipfSampler(SABORES.length, skew);
+        this.ingredientes = new ZipfSampler(INGREDIENTES.length, skew);
+    }
+
+    /**
+     * Gera {@code quantidade} pizzas com ids a partir de {@code primeiroId}.
+     */
+    public void generate(long primeiroId, long quantidade, Sink sink) {
+        SplittableRandom random = new SplittableRandom(semente);
+        boolean[] usados = new boolean[INGREDIENTES.length];
+        for (long n = 0; n < quantidade; n++) {
+            long id = primeiroId + n;
+            int sabor = sabores.next(random);
+            sink.pizza(id, SABORES[sabor] + " " + (n + 1));
+
+            int totalIngredientes = 5 + random.nextInt(11);
+            Arrays.fill(usados, false);
+            for (int i = 0; i < totalIngredientes; ) {
+                int ingrediente = ingredientes.next(random);
+                if (usados[ingrediente]) {
+                    // Evita laço longo com skew alto: cai para um ingrediente uniforme
+                    ingrediente = random.nextInt(INGREDIENTES.length);
+                    if (usados[ingrediente]) {
+                        continue;
+                    }
+                }
+                usados[ingrediente] = true;
+                sink.ingrediente(id, INGREDIENTES[ingrediente], (20 + random.nextInt(19) * 10) + "g");
+                i++;
+            }
+
+            // Preço base entre 29,90 e 69,90, um pouco mais caro para os sabores menos comuns
+            float base = 29.9f + random.nextInt(30) + sabor;
+            int primeiroTamanho = random.nextInt(4) == 0 ? 0 : 1;
+            int totalTamanhos = 3 + random.nextInt(2);
+            for (int t = 0; t < totalTamanhos && primeiroTamanho + t < TAMANHOS.length; t++) {
+                int tamanho = primeiroTamanho + t;
+                float valor = (float) Math.floor(base * FATOR_TAMANHO[tamanho]) + 0.9f;
+                sink.preco(id, valor, TAMANHOS[tamanho]);
+            }
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.senac.pizzademo.seed;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carrega um catálogo sintético direto no banco, via JDBC, para testes de desempenho.
+ *
+ * Ativado pelo profile "seed" (ver application-seed.properties), que sobe a aplicação
+ * sem servidor web, grava os dados e termina. Exemplo com 1 milhão de pizzas
+ * (~10 milhões de ingredientes e ~3,3 milhões de preços):
+ *
+ *   java -jar app.jar --spring.profiles.active=seed --pizzademo.seed.pizzas=1000000
+ *
+ * As pizzas recebem ids a partir do maior id existente, então a carga pode ser repetida
+ * sobre um banco já populado.
+ */
+@Component
+@Profile("seed")
+public class CatalogSeeder implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSeeder.class);
+
+    private final DataSource dataSource;
+    private final long pizzas;
+    private final long semente;
+    private final double skew;
+    private final int linhasPorInsert;
+    private final int insertsPorCommit;
+
+    public CatalogSeeder(DataSource dataSource,
+                         @Value("${pizzademo.seed.pizzas:10000}") long pizzas,
+                         @Value("${pizzademo.seed.seed:42}") long semente,
+                         @Value("${pizzademo.seed.skew:1.0}") double skew,
+                         @Value("${pizzademo.seed.rows-per-insert:500}") int linhasPorInsert,
+                         @Value("${pizzademo.seed.inserts-per-commit:20}") int insertsPorCommit) {
+        this.dataSource = dataSource;
+        this.pizzas = pizzas;
+        this.semente = semente;
+        this.skew = skew;
+        this.linhasPorInsert = linhasPorInsert;
+        this.insertsPorCommit = insertsPorCommit;
+    }
+
+    @Override
+    public void run(String... args) throws SQLException {
+        long inicio = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            long primeiroId = maiorId(connection) + 1;
+            logger.info("Gerando {} pizzas a partir do id {} (semente={}, skew={})", pizzas, primeiroId, semente, skew);
+
+            SeedSink sink = new SeedSink(connection, catalogoDeIngredientes(connection));
+            try {
+                new CatalogGenerator(semente, skew).generate(primeiroId, pizzas, sink);
+                sink.flush();
+                connection.commit();
+            } catch (RuntimeException | SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                sink.close();
+            }
+            ajustarIdentidade(connection, primeiroId + pizzas);
+            historicoDePrecos(connection, primeiroId, primeiroId + pizzas);
+            avisarInstancias(connection);
+
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            long linhas = sink.pizzas.total() + sink.ingredientes.total() + sink.precos.total();
+            logger.info("Carga concluída: {} pizzas, {} ingredientes, {} preços em {} s ({} linhas/s)",
+                sink.pizzas.total(), sink.ingredientes.total(), sink.precos.total(),
+                String.format("%.1f", segundos), (long) (linhas / segundos));
+        }
+    }
+
+    private static long maiorId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM pizza")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Garante que todos os ingredientes do gerador existam no catálogo (tabela ingrediente)
+     * e devolve o id de cada um, para que as receitas sejam gravadas só com o ingrediente_id.
+     */
+    private static Map<String, Long> catalogoDeIngredientes(Connection connection) throws SQLException {
+        Map<String, Long> ids = new HashMap<>();
+        try (PreparedStatement select = connection.prepareStatement("SELECT id FROM ingrediente WHERE nome = ?");
+             PreparedStatement insert = connection.prepareStatement("INSERT INTO ingrediente (nome) VALUES (?)")) {
+            for (String nome : CatalogGenerator.INGREDIENTES) {
+                select.setString(1, nome);
+                try (ResultSet rs = select.executeQuery()) {
+                    if (!rs.next()) {
+                        insert.setString(1, nome);
+                        insert.executeUpdate();
+                    }
+                }
+                try (ResultSet rs = select.executeQuery()) {
+                    rs.next();
+                    ids.put(nome, rs.getLong(1));
+                }
+            }
+        }
+        connection.commit();
+        return ids;
+    }
+
+    /**
+     * Os preços gravados via JDBC não passam pelo listener do histórico; entram aqui, em
+     * blocos de pizzas com um commit por bloco, vigentes a partir da carga.
+     */
+    private void historicoDePrecos(Connection connection, long primeiroId, long fimId) throws SQLException {
+        long bloco = (long) linhasPorInsert * insertsPorCommit;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO preco_historico (cardapio_id, pizza_id, tamanho, valor, vigente_desde) "
+                    + "SELECT id, pizza_id, tamanho, ROUND(valor, 2), CURRENT_TIMESTAMP(3) FROM cardapio "
+                    + "WHERE pizza_id >= ? AND pizza_id < ?")) {
+            for (long inicio = primeiroId; inicio < fimId; inicio += bloco) {
+                insert.setLong(1, inicio);
+                insert.setLong(2, Math.min(inicio + bloco, fimId));
+                insert.executeUpdate();
+                connection.commit();
+            }
+        }
+    }
+
+    /**
+     * A carga não passa pelo JPA, então incrementa aqui as versões do catálogo para que
+     * as instâncias em execução invalidem seus caches (ver CatalogVersionPoller).
+     */
+    private static void avisarInstancias(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE catalog_version SET versao = versao + 1");
+        }
+        connection.commit();
+    }
+
+    /**
+     * O MySQL avança o AUTO_INCREMENT sozinho ao receber ids explícitos; o H2 não,
+     * então a identidade é reiniciada depois do último id gravado.
+     */
+    private static void ajustarIdentidade(Connection connection, long proximoId) throws SQLException {
+        if (connection.getMetaData().getDatabaseProductName().startsWith("H2")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER TABLE pizza ALTER COLUMN id RESTART WITH " + proximoId);
+            }
+            connection.commit();
+        }
+    }
+
+    /**
+     * Recebe as linhas do gerador e as distribui entre os inserters de cada tabela,
+     * fazendo commit a cada {@code insertsPorCommit} INSERTs de pizzas.
+     */
+    private class SeedSink implements CatalogGenerator.Sink {
+        private final Connection connection;
+        private final BulkInserter pizzas;
+        private final BulkInserter ingredientes;
+        private final BulkInserter precos;
+        private final Map<String, Long> idsIngredientes;
+
+        SeedSink(Connection connection, Map<String, Long> idsIngredientes) {
+            this.connection = connection;
+            this.idsIngredientes = idsIngredientes;
+            this.pizzas = new BulkInserter(connection, "pizza", new String[] {"id", "sabor"}, linhasPorInsert, null);
+            this.ingredientes = new BulkInserter(connection, "ingredientes",
+                new String[] {"pizza_id", "ingrediente_id", "quantidade"}, linhasPorInsert, pizzas);
+            this.precos = new BulkInserter(connection, "cardapio",
+                new String[] {"pizza_id", "valor", "tamanho"}, linhasPorInsert, pizzas);
+        }
+
+        @Override
+        public void pizza(long id, String sabor) {
+            executar(() -> {
+                pizzas.add(id, sabor);
+                long gravadas = id % ((long) linhasPorInsert * insertsPorCommit);
+                if (gravadas == 0) {
+                    flush();
+                    connection.commit();
+                }
+            });
+        }
+
+        @Override
+        public void ingrediente(long pizzaId, String ingrediente, String quantidade) {
+            executar(() -> ingredientes.add(pizzaId, idsIngredientes.get(ingrediente), quantidade));
+        }
+
+        @Override
+        public void preco(long pizzaId, float valor, String tamanho) {
+            executar(() -> precos.add(pizzaId, valor, tamanho));
+        }
+
+        void flush() throws SQLException {
+            pizzas.flush();
+            ingredientes.flush();
+            precos.flush();
+        }
+
+        void close() throws SQLException {
+            pizzas.close();
+            ingredientes.close();
+            precos.close();
+        }
+
+        private void executar(SqlAction action) {
+            try {
+                action.run();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface SqlAction {
+        void run() throws SQLException;
+    }
+}
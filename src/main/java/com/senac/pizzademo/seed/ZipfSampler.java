@@ -0,0 +1,31 @@
+package com.senac.pizzademo.seed;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Sorteia índices em [0, n) seguindo uma distribuição de Zipf com expoente {@code skew}.
+ *
+ * Com skew = 0 a distribuição é uniforme; quanto maior o skew, mais os primeiros
+ * índices concentram as escolhas (ex.: "Mussarela" aparece em quase toda pizza).
+ */
+class ZipfSampler {
+    private final double[] acumulada;
+
+    ZipfSampler(int n, double skew) {
+        acumulada = new double[n];
+        double soma = 0;
+        for (int i = 0; i < n; i++) {
+            soma += 1.0 / Math.pow(i + 1, skew);
+            acumulada[i] = soma;
+        }
+        for (int i = 0; i < n; i++) {
+            acumulada[i] /= soma;
+        }
+    }
+
+    int next(SplittableRandom random) {
+        int i = Arrays.binarySearch(acumulada, random.nextDouble());
+        return Math.min(i >= 0 ? i : -i - 1, acumulada.length - 1);
+    }
+}
@@ -0,0 +1,28 @@
+package com.senac.pizzademo.serialization;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.senac.pizzademo.model.Cardapio;
+import com.senac.pizzademo.model.Ingredientes;
+import com.senac.pizzademo.model.Pizza;
+
+/**
+ * Registra os serializadores e desserializadores escritos à mão de Pizza, Cardapio e
+ * Ingredientes ({@link CatalogJsonSerializers}, {@link CatalogJsonDeserializers}).
+ *
+ * Registrado como bean em SerializationConfig: o Spring Boot o aplica ao ObjectMapper do JSON
+ * e aos de CBOR e Smile, que saem do mesmo Jackson2ObjectMapperBuilder. Ao alterar os campos
+ * das entidades, estas classes precisam acompanhar; o CatalogJacksonModuleTest compara a
+ * saída com a do Jackson por reflexão.
+ */
+public class CatalogJacksonModule extends SimpleModule {
+
+    public CatalogJacksonModule() {
+        super("CatalogJacksonModule");
+        addSerializer(Pizza.class, new CatalogJsonSerializers.PizzaSerializer());
+        addSerializer(Ingredientes.class, new CatalogJsonSerializers.IngredientesSerializer());
+        addSerializer(Cardapio.class, new CatalogJsonSerializers.CardapioSerializer());
+        addDeserializer(Pizza.class, new CatalogJsonDeserializers.PizzaDeserializer());
+        addDeserializer(Ingredientes.class, new CatalogJsonDeserializers.IngredientesDeserializer());
+        addDeserializer(Cardapio.class, new CatalogJsonDeserializers.CardapioDeserializer());
+    }
+}
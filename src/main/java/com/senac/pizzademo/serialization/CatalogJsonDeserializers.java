@@ -0,0 +1,182 @@
+package com.senac.pizzademo.serialization;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.senac.pizzademo.model.Cardapio;
+import com.senac.pizzademo.model.Ingredientes;
+import com.senac.pizzademo.model.Pizza;
+
+/**
+ * Desserializadores do catálogo escritos à mão, registrados pelo {@link CatalogJacksonModule}.
+ *
+ * Leem os campos conhecidos direto do JsonParser e ignoram os demais, como o Jackson com
+ * FAIL_ON_UNKNOWN_PROPERTIES desligado (o padrão do Spring Boot). Os itens de ingredientes e
+ * cardapio recebem a pizza que os contém, como fazia o @JsonManagedReference, e o campo pizza
+ * dos itens é ignorado. Valores em outro formato (ex.: número como texto) passam pelos
+ * desserializadores padrão do Jackson, com as mesmas regras de conversão e os mesmos erros.
+ */
+public final class CatalogJsonDeserializers {
+
+    private CatalogJsonDeserializers() {}
+
+    static Pizza lerPizza(JsonParser p, DeserializationContext ctxt) throws IOException {
+        Pizza pizza = new Pizza();
+        for (String campo = primeiroCampo(p, ctxt, Pizza.class); campo != null; campo = p.nextFieldName()) {
+            p.nextToken();
+            switch (campo) {
+                case "id" -> pizza.setId(lerLong(p, ctxt));
+                case "sabor" -> pizza.setSabor(lerTexto(p, ctxt));
+                case "ingredientes" -> pizza.setIngredientes(lerIngredientes(p, ctxt, pizza));
+                case "cardapio" -> pizza.setCardapio(lerCardapio(p, ctxt, pizza));
+                default -> p.skipChildren();
+            }
+        }
+        return pizza;
+    }
+
+    static Ingredientes lerIngrediente(JsonParser p, DeserializationContext ctxt) throws IOException {
+        Ingredientes ingrediente = new Ingredientes();
+        for (String campo = primeiroCampo(p, ctxt, Ingredientes.class); campo != null; campo = p.nextFieldName()) {
+            p.nextToken();
+            switch (campo) {
+                case "id" -> ingrediente.setId(lerLong(p, ctxt));
+                case "ingrediente" -> ingrediente.setIngrediente(lerTexto(p, ctxt));
+                case "quantidade" -> ingrediente.setQuantidade(lerTexto(p, ctxt));
+                default -> p.skipChildren();
+            }
+        }
+        return ingrediente;
+    }
+
+    static Cardapio lerItemCardapio(JsonParser p, DeserializationContext ctxt) throws IOException {
+        Cardapio item = new Cardapio();
+        for (String campo = primeiroCampo(p, ctxt, Cardapio.class); campo != null; campo = p.nextFieldName()) {
+            p.nextToken();
+            switch (campo) {
+                case "id" -> item.setId(lerLong(p, ctxt));
+                case "valor" -> item.setValor(lerFloat(p, ctxt));
+                case "tamanho" -> item.setTamanho(lerTexto(p, ctxt));
+                default -> p.skipChildren();
+            }
+        }
+        return item;
+    }
+
+    private static Set<Ingredientes> lerIngredientes(JsonParser p, DeserializationContext ctxt, Pizza pizza) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            return ctxt.readValue(p, ctxt.getTypeFactory().constructCollectionType(Set.class, Ingredientes.class));
+        }
+        Set<Ingredientes> ingredientes = new HashSet<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            Ingredientes ingrediente = p.currentToken() == JsonToken.VALUE_NULL ? null : lerIngrediente(p, ctxt);
+            if (ingrediente != null) {
+                ingrediente.setPizza(pizza);
+            }
+            ingredientes.add(ingrediente);
+        }
+        return ingredientes;
+    }
+
+    private static Set<Cardapio> lerCardapio(JsonParser p, DeserializationContext ctxt, Pizza pizza) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            return ctxt.readValue(p, ctxt.getTypeFactory().constructCollectionType(Set.class, Cardapio.class));
+        }
+        Set<Cardapio> cardapio = new HashSet<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            Cardapio item = p.currentToken() == JsonToken.VALUE_NULL ? null : lerItemCardapio(p, ctxt);
+            if (item != null) {
+                item.setPizza(pizza);
+            }
+            cardapio.add(item);
+        }
+        return cardapio;
+    }
+
+    /**
+     * Nome do primeiro campo do objeto, ou null se o objeto for vazio. O parser pode estar no
+     * início do objeto ou, em alguns caminhos do Jackson (ex.: tipos com buffer), já no primeiro campo.
+     */
+    private static String primeiroCampo(JsonParser p, DeserializationContext ctxt, Class<?> tipo) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            return p.nextFieldName();
+        }
+        if (token == JsonToken.FIELD_NAME) {
+            return p.currentName();
+        }
+        if (token == JsonToken.END_OBJECT) {
+            return null;
+        }
+        ctxt.handleUnexpectedToken(tipo, p);
+        return null;
+    }
+
+    private static Long lerLong(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return switch (p.currentToken()) {
+            case VALUE_NUMBER_INT -> p.getLongValue();
+            case VALUE_NULL -> null;
+            default -> ctxt.readValue(p, Long.class);
+        };
+    }
+
+    private static Float lerFloat(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return switch (p.currentToken()) {
+            case VALUE_NUMBER_FLOAT, VALUE_NUMBER_INT -> p.getFloatValue();
+            case VALUE_NULL -> null;
+            default -> ctxt.readValue(p, Float.class);
+        };
+    }
+
+    private static String lerTexto(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return switch (p.currentToken()) {
+            case VALUE_STRING -> p.getText();
+            case VALUE_NULL -> null;
+            default -> ctxt.readValue(p, String.class);
+        };
+    }
+
+    static final class PizzaDeserializer extends StdDeserializer<Pizza> {
+        PizzaDeserializer() {
+            super(Pizza.class);
+        }
+
+        @Override
+        public Pizza deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return lerPizza(p, ctxt);
+        }
+    }
+
+    static final class IngredientesDeserializer extends StdDeserializer<Ingredientes> {
+        IngredientesDeserializer() {
+            super(Ingredientes.class);
+        }
+
+        @Override
+        public Ingredientes deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return lerIngrediente(p, ctxt);
+        }
+    }
+
+    static final class CardapioDeserializer extends StdDeserializer<Cardapio> {
+        CardapioDeserializer() {
+            super(Cardapio.class);
+        }
+
+        @Override
+        public Cardapio deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return lerItemCardapio(p, ctxt);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.senac.pizzademo.serialization;
+
+import java.io.IOException;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.senac.pizzademo.model.Cardapio;
+import com.senac.pizzademo.model.Ingredientes;
+import com.senac.pizzademo.model.Pizza;
+
+/**
+ * Serializadores do catálogo escritos à mão, registrados pelo {@link CatalogJacksonModule}.
+ *
+ * Escrevem direto no JsonGenerator (JSON, CBOR ou Smile), sem a introspecção e as chamadas
+ * por reflexão do BeanSerializer, sem a contabilidade de @JsonManagedReference e sem procurar
+ * um serializador por coleção e por item. Os nomes dos campos são pré-codificados.
+ *
+ * A saída é a mesma do Jackson por reflexão, campo a campo e na mesma ordem (na Pizza, o
+ * sabor vem por último, porque o Jackson o descobre pelo getter), com nulos incluídos.
+ * As referências de volta para a pizza ficam de fora. Proxies do Hibernate passam pelos
+ * getters, que os inicializam.
+ */
+public final class CatalogJsonSerializers {
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString SABOR = new SerializedString("sabor");
+    private static final SerializableString INGREDIENTES = new SerializedString("ingredientes");
+    private static final SerializableString CARDAPIO = new SerializedString("cardapio");
+    private static final SerializableString INGREDIENTE = new SerializedString("ingrediente");
+    private static final SerializableString QUANTIDADE = new SerializedString("quantidade");
+    private static final SerializableString VALOR = new SerializedString("valor");
+    private static final SerializableString TAMANHO = new SerializedString("tamanho");
+
+    private CatalogJsonSerializers() {}
+
+    static void escreverPizza(Pizza pizza, JsonGenerator gen) throws IOException {
+        gen.writeStartObject(pizza);
+        gen.writeFieldName(ID);
+        escreverLong(gen, pizza.getId());
+        gen.writeFieldName(INGREDIENTES);
+        escreverIngredientes(pizza.getIngredientes(), gen);
+        gen.writeFieldName(CARDAPIO);
+        escreverCardapio(pizza.getCardapio(), gen);
+        gen.writeFieldName(SABOR);
+        escreverTexto(gen, pizza.getSabor());
+        gen.writeEndObject();
+    }
+
+    // Cada laço fica num método pequeno, como no CollectionSerializer do Jackson: dentro de um
+    // escreverPizza grande demais para o inlining, o JIT nem sempre elimina o iterador do Set
+    private static void escreverIngredientes(Set<Ingredientes> ingredientes, JsonGenerator gen) throws IOException {
+        if (ingredientes == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray(ingredientes, ingredientes.size());
+        for (Ingredientes ingrediente : ingredientes) {
+            escreverIngrediente(ingrediente, gen);
+        }
+        gen.writeEndArray();
+    }
+
+    private static void escreverCardapio(Set<Cardapio> cardapio, JsonGenerator gen) throws IOException {
+        if (cardapio == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray(cardapio, cardapio.size());
+        for (Cardapio item : cardapio) {
+            escreverCardapio(item, gen);
+        }
+        gen.writeEndArray();
+    }
+
+    static void escreverIngrediente(Ingredientes ingrediente, JsonGenerator gen) throws IOException {
+        if (ingrediente == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject(ingrediente);
+        gen.writeFieldName(ID);
+        escreverLong(gen, ingrediente.getId());
+        gen.writeFieldName(INGREDIENTE);
+        escreverTexto(gen, ingrediente.getIngrediente());
+        gen.writeFieldName(QUANTIDADE);
+        escreverTexto(gen, ingrediente.getQuantidade());
+        gen.writeEndObject();
+    }
+
+    static void escreverCardapio(Cardapio item, JsonGenerator gen) throws IOException {
+        if (item == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject(item);
+        gen.writeFieldName(ID);
+        escreverLong(gen, item.getId());
+        gen.writeFieldName(VALOR);
+        if (item.getValor() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(item.getValor());
+        }
+        gen.writeFieldName(TAMANHO);
+        escreverTexto(gen, item.getTamanho());
+        gen.writeEndObject();
+    }
+
+    private static void escreverLong(JsonGenerator gen, Long valor) throws IOException {
+        if (valor == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(valor);
+        }
+    }
+
+    private static void escreverTexto(JsonGenerator gen, String valor) throws IOException {
+        if (valor == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(valor);
+        }
+    }
+
+    static final class PizzaSerializer extends StdSerializer<Pizza> {
+        PizzaSerializer() {
+            super(Pizza.class);
+        }
+
+        @Override
+        public void serialize(Pizza pizza, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            escreverPizza(pizza, gen);
+        }
+    }
+
+    static final class IngredientesSerializer extends StdSerializer<Ingredientes> {
+        IngredientesSerializer() {
+            super(Ingredientes.class);
+        }
+
+        @Override
+        public void serialize(Ingredientes ingrediente, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            escreverIngrediente(ingrediente, gen);
+        }
+    }
+
+    static final class CardapioSerializer extends StdSerializer<Cardapio> {
+        CardapioSerializer() {
+            super(Cardapio.class);
+        }
+
+        @Override
+        public void serialize(Cardapio item, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            escreverCardapio(item, gen);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.senac.pizzademo.serialization;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import com.senac.pizzademo.model.Cardapio;
+import com.senac.pizzademo.model.Pizza;
+
+/**
+ * Converter que responde as listagens do catálogo em application/x-protobuf.
+ *
+ * Somente escrita: List&lt;Pizza&gt; vira PizzaList e List&lt;Cardapio&gt; vira CardapioList.
+ * Para enviar dados em formato binário, use application/cbor ou application/x-jackson-smile.
+ */
+public class CatalogProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    public CatalogProtobufHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(@Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        Class<?> elemento = tipoDoElemento(type);
+        return (elemento == Pizza.class || elemento == Cardapio.class) && canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        // Sem o tipo genérico não dá para saber se é uma lista do catálogo
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object t, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (tipoDoElemento(type) == Pizza.class) {
+            CatalogProtobufWriter.writePizzas((List<Pizza>) t, outputMessage.getBody());
+        } else {
+            CatalogProtobufWriter.writeCardapio((List<Cardapio>) t, outputMessage.getBody());
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Leitura em Protobuf não suportada", inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Leitura em Protobuf não suportada", inputMessage);
+    }
+
+    private static Class<?> tipoDoElemento(@Nullable Type type) {
+        if (type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && List.class.isAssignableFrom(raw)
+                && parameterized.getActualTypeArguments()[0] instanceof Class<?> elemento) {
+            return elemento;
+        }
+        return null;
+    }
+}
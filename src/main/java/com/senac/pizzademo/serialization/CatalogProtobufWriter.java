@@ -0,0 +1,147 @@
+package com.senac.pizzademo.serialization;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import com.senac.pizzademo.model.Cardapio;
+import com.senac.pizzademo.model.Ingredientes;
+import com.senac.pizzademo.model.Pizza;
+
+/**
+ * Codifica o catálogo no formato Protobuf descrito em src/main/proto/catalog.proto.
+ *
+ * A codificação é feita à mão com CodedOutputStream, sem classes geradas pelo protoc,
+ * para não depender do binário do protoc no build (a imagem de build é alpine).
+ * Campos nulos são omitidos, como os valores padrão do proto3.
+ */
+public final class CatalogProtobufWriter {
+
+    private CatalogProtobufWriter() {}
+
+    /**
+     * Escreve uma mensagem PizzaList.
+     */
+    public static void writePizzas(List<Pizza> pizzas, OutputStream out) throws IOException {
+        CodedOutputStream cos = CodedOutputStream.newInstance(out);
+        for (Pizza pizza : pizzas) {
+            writeNested(cos, 1, pizzaSize(pizza));
+            writePizza(cos, pizza);
+        }
+        cos.flush();
+    }
+
+    /**
+     * Escreve uma mensagem CardapioList.
+     */
+    public static void writeCardapio(List<Cardapio> itens, OutputStream out) throws IOException {
+        CodedOutputStream cos = CodedOutputStream.newInstance(out);
+        for (Cardapio item : itens) {
+            writeNested(cos, 1, cardapioSize(item));
+            writeCardapio(cos, item);
+        }
+        cos.flush();
+    }
+
+    private static void writeNested(CodedOutputStream cos, int field, int size) throws IOException {
+        cos.writeTag(field, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        cos.writeUInt32NoTag(size);
+    }
+
+    private static int nestedSize(int field, int size) {
+        return CodedOutputStream.computeTagSize(field) + CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+    }
+
+    private static void writePizza(CodedOutputStream cos, Pizza pizza) throws IOException {
+        if (pizza.getId() != null) {
+            cos.writeInt64(1, pizza.getId());
+        }
+        if (pizza.getSabor() != null) {
+            cos.writeString(2, pizza.getSabor());
+        }
+        for (Ingredientes ingrediente : naoNulo(pizza.getIngredientes())) {
+            writeNested(cos, 3, ingredienteSize(ingrediente));
+            writeIngrediente(cos, ingrediente);
+        }
+        for (Cardapio item : naoNulo(pizza.getCardapio())) {
+            writeNested(cos, 4, cardapioSize(item));
+            writeCardapio(cos, item);
+        }
+    }
+
+    private static int pizzaSize(Pizza pizza) {
+        int size = 0;
+        if (pizza.getId() != null) {
+            size += CodedOutputStream.computeInt64Size(1, pizza.getId());
+        }
+        if (pizza.getSabor() != null) {
+            size += CodedOutputStream.computeStringSize(2, pizza.getSabor());
+        }
+        for (Ingredientes ingrediente : naoNulo(pizza.getIngredientes())) {
+            size += nestedSize(3, ingredienteSize(ingrediente));
+        }
+        for (Cardapio item : naoNulo(pizza.getCardapio())) {
+            size += nestedSize(4, cardapioSize(item));
+        }
+        return size;
+    }
+
+    private static void writeIngrediente(CodedOutputStream cos, Ingredientes ingrediente) throws IOException {
+        if (ingrediente.getId() != null) {
+            cos.writeInt64(1, ingrediente.getId());
+        }
+        if (ingrediente.getIngrediente() != null) {
+            cos.writeString(2, ingrediente.getIngrediente());
+        }
+        if (ingrediente.getQuantidade() != null) {
+            cos.writeString(3, ingrediente.getQuantidade());
+        }
+    }
+
+    private static int ingredienteSize(Ingredientes ingrediente) {
+        int size = 0;
+        if (ingrediente.getId() != null) {
+            size += CodedOutputStream.computeInt64Size(1, ingrediente.getId());
+        }
+        if (ingrediente.getIngrediente() != null) {
+            size += CodedOutputStream.computeStringSize(2, ingrediente.getIngrediente());
+        }
+        if (ingrediente.getQuantidade() != null) {
+            size += CodedOutputStream.computeStringSize(3, ingrediente.getQuantidade());
+        }
+        return size;
+    }
+
+    private static void writeCardapio(CodedOutputStream cos, Cardapio item) throws IOException {
+        if (item.getId() != null) {
+            cos.writeInt64(1, item.getId());
+        }
+        if (item.getValor() != null) {
+            cos.writeFloat(2, item.getValor());
+        }
+        if (item.getTamanho() != null) {
+            cos.writeString(3, item.getTamanho());
+        }
+    }
+
+    private static int cardapioSize(Cardapio item) {
+        int size = 0;
+        if (item.getId() != null) {
+            size += CodedOutputStream.computeInt64Size(1, item.getId());
+        }
+        if (item.getValor() != null) {
+            size += CodedOutputStream.computeFloatSize(2, item.getValor());
+        }
+        if (item.getTamanho() != null) {
+            size += CodedOutputStream.computeStringSize(3, item.getTamanho());
+        }
+        return size;
+    }
+
+    private static <T> Collection<T> naoNulo(Collection<T> colecao) {
+        return colecao == null ? List.of() : colecao;
+    }
+}
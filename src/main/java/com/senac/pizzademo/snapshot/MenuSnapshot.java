@@ -0,0 +1,12 @@
+package com.senac.pizzademo.snapshot;
+
+/**
+ * Versão já serializada de uma listagem do catálogo (GET /pizza ou GET /cardapio).
+ *
+ * @param versao Versão do catálogo usada para montar o snapshot.
+ * @param etag ETag forte calculada sobre o JSON.
+ * @param json Corpo da resposta em JSON, sem compressão.
+ * @param gzip O mesmo corpo já comprimido com gzip.
+ */
+public record MenuSnapshot(long versao, String etag, byte[] json, byte[] gzip) {
+}
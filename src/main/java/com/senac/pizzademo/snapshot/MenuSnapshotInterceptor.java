@@ -0,0 +1,93 @@
+package com.senac.pizzademo.snapshot;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Responde GET /pizza e GET /cardapio diretamente com os bytes do snapshot,
+ * sem passar pelo controller, pelo Hibernate nem pelo Jackson.
+ *
+ * Requisições com query string ou que pedem outro formato que não JSON seguem
+ * normalmente para o controller. Roda depois do CORS e do filtro JWT.
+ *
+ * Com o disjuntor do banco aberto, um snapshot desatualizado é servido com o header
+ * Warning: 110, em vez de a requisição seguir para um controller que só responderia 503.
+ */
+@Component
+public class MenuSnapshotInterceptor implements HandlerInterceptor {
+
+    private final MenuSnapshotService menuSnapshotService;
+
+    public MenuSnapshotInterceptor(MenuSnapshotService menuSnapshotService) {
+        this.menuSnapshotService = menuSnapshotService;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) throws IOException {
+        if (!"GET".equals(request.getMethod()) || request.getQueryString() != null || !aceitaJson(request)) {
+            return true;
+        }
+        Optional<MenuSnapshot> snapshot = menuSnapshotService.get(request.getRequestURI());
+        if (snapshot.isEmpty()) {
+            snapshot = menuSnapshotService.getDesatualizado(request.getRequestURI());
+            if (snapshot.isEmpty()) {
+                return true;
+            }
+            response.setHeader("Warning", "110 - \"Response is Stale\"");
+        }
+        servir(snapshot.get(), request, response);
+        return false;
+    }
+
+    private void servir(MenuSnapshot snapshot, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, snapshot.etag());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (snapshot.etag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        byte[] corpo = snapshot.json();
+        if (aceitaGzip(request)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            corpo = snapshot.gzip();
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(corpo.length);
+        response.getOutputStream().write(corpo);
+    }
+
+    private static boolean aceitaJson(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.contains(MediaType.APPLICATION_JSON_VALUE)) {
+            return true;
+        }
+        // Quem pede um formato binário (CBOR, Smile, Protobuf) é atendido pelo controller
+        return accept.contains("*/*") && !accept.contains("cbor") && !accept.contains("smile") && !accept.contains("protobuf");
+    }
+
+    private static boolean aceitaGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String item : acceptEncoding.split(",")) {
+            String[] partes = item.trim().split(";");
+            if (partes[0].trim().equalsIgnoreCase("gzip")) {
+                return partes.length < 2 || !partes[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,224 @@
+package com.senac.pizzademo.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senac.pizzademo.catalog.CatalogChangedEvent;
+import com.senac.pizzademo.catalog.CatalogVersions;
+import com.senac.pizzademo.repository.CardapioRepository;
+import com.senac.pizzademo.repository.PizzaRepository;
+import com.senac.pizzademo.resilience.DatabaseCircuitBreaker;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Mantém as listagens do catálogo já serializadas (e comprimidas) em memória.
+ *
+ * O snapshot é montado uma vez por versão do catálogo, em uma thread própria, e
+ * reconstruído depois de cada alteração. Enquanto o snapshot não corresponde à versão
+ * atual, {@link #get(String)} não retorna nada e a requisição segue para o controller,
+ * de modo que um cliente nunca lê uma listagem anterior à sua própria escrita.
+ *
+ * Na inicialização, as listagens podem ser restauradas do arquivo de snapshot do catálogo
+ * (ver WarmStartService), se as versões do catálogo no banco ainda forem as mesmas de
+ * quando foram montadas; nesse caso a primeira montagem não é feita.
+ */
+@Service
+public class MenuSnapshotService {
+    private static final Logger logger = LoggerFactory.getLogger(MenuSnapshotService.class);
+
+    public static final String PIZZAS = "/pizza";
+    public static final String CARDAPIO = "/cardapio";
+
+    private final PizzaRepository pizzaRepository;
+    private final CardapioRepository cardapioRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabaseCircuitBreaker disjuntor;
+    private final CatalogVersions catalogVersions;
+    private final boolean enabled;
+
+    private final AtomicLong versao = new AtomicLong();
+    private final AtomicBoolean agendado = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "menu-snapshot");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicReference<Montagem> montagem = new AtomicReference<>(new Montagem(Map.of(), Map.of()));
+
+    /**
+     * Listagens montadas juntas.
+     *
+     * @param snapshots Por caminho (PIZZAS, CARDAPIO).
+     * @param versoesCatalogo Versões de catalog_version lidas na mesma transação que as listagens.
+     */
+    public record Montagem(Map<String, MenuSnapshot> snapshots, Map<String, Long> versoesCatalogo) {
+    }
+
+    public MenuSnapshotService(PizzaRepository pizzaRepository, CardapioRepository cardapioRepository,
+                               ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                               DatabaseCircuitBreaker disjuntor, CatalogVersions catalogVersions,
+                               @Value("${pizzademo.snapshot.enabled:true}") boolean enabled) {
+        this.pizzaRepository = pizzaRepository;
+        this.cardapioRepository = cardapioRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.disjuntor = disjuntor;
+        this.catalogVersions = catalogVersions;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Retorna o último snapshot montado, mesmo de uma versão anterior, mas só enquanto o
+     * disjuntor do banco estiver aberto: sem banco, a listagem antiga é melhor que um 503.
+     *
+     * @param path PIZZAS ou CARDAPIO.
+     */
+    public Optional<MenuSnapshot> getDesatualizado(String path) {
+        if (disjuntor.estado() != DatabaseCircuitBreaker.Estado.ABERTO) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(montagem.get().snapshots().get(path));
+    }
+
+    /**
+     * Retorna o snapshot do caminho informado, se estiver atualizado.
+     *
+     * @param path PIZZAS ou CARDAPIO.
+     */
+    public Optional<MenuSnapshot> get(String path) {
+        MenuSnapshot snapshot = montagem.get().snapshots().get(path);
+        if (snapshot == null || snapshot.versao() != versao.get()) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * Listagens atuais com as versões do catálogo em que foram montadas, se ambas estiverem
+     * atualizadas.
+     */
+    public Optional<Montagem> atual() {
+        if (get(PIZZAS).isEmpty() || get(CARDAPIO).isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(montagem.get());
+    }
+
+    /**
+     * Instala listagens montadas anteriormente, se as versões do catálogo em que foram
+     * montadas forem as informadas (lidas do banco) e nenhuma listagem tiver sido montada
+     * ainda. Uma alteração local publicada durante a restauração muda a versão local e
+     * invalida as listagens instaladas, como faria com as montadas.
+     *
+     * @return true se as listagens foram instaladas.
+     */
+    public boolean restaurar(Montagem salva, Map<String, Long> versoesDoBanco) {
+        long v = versao.get();
+        if (!enabled || !salva.versoesCatalogo().equals(versoesDoBanco)
+            || !salva.snapshots().containsKey(PIZZAS) || !salva.snapshots().containsKey(CARDAPIO)) {
+            return false;
+        }
+        Map<String, MenuSnapshot> snapshots = new HashMap<>();
+        salva.snapshots().forEach((path, snapshot) ->
+            snapshots.put(path, new MenuSnapshot(v, snapshot.etag(), snapshot.json(), snapshot.gzip())));
+        Montagem vazia = montagem.get();
+        return vazia.snapshots().isEmpty()
+            && montagem.compareAndSet(vazia, new Montagem(Map.copyOf(snapshots), salva.versoesCatalogo()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (atual().isEmpty()) {
+            agendarReconstrucao();
+        }
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        versao.incrementAndGet();
+        agendarReconstrucao();
+    }
+
+    private void agendarReconstrucao() {
+        if (enabled && agendado.compareAndSet(false, true)) {
+            executor.execute(this::reconstruir);
+        }
+    }
+
+    void reconstruir() {
+        // Alterações que chegarem a partir daqui agendam uma nova reconstrução
+        agendado.set(false);
+        long v = versao.get();
+        try {
+            long inicio = System.nanoTime();
+            montagem.set(transactionTemplate.execute(status -> {
+                // Primeira leitura da transação: as listagens saem do mesmo snapshot do banco
+                Map<String, Long> versoes = catalogVersions.ler();
+                return new Montagem(Map.of(
+                    PIZZAS, criar(v, pizzaRepository.findAll()),
+                    CARDAPIO, criar(v, cardapioRepository.findAll())), versoes);
+            }));
+            logger.info("Snapshot do cardápio versão {} montado em {} ms", v, (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao montar snapshot do cardápio versão {}: {}", v, e.getMessage());
+        }
+    }
+
+    private MenuSnapshot criar(long v, List<?> itens) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(itens);
+            return new MenuSnapshot(v, etag(json), json, gzip(json));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] dados) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, dados.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(dados);
+        }
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] dados) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(dados);
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,162 @@
+package com.senac.pizzademo.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Tempos de uma requisição: comandos SQL, validação do JWT e serialização da resposta.
+ *
+ * Fica em um ThreadLocal entre {@link #iniciar()} e {@link #encerrar()}, chamados pelo
+ * {@link ServerTimingFilter}. Os métodos estáticos de registro não fazem nada fora de
+ * uma requisição (ex.: nos workers dos jobs em lote).
+ */
+public final class RequestTiming {
+    private static final ThreadLocal<RequestTiming> ATUAL = new ThreadLocal<>();
+
+    static final int MAX_FORMATOS = 20;
+    private static final int MAX_TAMANHO_FORMATO = 200;
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+    private static final Pattern TEXTO = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERO = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern LISTA = Pattern.compile("\\(\\?(?:, ?\\?)+\\)");
+    private static final Pattern LINHAS = Pattern.compile("\\(\\?\\)(?:, ?\\(\\?\\))+");
+
+    private final long inicio = System.nanoTime();
+    private int sqlQuantidade;
+    private long sqlNanos;
+    private long jwtNanos;
+    private long serializacaoInicio = -1;
+    private long sqlNanosAntesDaSerializacao;
+    private long serializacaoNanos;
+    private final Map<String, Integer> formatos = new LinkedHashMap<>();
+
+    private RequestTiming() {
+    }
+
+    static RequestTiming iniciar() {
+        RequestTiming timing = new RequestTiming();
+        ATUAL.set(timing);
+        return timing;
+    }
+
+    /**
+     * Remove a medição da thread e fecha o intervalo de serialização, se houver.
+     */
+    void encerrar() {
+        ATUAL.remove();
+        if (serializacaoInicio >= 0) {
+            // SQL disparado durante a escrita (carregamento lazy) conta como banco, não como serialização
+            long sqlDuranteSerializacao = sqlNanos - sqlNanosAntesDaSerializacao;
+            serializacaoNanos = Math.max(0, System.nanoTime() - serializacaoInicio - sqlDuranteSerializacao);
+            serializacaoInicio = -1;
+        }
+    }
+
+    static RequestTiming atual() {
+        return ATUAL.get();
+    }
+
+    public static void registrarSql(String sql, long nanos) {
+        RequestTiming timing = ATUAL.get();
+        if (timing == null) {
+            return;
+        }
+        timing.sqlQuantidade++;
+        timing.sqlNanos += nanos;
+        if (sql != null) {
+            String formato = formato(sql);
+            if (timing.formatos.containsKey(formato) || timing.formatos.size() < MAX_FORMATOS) {
+                timing.formatos.merge(formato, 1, Integer::sum);
+            }
+        }
+    }
+
+    public static void registrarJwt(long nanos) {
+        RequestTiming timing = ATUAL.get();
+        if (timing != null) {
+            timing.jwtNanos += nanos;
+        }
+    }
+
+    /**
+     * Marca o início da escrita do corpo da resposta. O fim é o término da requisição.
+     */
+    public static void iniciarSerializacao() {
+        RequestTiming timing = ATUAL.get();
+        if (timing != null && timing.serializacaoInicio < 0) {
+            timing.serializacaoInicio = System.nanoTime();
+            timing.sqlNanosAntesDaSerializacao = timing.sqlNanos;
+        }
+    }
+
+    /**
+     * Reduz um comando SQL ao seu formato: sem literais, com listas de parâmetros e
+     * INSERTs de várias linhas colapsados, para agrupar comandos iguais no log.
+     */
+    static String formato(String sql) {
+        String formato = ESPACOS.matcher(sql.trim()).replaceAll(" ");
+        formato = TEXTO.matcher(formato).replaceAll("?");
+        formato = NUMERO.matcher(formato).replaceAll("?");
+        formato = LISTA.matcher(formato).replaceAll("(?)");
+        formato = LINHAS.matcher(formato).replaceAll("(?), ...");
+        return formato.length() > MAX_TAMANHO_FORMATO ? formato.substring(0, MAX_TAMANHO_FORMATO) + "..." : formato;
+    }
+
+    long inicio() {
+        return inicio;
+    }
+
+    /**
+     * Se o corpo está sendo escrito por um HttpMessageConverter (ver SerializationTimingAdvice).
+     */
+    boolean serializando() {
+        return serializacaoInicio >= 0;
+    }
+
+    int getSqlQuantidade() {
+        return sqlQuantidade;
+    }
+
+    long getSqlNanos() {
+        return sqlNanos;
+    }
+
+    long getJwtNanos() {
+        return jwtNanos;
+    }
+
+    long getSerializacaoNanos() {
+        return serializacaoNanos;
+    }
+
+    Map<String, Integer> getFormatos() {
+        return formatos;
+    }
+
+    /**
+     * Valor do header Server-Timing, ex.:
+     * db;dur=12.4;desc="3 comandos", jwt;dur=0.8, ser;dur=2.1, total;dur=18.0
+     */
+    String serverTiming(long totalNanos) {
+        return "db;dur=" + ms(sqlNanos) + ";desc=\"" + sqlQuantidade + " comandos\""
+            + ", jwt;dur=" + ms(jwtNanos)
+            + ", ser;dur=" + ms(serializacaoNanos)
+            + ", total;dur=" + ms(totalNanos);
+    }
+
+    /**
+     * Valor do header para uma resposta enviada antes do fim da requisição: sem a
+     * serialização, que ainda não terminou, e com o total até o primeiro byte do corpo.
+     */
+    String serverTimingParcial(long totalNanos) {
+        return "db;dur=" + ms(sqlNanos) + ";desc=\"" + sqlQuantidade + " comandos\""
+            + ", jwt;dur=" + ms(jwtNanos)
+            + ", total;dur=" + ms(totalNanos);
+    }
+
+    static String ms(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,65 @@
+package com.senac.pizzademo.timing;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Mede cada requisição e devolve o resultado no header Server-Timing
+ * (banco, JWT, serialização e total), visível no DevTools do navegador.
+ *
+ * O corpo escrito pelos HttpMessageConverters fica em buffer até o fim da requisição, porque
+ * os headers precisam ser enviados antes dele e a serialização só termina ao final. Corpos
+ * prontos (listagens pré-serializadas, downloads) não passam pelo buffer: o header sai antes
+ * do primeiro byte, sem o tempo de serialização (ver {@link TimingResponseWrapper}).
+ * Requisições acima do limite geram um log WARN com os formatos de SQL executados.
+ */
+public class ServerTimingFilter implements Filter {
+    public static final String HEADER = "Server-Timing";
+    private static final Logger logger = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    private final long limiteLentaNanos;
+
+    public ServerTimingFilter(Duration limiteLenta) {
+        this.limiteLentaNanos = limiteLenta.toNanos();
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest req = (HttpServletRequest) request;
+        RequestTiming timing = RequestTiming.iniciar();
+        TimingResponseWrapper wrapper = new TimingResponseWrapper((HttpServletResponse) response, timing);
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            timing.encerrar();
+            long total = System.nanoTime() - timing.inicio();
+            wrapper.concluir(timing.serverTiming(total));
+            if (total >= limiteLentaNanos) {
+                logLenta(req, wrapper.getStatus(), total, timing);
+            }
+        }
+    }
+
+    private void logLenta(HttpServletRequest req, int status, long total, RequestTiming timing) {
+        String formatos = timing.getFormatos().entrySet().stream()
+            .map(e -> e.getValue() + "x " + e.getKey())
+            .collect(Collectors.joining(" | "));
+        logger.warn("requisicao_lenta metodo={} uri={} status={} total_ms={} db_ms={} db_comandos={} jwt_ms={} ser_ms={} sql=[{}]",
+            req.getMethod(), req.getRequestURI(), status, RequestTiming.ms(total), RequestTiming.ms(timing.getSqlNanos()),
+            timing.getSqlQuantidade(), RequestTiming.ms(timing.getJwtNanos()), RequestTiming.ms(timing.getSerializacaoNanos()),
+            formatos);
+    }
+}
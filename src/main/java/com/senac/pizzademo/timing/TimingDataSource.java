@@ -0,0 +1,100 @@
+package com.senac.pizzademo.timing;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource que mede a execução dos comandos SQL feitos dentro de uma requisição
+ * e registra cada um em {@link RequestTiming}.
+ *
+ * Conexões obtidas fora de uma requisição (jobs, inicialização) são devolvidas sem
+ * proxy, sem custo extra.
+ */
+public class TimingDataSource extends DelegatingDataSource {
+
+    public TimingDataSource(DataSource alvo) {
+        super(alvo);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return medir(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return medir(super.getConnection(username, password));
+    }
+
+    private static Connection medir(Connection connection) {
+        if (RequestTiming.atual() == null) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(TimingDataSource.class.getClassLoader(),
+            new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invocar(Object alvo, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object resultado = invocar(connection, method, args);
+            if (resultado instanceof Statement statement) {
+                String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                Class<?> tipo = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(TimingDataSource.class.getClassLoader(),
+                    new Class<?>[] {tipo}, new StatementHandler(statement, sql));
+            }
+            return resultado;
+        }
+    }
+
+    private static class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String sql;
+
+        StatementHandler(Statement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return invocar(statement, method, args);
+            }
+            String comando = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+            long inicio = System.nanoTime();
+            try {
+                return invocar(statement, method, args);
+            } finally {
+                RequestTiming.registrarSql(comando, System.nanoTime() - inicio);
+            }
+        }
+    }
+}
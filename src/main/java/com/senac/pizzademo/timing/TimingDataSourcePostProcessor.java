@@ -0,0 +1,24 @@
+package com.senac.pizzademo.timing;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * Envolve o DataSource da aplicação em um {@link TimingDataSource}.
+ */
+@Component
+@ConditionalOnProperty(name = "pizzademo.timing.enabled", havingValue = "true", matchIfMissing = true)
+public class TimingDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof TimingDataSource)) {
+            return new TimingDataSource(dataSource);
+        }
+        return bean;
+    }
+}
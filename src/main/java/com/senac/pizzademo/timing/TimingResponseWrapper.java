@@ -0,0 +1,219 @@
+package com.senac.pizzademo.timing;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.FastByteArrayOutputStream;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Resposta do {@link ServerTimingFilter}, que decide no primeiro byte do corpo se ele fica em
+ * buffer até o fim da requisição.
+ *
+ * Só vale o buffer quando há serialização a medir: o corpo escrito por um
+ * HttpMessageConverter, fora downloads (application/octet-stream), que podem ser grandes e
+ * devem sair aos poucos. Os demais (listagens pré-serializadas e já comprimidas, arquivos)
+ * vão direto para a resposta, com o header definido antes do primeiro byte e sem o tempo
+ * de serialização.
+ */
+class TimingResponseWrapper extends HttpServletResponseWrapper {
+    private final RequestTiming timing;
+    private final FastByteArrayOutputStream conteudo = new FastByteArrayOutputStream(1024);
+    // null até o primeiro byte do corpo
+    private Boolean emBuffer;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private long tamanho = -1;
+
+    TimingResponseWrapper(HttpServletResponse response, RequestTiming timing) {
+        super(response);
+        this.timing = timing;
+    }
+
+    private boolean emBuffer() {
+        if (emBuffer == null) {
+            String contentType = getContentType();
+            emBuffer = timing.serializando()
+                && !(contentType != null && contentType.startsWith(MediaType.APPLICATION_OCTET_STREAM_VALUE));
+            if (!emBuffer) {
+                direto();
+            }
+        }
+        return emBuffer;
+    }
+
+    private void direto() {
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        if (!response.isCommitted()) {
+            response.setHeader(ServerTimingFilter.HEADER,
+                timing.serverTimingParcial(System.nanoTime() - timing.inicio()));
+        }
+        if (tamanho >= 0) {
+            response.setContentLengthLong(tamanho);
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new ServletOutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    if (emBuffer()) {
+                        conteudo.write(b);
+                    } else {
+                        getResponse().getOutputStream().write(b);
+                    }
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    if (emBuffer()) {
+                        conteudo.write(b, off, len);
+                    } else {
+                        getResponse().getOutputStream().write(b, off, len);
+                    }
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    if (emBuffer != null && !emBuffer) {
+                        getResponse().getOutputStream().flush();
+                    }
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (emBuffer == null) {
+            tamanho = len;
+        } else if (!emBuffer) {
+            super.setContentLengthLong(len);
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        // Com o corpo em buffer, nada sai antes do fim da requisição
+        if (emBuffer != null && !emBuffer) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        conteudo.reset();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        conteudo.reset();
+        emBuffer = null;
+        tamanho = -1;
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        conteudo.reset();
+        definirHeader();
+        // A página de erro (ou o redirect) vai direto para a resposta
+        emBuffer = false;
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        conteudo.reset();
+        definirHeader();
+        // A página de erro (ou o redirect) vai direto para a resposta
+        emBuffer = false;
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        conteudo.reset();
+        definirHeader();
+        // A página de erro (ou o redirect) vai direto para a resposta
+        emBuffer = false;
+        super.sendRedirect(location);
+    }
+
+    private void definirHeader() {
+        if (!isCommitted()) {
+            setHeader(ServerTimingFilter.HEADER, timing.serverTimingParcial(System.nanoTime() - timing.inicio()));
+        }
+    }
+
+    /**
+     * Fim da requisição: com o corpo em buffer (ou sem corpo), define o header com os tempos
+     * finais e só então escreve o corpo.
+     */
+    void concluir(String serverTiming) throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (emBuffer != null && !emBuffer) {
+            return;
+        }
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        if (!response.isCommitted()) {
+            response.setHeader(ServerTimingFilter.HEADER, serverTiming);
+            if (emBuffer != null) {
+                response.setContentLength(conteudo.size());
+            } else if (tamanho >= 0) {
+                response.setContentLengthLong(tamanho);
+            }
+        }
+        if (conteudo.size() > 0) {
+            conteudo.writeTo(response.getOutputStream());
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.senac.pizzademo.warmstart;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import com.senac.pizzademo.order.MenuPriceTable;
+import com.senac.pizzademo.snapshot.MenuSnapshot;
+import com.senac.pizzademo.snapshot.MenuSnapshotService;
+
+/**
+ * Formato do arquivo de snapshot do catálogo, lido e gravado pelo {@link WarmStartService}.
+ *
+ * Binário, big-endian, em seções na ordem abaixo, seguidas do CRC32 de tudo o que vem antes
+ * (8 bytes):
+ * <ul>
+ *   <li>cabeçalho: "PZCS", versão do formato, data da captura (ms, relógio do banco);</li>
+ *   <li>versões do catálogo (catalog_version) no momento da captura;</li>
+ *   <li>ingredientes: id e nome;</li>
+ *   <li>preços: id do item, pizza, tamanho e valor, os três opcionais (marcados em um byte);</li>
+ *   <li>listagens (opcional): versões do catálogo em que foram montadas e, por caminho, ETag,
+ *       JSON e gzip.</li>
+ * </ul>
+ * Textos são gravados como tamanho (int) e UTF-8; blocos de bytes, como tamanho e conteúdo.
+ *
+ * A gravação vai para um arquivo temporário, sincronizado com o disco e renomeado sobre o
+ * anterior: um processo interrompido deixa o arquivo antigo, nunca um pela metade. A leitura
+ * mapeia o arquivo em memória e confere o CRC antes de interpretar qualquer seção.
+ */
+final class CatalogSnapshotFile {
+    static final int MAGIC = 0x505A4353;
+    static final int FORMATO = 1;
+
+    private static final int COM_PIZZA = 1;
+    private static final int COM_TAMANHO = 2;
+    private static final int COM_VALOR = 4;
+
+    private CatalogSnapshotFile() {}
+
+    /**
+     * Conteúdo do arquivo.
+     *
+     * @param capturadoEm Data do banco em que versões, ingredientes e preços foram lidos.
+     * @param versoes Versões do catálogo correspondentes aos preços.
+     * @param menu Listagens do catálogo, ou null se não estavam atualizadas na captura.
+     */
+    record Conteudo(Instant capturadoEm, Map<String, Long> versoes, Map<Long, String> ingredientes,
+                    List<MenuPriceTable.Item> precos, MenuSnapshotService.Montagem menu) {
+    }
+
+    static void gravar(Path arquivo, Conteudo conteudo) throws IOException {
+        Path absoluto = arquivo.toAbsolutePath();
+        Files.createDirectories(absoluto.getParent());
+        Path temporario = absoluto.resolveSibling(absoluto.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                 new CheckedOutputStream(Channels.newOutputStream(canal), crc), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMATO);
+            out.writeLong(conteudo.capturadoEm().toEpochMilli());
+            escreverVersoes(out, conteudo.versoes());
+
+            out.writeInt(conteudo.ingredientes().size());
+            for (Map.Entry<Long, String> ingrediente : conteudo.ingredientes().entrySet()) {
+                out.writeLong(ingrediente.getKey());
+                escreverTexto(out, ingrediente.getValue());
+            }
+
+            out.writeInt(conteudo.precos().size());
+            for (MenuPriceTable.Item item : conteudo.precos()) {
+                out.writeLong(item.cardapioId());
+                out.writeByte((item.pizzaId() != null ? COM_PIZZA : 0) | (item.tamanho() != null ? COM_TAMANHO : 0)
+                    | (item.valor() != null ? COM_VALOR : 0));
+                if (item.pizzaId() != null) {
+                    out.writeLong(item.pizzaId());
+                }
+                if (item.tamanho() != null) {
+                    escreverTexto(out, item.tamanho());
+                }
+                if (item.valor() != null) {
+                    out.writeFloat(item.valor());
+                }
+            }
+
+            MenuSnapshotService.Montagem menu = conteudo.menu();
+            out.writeBoolean(menu != null);
+            if (menu != null) {
+                escreverVersoes(out, menu.versoesCatalogo());
+                out.writeInt(menu.snapshots().size());
+                for (Map.Entry<String, MenuSnapshot> listagem : menu.snapshots().entrySet()) {
+                    escreverTexto(out, listagem.getKey());
+                    escreverTexto(out, listagem.getValue().etag());
+                    escreverBytes(out, listagem.getValue().json());
+                    escreverBytes(out, listagem.getValue().gzip());
+                }
+            }
+
+            out.flush();
+            // O CRC ainda não inclui os próprios bytes: a atualização vem depois de getValue()
+            out.writeLong(crc.getValue());
+            out.flush();
+            canal.force(true);
+        }
+        Files.move(temporario, absoluto, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Lê o arquivo inteiro.
+     *
+     * @throws IOException Se o arquivo não puder ser lido, não for deste formato (ou desta
+     *                     versão dele), estiver truncado ou não conferir com o CRC.
+     */
+    static Conteudo ler(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho < 16 || tamanho > Integer.MAX_VALUE) {
+                throw new IOException("Tamanho inválido: " + tamanho + " bytes");
+            }
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+            int dados = (int) tamanho - Long.BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(mapa.slice(0, dados));
+            if (crc.getValue() != mapa.getLong(dados)) {
+                throw new IOException("CRC não confere");
+            }
+            ByteBuffer in = mapa.slice(0, dados);
+            if (in.getInt() != MAGIC) {
+                throw new IOException("Não é um arquivo de snapshot do catálogo");
+            }
+            int formato = in.getInt();
+            if (formato != FORMATO) {
+                throw new IOException("Formato " + formato + " não suportado (esperado " + FORMATO + ")");
+            }
+            Instant capturadoEm = Instant.ofEpochMilli(in.getLong());
+            Map<String, Long> versoes = lerVersoes(in);
+
+            int totalIngredientes = in.getInt();
+            Map<Long, String> ingredientes = new TreeMap<>();
+            for (int i = 0; i < totalIngredientes; i++) {
+                ingredientes.put(in.getLong(), lerTexto(in));
+            }
+
+            int totalPrecos = in.getInt();
+            List<MenuPriceTable.Item> precos = new ArrayList<>(Math.min(totalPrecos, in.remaining()));
+            for (int i = 0; i < totalPrecos; i++) {
+                long cardapioId = in.getLong();
+                int campos = in.get();
+                Long pizzaId = (campos & COM_PIZZA) != 0 ? in.getLong() : null;
+                String tamanhoItem = (campos & COM_TAMANHO) != 0 ? lerTexto(in) : null;
+                Float valor = (campos & COM_VALOR) != 0 ? in.getFloat() : null;
+                precos.add(new MenuPriceTable.Item(cardapioId, pizzaId, tamanhoItem, valor));
+            }
+
+            MenuSnapshotService.Montagem menu = null;
+            if (in.get() != 0) {
+                Map<String, Long> versoesMenu = lerVersoes(in);
+                int listagens = in.getInt();
+                Map<String, MenuSnapshot> snapshots = new HashMap<>();
+                for (int i = 0; i < listagens; i++) {
+                    String path = lerTexto(in);
+                    String etag = lerTexto(in);
+                    // Cópia para o heap: o corpo é servido por muito tempo, e o mapeamento só é
+                    // liberado pelo GC; assim o arquivo pode ser substituído na próxima gravação
+                    snapshots.put(path, new MenuSnapshot(0, etag, lerBytes(in), lerBytes(in)));
+                }
+                menu = new MenuSnapshotService.Montagem(snapshots, versoesMenu);
+            }
+            if (in.hasRemaining()) {
+                throw new IOException(in.remaining() + " bytes a mais no fim do arquivo");
+            }
+            return new Conteudo(capturadoEm, versoes, ingredientes, precos, menu);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Arquivo truncado ou corrompido", e);
+        }
+    }
+
+    private static void escreverVersoes(DataOutputStream out, Map<String, Long> versoes) throws IOException {
+        out.writeInt(versoes.size());
+        for (Map.Entry<String, Long> versao : versoes.entrySet()) {
+            escreverTexto(out, versao.getKey());
+            out.writeLong(versao.getValue());
+        }
+    }
+
+    private static Map<String, Long> lerVersoes(ByteBuffer in) {
+        int total = in.getInt();
+        Map<String, Long> versoes = new HashMap<>();
+        for (int i = 0; i < total; i++) {
+            versoes.put(lerTexto(in), in.getLong());
+        }
+        return versoes;
+    }
+
+    private static void escreverTexto(DataOutputStream out, String texto) throws IOException {
+        escreverBytes(out, texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String lerTexto(ByteBuffer in) {
+        return new String(lerBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static void escreverBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] lerBytes(ByteBuffer in) {
+        int tamanho = in.getInt();
+        if (tamanho < 0 || tamanho > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[tamanho];
+        in.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,220 @@
+package com.senac.pizzademo.warmstart;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.senac.pizzademo.catalog.CatalogVersionPoller;
+import com.senac.pizzademo.catalog.CatalogVersions;
+import com.senac.pizzademo.catalog.IngredientCatalog;
+import com.senac.pizzademo.history.PriceHistoryRepository;
+import com.senac.pizzademo.order.MenuPriceTable;
+import com.senac.pizzademo.snapshot.MenuSnapshotService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Reinício rápido: salva o catálogo em memória (ingredientes, tabela de preços e listagens
+ * já serializadas) em um arquivo local ({@link CatalogSnapshotFile}) e, na inicialização,
+ * restaura dele o que ainda vale, lendo do banco só o que mudou depois.
+ *
+ * O arquivo é gravado a cada intervalo, só se o catálogo mudou desde a última gravação, e
+ * ao desligar. Versões, data e preços são lidos do banco em uma única transação; os
+ * ingredientes vêm do dicionário em memória (só crescem) e as listagens, do snapshot atual.
+ *
+ * A restauração acontece antes do aplicativo ficar pronto (ApplicationStartedEvent):
+ * <ul>
+ *   <li>ingredientes: os salvos, mais os de id maior lidos do banco;</li>
+ *   <li>preços: os salvos, mais as linhas do histórico de preços gravadas a partir da captura
+ *       (menos max-transaction-duration, porque uma linha gravada antes da captura pode ter
+ *       sido confirmada depois dela), se a versão do cardápio mudou;</li>
+ *   <li>listagens: só se as versões do catálogo no banco ainda forem as mesmas.</li>
+ * </ul>
+ * As versões lidas no início da restauração viram a base do {@link CatalogVersionPoller}, que
+ * publica como alteração externa tudo o que for gravado depois delas. Um arquivo ausente,
+ * corrompido, de outro formato ou mais velho que max-age é ignorado, e tudo é carregado do
+ * banco como antes.
+ */
+@Component
+public class WarmStartService {
+    private static final Logger logger = LoggerFactory.getLogger(WarmStartService.class);
+
+    private final CatalogVersions catalogVersions;
+    private final CatalogVersionPoller catalogVersionPoller;
+    private final IngredientCatalog ingredientCatalog;
+    private final MenuPriceTable menuPriceTable;
+    private final MenuSnapshotService menuSnapshotService;
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Path arquivo;
+    private final Duration intervalo;
+    private final Duration idadeMaxima;
+    private final Duration duracaoMaximaTransacao;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "catalog-snapshot-file");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile boolean pronto;
+    // Versões do catálogo e das listagens na última gravação (ou restauração)
+    private Map<String, Long> versoesGravadas;
+    private Map<String, Long> versoesMenuGravadas;
+
+    public WarmStartService(CatalogVersions catalogVersions, CatalogVersionPoller catalogVersionPoller,
+                            IngredientCatalog ingredientCatalog, MenuPriceTable menuPriceTable,
+                            MenuSnapshotService menuSnapshotService, PriceHistoryRepository priceHistoryRepository,
+                            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            @Value("${pizzademo.warmstart.enabled:true}") boolean enabled,
+                            @Value("${pizzademo.warmstart.file:data/catalogo.snapshot}") Path arquivo,
+                            @Value("${pizzademo.warmstart.interval:PT1M}") Duration intervalo,
+                            @Value("${pizzademo.warmstart.max-age:P1D}") Duration idadeMaxima,
+                            @Value("${pizzademo.warmstart.max-transaction-duration:PT10M}") Duration duracaoMaximaTransacao) {
+        this.catalogVersions = catalogVersions;
+        this.catalogVersionPoller = catalogVersionPoller;
+        this.ingredientCatalog = ingredientCatalog;
+        this.menuPriceTable = menuPriceTable;
+        this.menuSnapshotService = menuSnapshotService;
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.arquivo = arquivo;
+        this.intervalo = intervalo;
+        this.idadeMaxima = idadeMaxima;
+        this.duracaoMaximaTransacao = duracaoMaximaTransacao;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void onApplicationStarted() {
+        if (!enabled || !Files.exists(arquivo)) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        CatalogSnapshotFile.Conteudo salvo;
+        try {
+            salvo = CatalogSnapshotFile.ler(arquivo);
+        } catch (IOException e) {
+            logger.warn("Arquivo de snapshot do catálogo {} ignorado: {}", arquivo, e.getMessage());
+            return;
+        }
+        try {
+            restaurar(salvo, inicio);
+        } catch (RuntimeException e) {
+            // O que não foi restaurado é carregado do banco quando o aplicativo ficar pronto
+            logger.warn("Falha ao restaurar o catálogo de {}: {}", arquivo, e.getMessage());
+        }
+    }
+
+    private void restaurar(CatalogSnapshotFile.Conteudo salvo, long inicio) {
+        Map<String, Long> versoes = catalogVersions.ler();
+        Instant agora = agoraNoBanco();
+        if (salvo.capturadoEm().plus(idadeMaxima).isBefore(agora)) {
+            logger.info("Arquivo de snapshot do catálogo {} ignorado: capturado em {}, mais antigo que {}",
+                arquivo, salvo.capturadoEm(), idadeMaxima);
+            return;
+        }
+
+        int ingredientesNovos = ingredientCatalog.restaurar(salvo.ingredientes());
+        boolean cardapioIgual = Objects.equals(versoes.get("Cardapio"), salvo.versoes().get("Cardapio"));
+        Instant desde = salvo.capturadoEm().minus(duracaoMaximaTransacao);
+        boolean precos = menuPriceTable.restaurar(salvo.precos(),
+            () -> cardapioIgual ? List.of() : alteracoesDesde(desde));
+        boolean listagens = salvo.menu() != null && menuSnapshotService.restaurar(salvo.menu(), versoes);
+        catalogVersionPoller.base(versoes);
+
+        synchronized (this) {
+            versoesGravadas = salvo.versoes();
+            versoesMenuGravadas = salvo.menu() != null ? salvo.menu().versoesCatalogo() : null;
+        }
+        logger.info("Catálogo restaurado de {} (capturado em {}) em {} ms: {} ingredientes (+{} do banco), "
+                + "preços {}, listagens {}", arquivo, salvo.capturadoEm(), (System.nanoTime() - inicio) / 1_000_000,
+            salvo.ingredientes().size(), ingredientesNovos, precos ? "restaurados" : "não restaurados",
+            listagens ? "restauradas" : "desatualizadas");
+    }
+
+    private List<MenuPriceTable.Item> alteracoesDesde(Instant desde) {
+        return priceHistoryRepository.alteradosDesde(desde).stream()
+            .map(p -> new MenuPriceTable.Item(p.cardapioId(), p.pizzaId(), p.tamanho(),
+                p.valor() != null ? p.valor().floatValue() : null))
+            .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        pronto = true;
+        if (enabled) {
+            executor.scheduleWithFixedDelay(this::gravarSeAlterado, intervalo.toMillis(), intervalo.toMillis(),
+                TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void gravarSeAlterado() {
+        try {
+            gravar();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Falha ao gravar o snapshot do catálogo em {}: {}", arquivo, e.getMessage());
+        }
+    }
+
+    /**
+     * Grava o arquivo se as versões do catálogo ou das listagens mudaram desde a última gravação.
+     */
+    synchronized void gravar() throws IOException {
+        MenuSnapshotService.Montagem menu = menuSnapshotService.atual().orElse(null);
+        Map<String, Long> versoesMenu = menu != null ? menu.versoesCatalogo() : null;
+        if (catalogVersions.ler().equals(versoesGravadas) && Objects.equals(versoesMenu, versoesMenuGravadas)) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        // Versões, data e preços do mesmo snapshot do banco (a primeira leitura o fixa)
+        CatalogSnapshotFile.Conteudo conteudo = transactionTemplate.execute(status -> {
+            Map<String, Long> versoes = catalogVersions.ler();
+            Instant capturadoEm = agoraNoBanco();
+            return new CatalogSnapshotFile.Conteudo(capturadoEm, versoes, ingredientCatalog.conhecidos(),
+                menuPriceTable.itensDoBanco(), menu);
+        });
+        CatalogSnapshotFile.gravar(arquivo, conteudo);
+        versoesGravadas = conteudo.versoes();
+        versoesMenuGravadas = versoesMenu;
+        logger.info("Snapshot do catálogo gravado em {} ({} bytes, {} preços) em {} ms", arquivo, Files.size(arquivo),
+            conteudo.precos().size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private Instant agoraNoBanco() {
+        Timestamp agora = jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP(3)", Timestamp.class);
+        return Objects.requireNonNull(agora).toInstant();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        if (enabled && pronto) {
+            // A gravação final deixa o arquivo atualizado para a próxima inicialização
+            gravarSeAlterado();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.senac.pizzademo.warmup;
+
+import java.util.Arrays;
+
+/**
+ * Resultado do aquecimento: quanto tempo levou e a latência das requisições sintéticas no
+ * início e no fim (primeiros e últimos 10%), que mostra o efeito do JIT e dos caches.
+ */
+public record Aquecimento(
+    long duracaoMs,
+    long poolMs,
+    int conexoes,
+    int requisicoes,
+    int falhas,
+    double p50InicialMs,
+    double p99InicialMs,
+    double p50FinalMs,
+    double p99FinalMs
+) {
+
+    /**
+     * @param latenciasNs Latência de cada requisição, na ordem em que foram iniciadas.
+     */
+    static Aquecimento medir(long duracaoMs, long poolMs, int conexoes, long[] latenciasNs, int falhas) {
+        int janela = Math.max(1, latenciasNs.length / 10);
+        long[] inicio = Arrays.copyOfRange(latenciasNs, 0, Math.min(janela, latenciasNs.length));
+        long[] fim = Arrays.copyOfRange(latenciasNs, Math.max(0, latenciasNs.length - janela), latenciasNs.length);
+        return new Aquecimento(duracaoMs, poolMs, conexoes, latenciasNs.length, falhas,
+            percentil(inicio, 0.50), percentil(inicio, 0.99), percentil(fim, 0.50), percentil(fim, 0.99));
+    }
+
+    private static double percentil(long[] latenciasNs, double p) {
+        if (latenciasNs.length == 0) {
+            return 0;
+        }
+        long[] ordenadas = latenciasNs.clone();
+        Arrays.sort(ordenadas);
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, indice)] / 1e6;
+    }
+}
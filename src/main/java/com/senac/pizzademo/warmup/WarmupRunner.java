@@ -0,0 +1,278 @@
+package com.senac.pizzademo.warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.senac.pizzademo.security.JwtUtil;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Aquece a instância antes de ela receber tráfego: abre as conexões do pool e repete, pela
+ * própria porta HTTP, uma mistura sintética de leituras do catálogo (com token JWT nas
+ * rotas protegidas), cotações e respostas em JSON, CBOR, Smile e protobuf. Assim o JIT,
+ * os planos de consulta do Hibernate, os caches e os snapshots já estão prontos quando
+ * chega a primeira requisição real.
+ *
+ * Enquanto aquece, a instância se declara fora do ar (ReadinessState.REFUSING_TRAFFIC) e
+ * GET /ready responde 503. O aquecimento termina ao completar pizzademo.warmup.requests
+ * requisições ou ao atingir pizzademo.warmup.max-duration, o que vier primeiro; falhas nas
+ * requisições sintéticas não impedem a instância de ficar pronta.
+ */
+@Component
+public class WarmupRunner {
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+    private static final Duration TIMEOUT_REQUISICAO = Duration.ofSeconds(5);
+
+    private final ApplicationContext context;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int requisicoes;
+    private final Duration duracaoMaxima;
+    private final int concorrencia;
+    private final AtomicBoolean iniciado = new AtomicBoolean();
+    private final ExecutorService executor;
+    private volatile boolean concluido;
+    private volatile Aquecimento resultado;
+
+    public WarmupRunner(ApplicationContext context, DataSource dataSource, JdbcTemplate jdbcTemplate,
+                        @Value("${pizzademo.warmup.enabled:true}") boolean enabled,
+                        @Value("${pizzademo.warmup.requests:3000}") int requisicoes,
+                        @Value("${pizzademo.warmup.max-duration:PT30S}") Duration duracaoMaxima,
+                        @Value("${pizzademo.warmup.concurrency:4}") int concorrencia) {
+        this.context = context;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.requisicoes = requisicoes;
+        this.duracaoMaxima = duracaoMaxima;
+        this.concorrencia = Math.max(1, concorrencia);
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.concorrencia + 1, r -> {
+            Thread t = new Thread(r, "warmup-" + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.concluido = !enabled;
+    }
+
+    /**
+     * true quando o aquecimento terminou (ou está desligado).
+     */
+    public boolean concluido() {
+        return concluido;
+    }
+
+    /**
+     * Resultado do aquecimento, ou null se ainda não terminou ou se está desligado.
+     */
+    public Aquecimento resultado() {
+        return resultado;
+    }
+
+    /**
+     * O Spring declara a instância pronta logo depois do ApplicationReadyEvent; o aquecimento
+     * começa nesse momento e a devolve para REFUSING_TRAFFIC até terminar.
+     */
+    @EventListener
+    public void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+        if (enabled && event.getState() == ReadinessState.ACCEPTING_TRAFFIC && iniciado.compareAndSet(false, true)) {
+            executor.execute(this::aquecer);
+        }
+    }
+
+    private void aquecer() {
+        AvailabilityChangeEvent.publish(context, ReadinessState.REFUSING_TRAFFIC);
+        long inicio = System.nanoTime();
+        try {
+            int conexoes = aquecerPool();
+            long poolMs = (System.nanoTime() - inicio) / 1_000_000;
+            long[] latencias = new long[0];
+            AtomicInteger falhas = new AtomicInteger();
+            if (context instanceof WebServerApplicationContext web && web.getWebServer() != null) {
+                latencias = repetir(mistura(web.getWebServer().getPort()), inicio, falhas);
+            }
+            resultado = Aquecimento.medir((System.nanoTime() - inicio) / 1_000_000, poolMs, conexoes, latencias, falhas.get());
+            logger.info("Aquecimento concluído em {} ms: {} conexões em {} ms, {} requisições ({} falhas), "
+                    + "p50/p99 de {}/{} ms no início para {}/{} ms no fim",
+                resultado.duracaoMs(), conexoes, poolMs, resultado.requisicoes(), resultado.falhas(),
+                String.format("%.1f", resultado.p50InicialMs()), String.format("%.1f", resultado.p99InicialMs()),
+                String.format("%.1f", resultado.p50FinalMs()), String.format("%.1f", resultado.p99FinalMs()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (RuntimeException e) {
+            logger.warn("Falha no aquecimento, a instância fica pronta sem ele: {}", e.getMessage());
+        }
+        concluido = true;
+        AvailabilityChangeEvent.publish(context, ReadinessState.ACCEPTING_TRAFFIC);
+    }
+
+    /**
+     * Abre ao mesmo tempo tantas conexões quanto o mínimo de conexões ociosas do pool, para
+     * que nenhuma requisição real espere pela abertura de uma conexão.
+     */
+    private int aquecerPool() {
+        int conexoes = 1;
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+                conexoes = Math.min(Math.max(1, hikari.getMinimumIdle()), hikari.getMaximumPoolSize());
+            }
+        } catch (SQLException e) {
+            // Sem acesso ao pool, aquece uma conexão só
+        }
+        List<Connection> abertas = new ArrayList<>(conexoes);
+        try {
+            for (int i = 0; i < conexoes; i++) {
+                Connection connection = dataSource.getConnection();
+                abertas.add(connection);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+            }
+        } catch (SQLException e) {
+            logger.warn("Falha ao abrir as conexões do pool no aquecimento: {}", e.getMessage());
+        } finally {
+            for (Connection connection : abertas) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    // A conexão volta ao pool de qualquer forma
+                }
+            }
+        }
+        return abertas.size();
+    }
+
+    /**
+     * Requisições sintéticas, só de leitura, com ids reais do catálogo.
+     */
+    private List<HttpRequest> mistura(int porta) {
+        String base = "http://localhost:" + porta;
+        String token = "Bearer " + JwtUtil.generateToken("warmup");
+        List<Map<String, Object>> itens = jdbcTemplate.queryForList(
+            "SELECT id, pizza_id, tamanho FROM cardapio WHERE pizza_id IS NOT NULL AND tamanho IS NOT NULL ORDER BY id LIMIT 20");
+
+        List<HttpRequest> mistura = new ArrayList<>();
+        mistura.add(get(base + "/pizza", token, "application/json"));
+        mistura.add(get(base + "/pizza", token, "application/x-protobuf"));
+        mistura.add(get(base + "/cardapio", null, "application/json"));
+        mistura.add(get(base + "/cardapio", null, "application/cbor"));
+        mistura.add(get(base + "/pizza?fields=id,sabor&include=ingredientes,cardapio", token, "application/json"));
+        mistura.add(get(base + "/cardapio?fields=tamanho,valor&include=pizza", null, "application/x-jackson-smile"));
+        mistura.add(get(base + "/ingredientes/catalogo", null, "application/json"));
+        mistura.add(get(base + "/cardapio/historico", null, "application/json"));
+        if (!itens.isEmpty()) {
+            StringBuilder ids = new StringBuilder();
+            StringBuilder carrinho = new StringBuilder("{\"itens\":[");
+            for (int i = 0; i < itens.size(); i++) {
+                Map<String, Object> item = itens.get(i);
+                String separador = i == 0 ? "" : ",";
+                ids.append(separador).append(item.get("pizza_id"));
+                carrinho.append(separador).append("{\"pizzaId\":").append(item.get("pizza_id"))
+                    .append(",\"tamanho\":\"").append(item.get("tamanho")).append("\",\"quantidade\":1}");
+                mistura.add(get(base + "/pizza/" + item.get("pizza_id"), token, "application/json"));
+                mistura.add(get(base + "/cardapio/" + item.get("id"), null, "application/json"));
+            }
+            carrinho.append("]}");
+            mistura.add(get(base + "/pizza?ids=" + ids, token, "application/json"));
+            mistura.add(get(base + "/cardapio/historico/" + itens.get(0).get("id"), null, "application/json"));
+            mistura.add(HttpRequest.newBuilder(URI.create(base + "/pedidos/cotacao"))
+                .timeout(TIMEOUT_REQUISICAO)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(carrinho.toString()))
+                .build());
+        }
+        return mistura;
+    }
+
+    private static HttpRequest get(String url, String token, String accept) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+            .timeout(TIMEOUT_REQUISICAO)
+            .header("Accept", accept)
+            .header("Accept-Encoding", "gzip");
+        if (token != null) {
+            builder.header("Authorization", token);
+        }
+        return builder.GET().build();
+    }
+
+    /**
+     * Repete a mistura em {@code concorrencia} threads até completar as requisições ou o prazo.
+     *
+     * @return A latência de cada requisição feita, na ordem em que foram iniciadas.
+     */
+    private long[] repetir(List<HttpRequest> mistura, long inicio, AtomicInteger falhas) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(TIMEOUT_REQUISICAO).build();
+        long prazo = inicio + duracaoMaxima.toNanos();
+        long[] latencias = new long[requisicoes];
+        AtomicInteger proxima = new AtomicInteger();
+        AtomicInteger feitas = new AtomicInteger();
+        CountDownLatch fim = new CountDownLatch(concorrencia);
+        for (int t = 0; t < concorrencia; t++) {
+            executor.execute(() -> {
+                try {
+                    int i;
+                    while (System.nanoTime() < prazo && (i = proxima.getAndIncrement()) < requisicoes) {
+                        long antes = System.nanoTime();
+                        try {
+                            HttpResponse<Void> resposta = client.send(mistura.get(i % mistura.size()),
+                                HttpResponse.BodyHandlers.discarding());
+                            if (resposta.statusCode() >= 500) {
+                                falhas.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            falhas.incrementAndGet();
+                        }
+                        latencias[i] = System.nanoTime() - antes;
+                        feitas.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    fim.countDown();
+                }
+            });
+        }
+        fim.await();
+        // O prazo é conferido antes de reservar o índice, então as requisições feitas são as primeiras posições
+        return Arrays.copyOf(latencias, feitas.get());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,7 @@
+-- Usuário admin/senha123 para desenvolvimento e teste de carga, aplicado só pelos profiles
+-- dev e loadtest (spring.flyway.locations). Repetível, para não ocupar um número de versão
+-- do schema; só inclui o usuário se ele ainda não existir.
+INSERT INTO usuario (username, senha_hash)
+SELECT 'admin', 'pbkdf2-sha256$600000$T+oPvRb+/oNeFg15CFeCoA==$Ndz6JQzFunrwcQaZWVP77FrVddURQcMedquJSlePocs='
+FROM DUAL
+WHERE NOT EXISTS (SELECT 1 FROM usuario WHERE username = 'admin');
@@ -0,0 +1,18 @@
+-- Dados do profile loadtest (somente H2): 500 pizzas, 8 ingredientes e 3 tamanhos cada.
+-- A coluna do SYSTEM_RANGE se chama X (maiúscula); com DATABASE_TO_LOWER ela precisa de aspas.
+INSERT INTO pizza (sabor) SELECT CONCAT('Pizza ', "X") FROM SYSTEM_RANGE(1, 500);
+
+-- Catálogo com 60 ingredientes, compartilhados entre as receitas.
+INSERT INTO ingrediente (nome) SELECT CONCAT('Ingrediente ', "X") FROM SYSTEM_RANGE(0, 59);
+
+INSERT INTO ingredientes (ingrediente_id, quantidade, pizza_id)
+SELECT c.id, CONCAT(40 + r."X" * 10, 'g'), p.id
+FROM pizza p CROSS JOIN SYSTEM_RANGE(1, 8) r
+JOIN ingrediente c ON c.nome = CONCAT('Ingrediente ', MOD(p.id * 7 + r."X", 60));
+
+INSERT INTO cardapio (valor, tamanho, pizza_id)
+SELECT 19.9 + r."X" * 10, CASE r."X" WHEN 1 THEN 'Broto' WHEN 2 THEN 'Média' ELSE 'Grande' END, p.id
+FROM pizza p CROSS JOIN SYSTEM_RANGE(1, 3) r;
+
+INSERT INTO preco_historico (cardapio_id, pizza_id, tamanho, valor, vigente_desde)
+SELECT id, pizza_id, tamanho, ROUND(valor, 2), CURRENT_TIMESTAMP(3) FROM cardapio;
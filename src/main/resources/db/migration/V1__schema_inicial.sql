@@ -0,0 +1,26 @@
+-- Schema inicial, equivalente ao que o Hibernate criava com ddl-auto=update.
+-- Bancos que já existiam antes do Flyway recebem esta versão como baseline e pulam este script.
+
+CREATE TABLE pizza (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    sabor VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE ingredientes (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    ingrediente VARCHAR(255),
+    quantidade VARCHAR(255),
+    pizza_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_ingredientes_pizza FOREIGN KEY (pizza_id) REFERENCES pizza (id)
+);
+
+CREATE TABLE cardapio (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    valor FLOAT,
+    tamanho VARCHAR(255),
+    pizza_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_cardapio_pizza FOREIGN KEY (pizza_id) REFERENCES pizza (id)
+);
@@ -0,0 +1,12 @@
+-- Índices para as consultas mais frequentes.
+
+-- Carregamento das coleções de uma pizza e joins pelo pizza_id.
+-- Cobre o preço por tamanho de uma pizza sem ler a linha da tabela.
+CREATE INDEX idx_cardapio_pizza_tamanho_valor ON cardapio (pizza_id, tamanho, valor);
+CREATE INDEX idx_ingredientes_pizza ON ingredientes (pizza_id, ingrediente);
+
+-- Filtros e ordenação por tamanho e faixa de preço.
+CREATE INDEX idx_cardapio_tamanho_valor ON cardapio (tamanho, valor);
+
+-- Busca de pizza pelo sabor.
+CREATE INDEX idx_pizza_sabor ON pizza (sabor);
@@ -0,0 +1,13 @@
+-- Respostas guardadas das chaves de idempotência (pizzademo.idempotency.store=jdbc).
+-- IF NOT EXISTS porque versões anteriores criavam a tabela na inicialização do store.
+CREATE TABLE IF NOT EXISTS idempotency_key (
+    chave VARCHAR(320) NOT NULL,
+    fingerprint CHAR(64) NOT NULL,
+    status INT NOT NULL,
+    content_type VARCHAR(100),
+    body LONGBLOB,
+    criado_em TIMESTAMP NOT NULL,
+    PRIMARY KEY (chave)
+);
+
+CREATE INDEX idx_idempotency_key_criado_em ON idempotency_key (criado_em);
@@ -0,0 +1,10 @@
+-- Versão de cada entidade do catálogo, incrementada na mesma transação de cada alteração.
+-- Cada instância da aplicação consulta esta tabela periodicamente para invalidar seus caches
+-- quando outra instância altera o catálogo.
+CREATE TABLE catalog_version (
+    entidade VARCHAR(50) NOT NULL,
+    versao BIGINT NOT NULL,
+    PRIMARY KEY (entidade)
+);
+
+INSERT INTO catalog_version (entidade, versao) VALUES ('Pizza', 0), ('Cardapio', 0), ('Ingredientes', 0);
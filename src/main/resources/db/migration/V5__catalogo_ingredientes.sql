@@ -0,0 +1,29 @@
+-- Catálogo único de ingredientes. Antes cada linha de ingredientes repetia o nome em texto
+-- livre; agora ingredientes é a receita (pizza, ingrediente do catálogo e quantidade).
+CREATE TABLE ingrediente (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    nome VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_ingrediente_nome UNIQUE (nome)
+);
+
+INSERT INTO ingrediente (nome)
+SELECT DISTINCT ingrediente FROM ingredientes WHERE ingrediente IS NOT NULL;
+
+ALTER TABLE ingredientes ADD COLUMN ingrediente_id BIGINT;
+
+UPDATE ingredientes
+SET ingrediente_id = (SELECT c.id FROM ingrediente c WHERE c.nome = ingredientes.ingrediente);
+
+ALTER TABLE ingredientes
+    ADD CONSTRAINT fk_ingredientes_ingrediente FOREIGN KEY (ingrediente_id) REFERENCES ingrediente (id);
+
+-- O índice da receita é criado antes de remover o antigo: no MySQL o antigo pode ser o que
+-- atende a fk_ingredientes_pizza.
+CREATE INDEX idx_ingredientes_pizza_ingrediente ON ingredientes (pizza_id, ingrediente_id);
+DROP INDEX idx_ingredientes_pizza ON ingredientes;
+
+-- Consultas por ingrediente (em quais pizzas ele aparece) sem varrer a tabela.
+CREATE INDEX idx_ingredientes_ingrediente ON ingredientes (ingrediente_id, pizza_id);
+
+ALTER TABLE ingredientes DROP COLUMN ingrediente;
@@ -0,0 +1,21 @@
+-- Pedidos aceitos pela API. O id é gerado pela aplicação no momento do aceite, antes da
+-- gravação, que é feita em lotes por um writer em segundo plano.
+CREATE TABLE pedido (
+    id BIGINT NOT NULL,
+    cliente VARCHAR(255),
+    total DECIMAL(12, 2) NOT NULL,
+    criado_em TIMESTAMP(3) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- O preço unitário é copiado do cardápio no aceite; o item continua válido mesmo que o
+-- preço mude ou o item saia do cardápio depois.
+CREATE TABLE pedido_item (
+    pedido_id BIGINT NOT NULL,
+    item INT NOT NULL,
+    cardapio_id BIGINT NOT NULL,
+    quantidade INT NOT NULL,
+    preco_unitario DECIMAL(10, 2) NOT NULL,
+    PRIMARY KEY (pedido_id, item),
+    CONSTRAINT fk_pedido_item_pedido FOREIGN KEY (pedido_id) REFERENCES pedido (id)
+);
@@ -0,0 +1,25 @@
+-- Histórico dos preços do cardápio, somente inserção: cada inclusão, alteração ou remoção
+-- de um item grava uma linha com o estado do item a partir de vigente_desde (valor nulo
+-- indica que o item saiu do cardápio). O item da tabela cardapio pode ser removido; o
+-- histórico continua, por isso não há chave estrangeira.
+CREATE TABLE preco_historico (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    cardapio_id BIGINT NOT NULL,
+    pizza_id BIGINT,
+    tamanho VARCHAR(255),
+    valor DECIMAL(10, 2),
+    vigente_desde TIMESTAMP(3) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Preço vigente de um item em uma data (a última linha com vigente_desde <= data), linhas
+-- de um período e o cardápio completo em uma data, percorrido em ordem de item e data.
+-- O InnoDB acrescenta o id ao índice, que desempata alterações no mesmo milissegundo.
+CREATE INDEX idx_preco_historico_item ON preco_historico (cardapio_id, vigente_desde);
+
+-- Itens que já foram uma pizza em um tamanho, para a consulta por pizza e tamanho.
+CREATE INDEX idx_preco_historico_pizza_tamanho ON preco_historico (pizza_id, tamanho, cardapio_id, vigente_desde);
+
+-- O histórico começa com o cardápio atual.
+INSERT INTO preco_historico (cardapio_id, pizza_id, tamanho, valor, vigente_desde)
+SELECT id, pizza_id, tamanho, ROUND(valor, 2), CURRENT_TIMESTAMP(3) FROM cardapio WHERE valor IS NOT NULL;
@@ -0,0 +1,11 @@
+-- Usuários da API (POST /auth/login). A senha fica como hash PBKDF2-HMAC-SHA256 no formato
+-- pbkdf2-sha256$iterações$salt$hash (salt e hash em Base64), nunca em texto.
+CREATE TABLE usuario (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(100) NOT NULL,
+    senha_hash VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_usuario_username UNIQUE (username)
+);
+
+-- Sem usuário inicial: o admin de desenvolvimento fica em db/dev, fora do histórico de produção.
@@ -0,0 +1,3 @@
+-- Alterações de preço a partir de uma data, de todos os itens: usadas na inicialização para
+-- atualizar o cardápio restaurado do arquivo de snapshot (ver WarmStartService).
+CREATE INDEX idx_preco_historico_vigente_desde ON preco_historico (vigente_desde);
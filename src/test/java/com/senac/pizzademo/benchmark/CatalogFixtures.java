@@ -0,0 +1,42 @@
+package com.senac.pizzademo.benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.senac.pizzademo.model.Cardapio;
+import com.senac.pizzademo.model.Ingredientes;
+import com.senac.pizzademo.model.Pizza;
+
+/**
+ * Monta um catálogo em memória, com formato parecido com o de produção, para os benchmarks.
+ */
+final class CatalogFixtures {
+    private static final String[] SABORES = {"Calabresa", "Mussarela", "Portuguesa", "Frango com Catupiry", "Marguerita", "Quatro Queijos"};
+    private static final String[] INGREDIENTES = {"Mussarela", "Molho de tomate", "Calabresa", "Cebola", "Azeitona", "Orégano", "Presunto", "Ovo", "Catupiry", "Manjericão"};
+    private static final String[] TAMANHOS = {"Broto", "Média", "Grande"};
+
+    private CatalogFixtures() {}
+
+    static List<Pizza> pizzas(int quantidade) {
+        List<Pizza> pizzas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Pizza pizza = new Pizza();
+            pizza.setId((long) i + 1);
+            pizza.setSabor(SABORES[i % SABORES.length] + " " + i);
+            Set<Ingredientes> ingredientes = new LinkedHashSet<>();
+            for (int j = 0; j < 8; j++) {
+                ingredientes.add(new Ingredientes(INGREDIENTES[(i + j) % INGREDIENTES.length], (50 + j * 10) + "g", pizza));
+            }
+            Set<Cardapio> cardapio = new LinkedHashSet<>();
+            for (int j = 0; j < TAMANHOS.length; j++) {
+                cardapio.add(new Cardapio(29.9f + j * 10, TAMANHOS[j], pizza));
+            }
+            pizza.setIngredientes(ingredientes);
+            pizza.setCardapio(cardapio);
+            pizzas.add(pizza);
+        }
+        return pizzas;
+    }
+}
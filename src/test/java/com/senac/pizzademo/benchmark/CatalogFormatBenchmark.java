@@ -0,0 +1,110 @@
+package com.senac.pizzademo.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.protobuf.UnknownFieldSet;
+import com.senac.pizzademo.model.Pizza;
+import com.senac.pizzademo.serialization.CatalogProtobufWriter;
+
+/**
+ * Compara JSON, CBOR, Smile e Protobuf na codificação e decodificação de GET /pizza.
+ *
+ * O tamanho de cada payload é impresso no início da execução. A decodificação do
+ * Protobuf usa UnknownFieldSet, que percorre a mensagem inteira sem classes geradas.
+ *
+ * Execução: ./mvnw -Pbenchmark test -Dbenchmark.include=CatalogFormatBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogFormatBenchmark {
+    private static final TypeReference<List<Pizza>> LISTA_PIZZAS = new TypeReference<>() {};
+
+    @Param({"100"})
+    public int pizzas;
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+
+    private List<Pizza> catalogo;
+    private byte[] jsonBytes;
+    private byte[] cborBytes;
+    private byte[] smileBytes;
+    private byte[] protobufBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        catalogo = CatalogFixtures.pizzas(pizzas);
+        jsonBytes = json.writeValueAsBytes(catalogo);
+        cborBytes = cbor.writeValueAsBytes(catalogo);
+        smileBytes = smile.writeValueAsBytes(catalogo);
+        protobufBytes = encodeProtobuf();
+        System.out.printf("%nPayload de %d pizzas: json=%d bytes, cbor=%d, smile=%d, protobuf=%d%n",
+            pizzas, jsonBytes.length, cborBytes.length, smileBytes.length, protobufBytes.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return json.writeValueAsBytes(catalogo);
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() throws IOException {
+        return cbor.writeValueAsBytes(catalogo);
+    }
+
+    @Benchmark
+    public byte[] encodeSmile() throws IOException {
+        return smile.writeValueAsBytes(catalogo);
+    }
+
+    @Benchmark
+    public byte[] encodeProtobuf() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(protobufBytes == null ? 4096 : protobufBytes.length);
+        CatalogProtobufWriter.writePizzas(catalogo, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public List<Pizza> decodeJson() throws IOException {
+        return json.readValue(jsonBytes, LISTA_PIZZAS);
+    }
+
+    @Benchmark
+    public List<Pizza> decodeCbor() throws IOException {
+        return cbor.readValue(cborBytes, LISTA_PIZZAS);
+    }
+
+    @Benchmark
+    public List<Pizza> decodeSmile() throws IOException {
+        return smile.readValue(smileBytes, LISTA_PIZZAS);
+    }
+
+    @Benchmark
+    public UnknownFieldSet decodeProtobuf() throws IOException {
+        return UnknownFieldSet.parseFrom(protobufBytes);
+    }
+}
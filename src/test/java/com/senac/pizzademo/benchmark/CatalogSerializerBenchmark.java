@@ -0,0 +1,95 @@
+package com.senac.pizzademo.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senac.pizzademo.model.Pizza;
+import com.senac.pizzademo.serialization.CatalogJacksonModule;
+
+/**
+ * Compara o Jackson por reflexão com os serializadores escritos à mão do
+ * {@link CatalogJacksonModule}, na escrita e na leitura de GET /pizza em JSON.
+ *
+ * Os resultados são por pizza (cada invocação trata {@value #PIZZAS}). A escrita usa um
+ * buffer reaproveitado, para medir só a serialização; a alocação por pizza aparece em
+ * gc.alloc.rate.norm, do profiler gc, que o profile benchmark já ativa. Três forks, porque a
+ * variação entre compilações do JIT numa só JVM era maior que a diferença medida.
+ *
+ * Execução: ./mvnw -Pbenchmark test -Dbenchmark.include=CatalogSerializerBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class CatalogSerializerBenchmark {
+    private static final int PIZZAS = 100;
+    private static final TypeReference<List<Pizza>> LISTA_PIZZAS = new TypeReference<>() {};
+
+    private final ObjectMapper reflexao = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final ObjectMapper modulo = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+        .registerModule(new CatalogJacksonModule());
+
+    private List<Pizza> catalogo;
+    private byte[] json;
+    private ByteArrayOutputStream buffer;
+
+    @Setup
+    public void setUp() throws IOException {
+        catalogo = CatalogFixtures.pizzas(PIZZAS);
+        json = reflexao.writeValueAsBytes(catalogo);
+        buffer = new ByteArrayOutputStream(json.length * 2);
+        if (!Arrays.equals(json, modulo.writeValueAsBytes(catalogo))) {
+            throw new IllegalStateException("O módulo não produz o mesmo JSON que o Jackson por reflexão");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PIZZAS)
+    public int encodeReflexao() throws IOException {
+        buffer.reset();
+        reflexao.writeValue(buffer, catalogo);
+        return buffer.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PIZZAS)
+    public int encodeModulo() throws IOException {
+        buffer.reset();
+        modulo.writeValue(buffer, catalogo);
+        return buffer.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PIZZAS)
+    public List<Pizza> decodeReflexao() throws IOException {
+        return reflexao.readValue(json, LISTA_PIZZAS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PIZZAS)
+    public List<Pizza> decodeModulo() throws IOException {
+        return modulo.readValue(json, LISTA_PIZZAS);
+    }
+}
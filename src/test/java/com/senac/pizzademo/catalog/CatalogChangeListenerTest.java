@@ -0,0 +1,116 @@
+package com.senac.pizzademo.catalog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.senac.pizzademo.model.Cardapio;
+import com.senac.pizzademo.model.Ingredientes;
+import com.senac.pizzademo.model.Pizza;
+
+import jakarta.persistence.EntityManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CatalogChangeListenerTest {
+    private ApplicationEventPublisher publisher;
+    private CatalogVersions catalogVersions;
+    private EntityManager entityManager;
+    private CatalogChangeListener listener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        publisher = mock(ApplicationEventPublisher.class);
+        catalogVersions = mock(CatalogVersions.class);
+        entityManager = mock(EntityManager.class);
+        ObjectProvider<EntityManager> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(entityManager);
+        when(catalogVersions.incrementar(anyString())).thenReturn(7L);
+        listener = new CatalogChangeListener(publisher, catalogVersions, provider);
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    private void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.beforeCommit(false));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    @Test
+    void testIncrementaNoCommitEmOrdemDeEntidade() {
+        listener.onChange(new Pizza());
+        listener.onChange(new Ingredientes());
+        listener.onChange(new Cardapio());
+        listener.onChange(new Pizza());
+
+        verifyNoInteractions(catalogVersions);
+        assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+
+        commit();
+
+        InOrder ordem = inOrder(entityManager, catalogVersions);
+        ordem.verify(entityManager).flush();
+        ordem.verify(catalogVersions).incrementar("Cardapio");
+        ordem.verify(catalogVersions).incrementar("Ingredientes");
+        ordem.verify(catalogVersions).incrementar("Pizza");
+        verify(catalogVersions, times(3)).incrementar(anyString());
+        verify(publisher).publishEvent(new CatalogChangedEvent("Pizza", 7L, true));
+        verify(publisher, times(3)).publishEvent(any(CatalogChangedEvent.class));
+        assertFalse(TransactionSynchronizationManager.hasResource(CatalogChangeListener.class.getName()));
+    }
+
+    @Test
+    void testAlteracaoNoFlushDoCommitEntraNaVersao() {
+        // A transação só carregou a pizza; o UPDATE aparece no flush feito pelo beforeCommit
+        listener.onLoad(new Pizza());
+        doAnswer(invocacao -> {
+            listener.onChange(new Pizza());
+            return null;
+        }).when(entityManager).flush();
+
+        commit();
+
+        verify(catalogVersions).incrementar("Pizza");
+        verify(publisher).publishEvent(new CatalogChangedEvent("Pizza", 7L, true));
+    }
+
+    @Test
+    void testRollbackNaoPublica() {
+        listener.onChange(new Pizza());
+
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(catalogVersions, publisher);
+        assertFalse(TransactionSynchronizationManager.hasResource(CatalogChangeListener.class.getName()));
+    }
+
+    @Test
+    void testSemTransacaoIncrementaNaHora() {
+        TransactionSynchronizationManager.clearSynchronization();
+
+        listener.onChange(new Cardapio());
+
+        verify(catalogVersions).incrementar("Cardapio");
+        verify(publisher).publishEvent(new CatalogChangedEvent("Cardapio", 7L, true));
+    }
+}
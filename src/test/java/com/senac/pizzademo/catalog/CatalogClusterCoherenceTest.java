@@ -0,0 +1,95 @@
+package com.senac.pizzademo.catalog;
+
+import com.senac.pizzademo.PizzademoApplication;
+import com.senac.pizzademo.model.Pizza;
+import com.senac.pizzademo.repository.PizzaRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Duas instâncias da aplicação na mesma JVM, compartilhando um H2 em memória,
+ * simulam um cluster: uma alteração em um nó deve invalidar o cache do outro.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CatalogClusterCoherenceTest {
+    private ConfigurableApplicationContext noA;
+    private ConfigurableApplicationContext noB;
+
+    private static ConfigurableApplicationContext iniciar() {
+        return new SpringApplicationBuilder(PizzademoApplication.class)
+            .web(WebApplicationType.NONE)
+            .run("--spring.datasource.url=jdbc:h2:mem:cluster;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--spring.flyway.baseline-on-migrate=false",
+                "--pizzademo.snapshot.enabled=false",
+                // Sem o arquivo de snapshot em data/: o teste não grava nada no diretório do projeto
+                "--pizzademo.warmstart.enabled=false",
+                "--pizzademo.cluster.poll-interval=PT0.1S",
+                "--logging.level.com.senac.pizzademo=WARN");
+    }
+
+    @BeforeAll
+    void setUp() {
+        noA = iniciar();
+        noB = iniciar();
+    }
+
+    @AfterAll
+    void tearDown() {
+        noB.close();
+        noA.close();
+    }
+
+    private static void aguardar(BooleanSupplier condicao, String mensagem) throws InterruptedException {
+        long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condicao.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limite, mensagem);
+            Thread.sleep(50);
+        }
+    }
+
+    @Test
+    void testAlteracaoEmUmNoInvalidaCacheDoOutro() throws Exception {
+        PizzaRepository repositorioA = noA.getBean(PizzaRepository.class);
+        CatalogItemCache cacheB = noB.getBean(CatalogItemCache.class);
+
+        Pizza pizza = repositorioA.save(new Pizza("Calabresa", null, null));
+        aguardar(() -> cacheB.pizza(pizza.getId()).isPresent(), "Nó B não viu a pizza criada no nó A");
+
+        // Alterada na entidade gerenciada: salvar a pizza destacada trocaria a coleção do cardápio
+        TransactionTemplate tx = new TransactionTemplate(noA.getBean(PlatformTransactionManager.class));
+        tx.executeWithoutResult(status -> repositorioA.findById(pizza.getId()).orElseThrow()
+            .setSabor("Calabresa Picante"));
+
+        aguardar(() -> "Calabresa Picante".equals(cacheB.pizza(pizza.getId()).map(Pizza::getSabor).orElse(null)),
+            "Cache do nó B continuou com a versão antiga da pizza");
+    }
+
+    @Test
+    void testRollbackNaoIncrementaVersao() {
+        CatalogVersions versoes = noA.getBean(CatalogVersions.class);
+        long antes = versoes.ler().get("Pizza");
+
+        TransactionTemplate tx = new TransactionTemplate(noA.getBean(PlatformTransactionManager.class));
+        tx.executeWithoutResult(status -> {
+            noA.getBean(PizzaRepository.class).save(new Pizza("Desfeita", null, null));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(antes, versoes.ler().get("Pizza"));
+    }
+}
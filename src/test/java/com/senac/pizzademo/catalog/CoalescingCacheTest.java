@@ -0,0 +1,96 @@
+package com.senac.pizzademo.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingCacheTest {
+    private final CoalescingCache<Long, String> cache = new CoalescingCache<>(100);
+    private final AtomicInteger cargas = new AtomicInteger();
+    private final List<Set<Long>> pedidas = new ArrayList<>();
+
+    private Map<Long, String> carregar(Set<Long> ids) {
+        cargas.incrementAndGet();
+        pedidas.add(Set.copyOf(ids));
+        Map<Long, String> encontrados = new HashMap<>();
+        // Ids negativos não existem
+        ids.stream().filter(id -> id > 0).forEach(id -> encontrados.put(id, "pizza " + id));
+        return encontrados;
+    }
+
+    @Test
+    void testBuscasSimultaneasFazemUmaCarga() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        try {
+            List<Future<Map<Long, String>>> futuros = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                futuros.add(executor.submit(() -> cache.getAll(Set.of(1L), ids -> {
+                    try {
+                        liberar.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return carregar(ids);
+                })));
+            }
+            Thread.sleep(100);
+            liberar.countDown();
+            for (Future<Map<Long, String>> futuro : futuros) {
+                assertEquals(Map.of(1L, "pizza 1"), futuro.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, cargas.get());
+    }
+
+    @Test
+    void testCarregaApenasChavesAusentesEmUmaChamada() {
+        cache.getAll(Set.of(1L, 2L), this::carregar);
+        Map<Long, String> resultado = cache.getAll(new LinkedHashSet<>(List.of(3L, 1L, -4L, 2L)), this::carregar);
+
+        assertEquals(List.of(3L, 1L, 2L), new ArrayList<>(resultado.keySet()));
+        assertEquals(2, cargas.get());
+        assertEquals(Set.of(3L, -4L), pedidas.get(1));
+
+        // Id inexistente também fica em cache
+        cache.getAll(Set.of(-4L), this::carregar);
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    void testInvalidacaoDuranteCargaNaoGuardaValorAntigo() {
+        Map<Long, String> resultado = cache.getAll(Set.of(1L), ids -> {
+            Map<Long, String> valores = carregar(ids);
+            cache.invalidateAll();
+            return valores;
+        });
+
+        assertEquals("pizza 1", resultado.get(1L));
+        assertEquals(0, cache.size());
+        cache.getAll(Set.of(1L), this::carregar);
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    void testErroNaCargaNaoFicaEmCache() {
+        assertThrows(IllegalStateException.class, () -> cache.getAll(Set.of(1L), ids -> {
+            throw new IllegalStateException("banco fora");
+        }));
+        assertEquals(Map.of(1L, "pizza 1"), cache.getAll(Set.of(1L), this::carregar));
+    }
+}
@@ -0,0 +1,112 @@
+package com.senac.pizzademo.catalog;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IngredientCatalogTest {
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private IngredientCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:ingredientcatalog;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS ingrediente");
+        jdbcTemplate.execute("CREATE TABLE ingrediente (id BIGINT NOT NULL AUTO_INCREMENT, nome VARCHAR(255) NOT NULL, "
+            + "PRIMARY KEY (id), CONSTRAINT uk_ingrediente_nome UNIQUE (nome))");
+        jdbcTemplate.update("INSERT INTO ingrediente (nome) VALUES ('Mussarela'), ('Tomate')");
+        catalog = new IngredientCatalog(jdbcTemplate);
+        catalog.carregar();
+    }
+
+    private long linhas() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ingrediente", Long.class);
+    }
+
+    @Test
+    void testResolverNomeExistenteNaoInsere() {
+        Long id = catalog.resolver("Mussarela");
+
+        assertEquals("Mussarela", catalog.nome(id));
+        assertEquals(2, linhas());
+    }
+
+    @Test
+    void testResolverNomeNovoInsereUmaVez() {
+        Long primeiro = catalog.resolver("Calabresa");
+        Long segundo = catalog.resolver("Calabresa");
+
+        assertEquals(primeiro, segundo);
+        assertEquals("Calabresa", catalog.nome(primeiro));
+        assertEquals(3, linhas());
+    }
+
+    @Test
+    void testNomeCriadoPorOutraInstanciaEhBuscadoNoBanco() {
+        jdbcTemplate.update("INSERT INTO ingrediente (nome) VALUES ('Rúcula')");
+        Long id = jdbcTemplate.queryForObject("SELECT id FROM ingrediente WHERE nome = 'Rúcula'", Long.class);
+
+        assertEquals("Rúcula", catalog.nome(id));
+        assertEquals(id, catalog.resolver("Rúcula"));
+        assertNull(catalog.nome(9999L));
+    }
+
+    @Test
+    void testRollbackNaoDeixaIdNoDicionario() {
+        Long[] desfeito = new Long[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            desfeito[0] = catalog.resolver("Palmito");
+            assertEquals("Palmito", catalog.nome(desfeito[0]));
+            // Um id desconhecido relê a tabela, que nesta transação inclui o Palmito não confirmado
+            assertNull(catalog.nome(9999L));
+            status.setRollbackOnly();
+        });
+
+        assertNull(catalog.nome(desfeito[0]));
+        Long id = catalog.resolver("Palmito");
+        assertNotEquals(desfeito[0], id);
+        assertEquals("Palmito", catalog.nome(id));
+    }
+
+    @Test
+    void testIdsDesconhecidosRelemATabelaUmaVez() {
+        JdbcTemplate espiao = spy(jdbcTemplate);
+        IngredientCatalog comEspiao = new IngredientCatalog(espiao);
+        comEspiao.carregar();
+        jdbcTemplate.update("INSERT INTO ingrediente (nome) VALUES ('Rúcula'), ('Palmito'), ('Azeitona')");
+        List<Long> novos = jdbcTemplate.queryForList("SELECT id FROM ingrediente WHERE id > 2 ORDER BY id", Long.class);
+
+        // Como um findAll: várias receitas com os mesmos ingredientes, dentro de uma transação
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 10; i++) {
+                assertEquals(List.of("Rúcula", "Palmito", "Azeitona"), novos.stream().map(comEspiao::nome).toList());
+            }
+        });
+
+        verify(espiao, times(2)).query(eq("SELECT id, nome FROM ingrediente"), any(RowCallbackHandler.class));
+        verify(espiao, never()).queryForList(anyString(), eq(String.class), any(Object[].class));
+    }
+
+    @Test
+    void testListarOrdenadoPorId() {
+        catalog.resolver("Azeitona");
+
+        assertEquals(List.of("Mussarela", "Tomate", "Azeitona"), List.copyOf(catalog.listar().values()));
+    }
+}
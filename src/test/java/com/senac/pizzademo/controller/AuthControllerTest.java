@@ -0,0 +1,59 @@
+package com.senac.pizzademo.controller;
+
+import com.senac.pizzademo.exception.BusinessException;
+import com.senac.pizzademo.model.Usuario;
+import com.senac.pizzademo.security.Administradores;
+import com.senac.pizzademo.security.JwtFilter;
+import com.senac.pizzademo.security.LoginService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AuthControllerTest {
+    private LoginService loginService;
+    private AuthController controller;
+
+    @BeforeEach
+    void setUp() {
+        loginService = mock(LoginService.class);
+        controller = new AuthController(loginService, new Administradores(Set.of("admin")));
+    }
+
+    private static MockHttpServletRequest request(String usuario) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (usuario != null) {
+            request.setAttribute(JwtFilter.USUARIO, usuario);
+        }
+        return request;
+    }
+
+    @Test
+    void testCreateUsuario_SemSerAdmin_Responde403() {
+        Map<String, String> novo = Map.of("username", "admin", "password", "senha-forte");
+        for (String usuario : new String[] {null, "maria"}) {
+            BusinessException erro = assertThrows(BusinessException.class,
+                () -> controller.createUsuario(request(usuario), novo));
+            assertEquals(HttpStatus.FORBIDDEN, erro.getStatus());
+        }
+        verifyNoInteractions(loginService);
+    }
+
+    @Test
+    void testCreateUsuario_Admin_Cadastra() {
+        when(loginService.cadastrar("maria", "senha-forte")).thenReturn(new Usuario("maria", "hash"));
+
+        ResponseEntity<Map<String, Object>> resposta =
+            controller.createUsuario(request("admin"), Map.of("username", "maria", "password", "senha-forte"));
+
+        assertEquals(HttpStatus.CREATED, resposta.getStatusCode());
+        assertEquals("maria", resposta.getBody().get("username"));
+    }
+}
@@ -1,6 +1,9 @@
 package com.senac.pizzademo.controller;
 
+import com.senac.pizzademo.catalog.CatalogItemCache;
 import com.senac.pizzademo.dto.CardapioDTO;
+import com.senac.pizzademo.exception.NotFoundException;
+import com.senac.pizzademo.job.BatchJobService;
 import com.senac.pizzademo.model.Cardapio;
 import com.senac.pizzademo.model.Pizza;
 import com.senac.pizzademo.repository.CardapioRepository;
@@ -12,6 +15,7 @@ import org.mockito.MockitoAnnotations;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -21,13 +25,17 @@ class CardapioControllerTest {
     private CardapioRepository cardapioRepository;
     @Mock
     private PizzaRepository pizzaRepository;
+    @Mock
+    private BatchJobService batchJobService;
+    @Mock
+    private CatalogItemCache catalogItemCache;
 
     private CardapioController cardapioController;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        cardapioController = new CardapioController(cardapioRepository, pizzaRepository);
+        cardapioController = new CardapioController(cardapioRepository, pizzaRepository, batchJobService, catalogItemCache);
     }
 
     @Test
@@ -66,4 +74,47 @@ class CardapioControllerTest {
         verify(cardapioRepository, times(1)).save(any(Cardapio.class));
         verify(pizzaRepository, times(1)).findAll();
     }
+
+    private static CardapioDTO item(Long pizzaId, float preco, String tamanho) {
+        CardapioDTO dto = new CardapioDTO();
+        CardapioDTO.PizzaDTO pizzaDTO = new CardapioDTO.PizzaDTO();
+        pizzaDTO.setId(pizzaId);
+        dto.setPizza(pizzaDTO);
+        dto.setPreco(preco);
+        dto.setTamanho(tamanho);
+        return dto;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateMultiplosCardapios_VerificaPizzasComUmaConsulta() {
+        Pizza pizza1 = new Pizza();
+        pizza1.setId(1L);
+        Pizza pizza2 = new Pizza();
+        pizza2.setId(2L);
+        when(pizzaRepository.findExistingIds(Set.of(1L, 2L))).thenReturn(Set.of(1L, 2L));
+        when(pizzaRepository.getReferenceById(1L)).thenReturn(pizza1);
+        when(pizzaRepository.getReferenceById(2L)).thenReturn(pizza2);
+        when(cardapioRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<Cardapio> result = cardapioController.createMultiplosCardapios(List.of(
+            item(1L, 39.9f, "Média"), item(1L, 49.9f, "Grande"), item(2L, 45.9f, "Grande")));
+
+        assertEquals(3, result.size());
+        assertSame(pizza2, result.get(2).getPizza());
+        assertEquals(49.9f, result.get(1).getValor());
+        verify(pizzaRepository, times(1)).findExistingIds(any());
+        verify(pizzaRepository, never()).findById(any());
+    }
+
+    @Test
+    void testCreateMultiplosCardapios_PizzaInexistente() {
+        when(pizzaRepository.findExistingIds(Set.of(1L, 3L))).thenReturn(Set.of(1L));
+
+        NotFoundException ex = assertThrows(NotFoundException.class, () -> cardapioController.createMultiplosCardapios(
+            List.of(item(1L, 39.9f, "Média"), item(3L, 49.9f, "Grande"))));
+
+        assertTrue(ex.getMessage().contains("id=3"));
+        verify(cardapioRepository, never()).saveAll(anyList());
+    }
 }
@@ -0,0 +1,69 @@
+package com.senac.pizzademo.controller;
+
+import com.senac.pizzademo.diagnostics.GravacaoJfr;
+import com.senac.pizzademo.diagnostics.JfrService;
+import com.senac.pizzademo.diagnostics.PerfilJfr;
+import com.senac.pizzademo.exception.BusinessException;
+import com.senac.pizzademo.security.Administradores;
+import com.senac.pizzademo.security.JwtFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DiagnosticoControllerTest {
+    private JfrService jfrService;
+    private DiagnosticoController controller;
+
+    @BeforeEach
+    void setUp() {
+        jfrService = mock(JfrService.class);
+        controller = new DiagnosticoController(jfrService, new Administradores(Set.of("admin")));
+    }
+
+    private static MockHttpServletRequest request(String usuario) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (usuario != null) {
+            request.setAttribute(JwtFilter.USUARIO, usuario);
+        }
+        return request;
+    }
+
+    private static void assertProibido(Executable chamada) {
+        BusinessException erro = assertThrows(BusinessException.class, chamada);
+        assertEquals(HttpStatus.FORBIDDEN, erro.getStatus());
+    }
+
+    @Test
+    void testSemTokenOuSemSerAdmin_Responde403() {
+        for (String usuario : new String[] {null, "maria"}) {
+            MockHttpServletRequest request = request(usuario);
+            assertProibido(() -> controller.iniciarGravacao(request, PerfilJfr.CPU, Duration.ofMinutes(1)));
+            assertProibido(() -> controller.listarGravacoes(request));
+            assertProibido(() -> controller.pararGravacao(request, 1));
+            assertProibido(() -> controller.baixarGravacao(request, 1));
+            assertProibido(() -> controller.removerGravacao(request, 1));
+            assertProibido(() -> controller.resumo(request, Duration.ofSeconds(1)));
+        }
+        verifyNoInteractions(jfrService);
+    }
+
+    @Test
+    void testAdmin_ChamaOServico() {
+        GravacaoJfr gravacao = new GravacaoJfr(1, PerfilJfr.CPU, "RUNNING", null, 60, 0);
+        when(jfrService.iniciar(PerfilJfr.CPU, Duration.ofMinutes(1))).thenReturn(gravacao);
+        when(jfrService.listar()).thenReturn(List.of(gravacao));
+
+        assertEquals(HttpStatus.CREATED,
+            controller.iniciarGravacao(request("admin"), PerfilJfr.CPU, Duration.ofMinutes(1)).getStatusCode());
+        assertEquals(List.of(gravacao), controller.listarGravacoes(request("admin")));
+    }
+}
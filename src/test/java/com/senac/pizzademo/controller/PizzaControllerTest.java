@@ -1,5 +1,6 @@
 package com.senac.pizzademo.controller;
 
+import com.senac.pizzademo.dto.SparseFieldset;
 import com.senac.pizzademo.model.Pizza;
 import com.senac.pizzademo.repository.PizzaRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +10,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.*;
 
@@ -36,6 +38,23 @@ class PizzaControllerTest {
         verify(pizzaRepository, times(1)).findAll();
     }
 
+    @Test
+    void testGetPizzasEsparsas() {
+        List<Map<String, Object>> pizzas = List.of(Map.of("id", 1L, "sabor", "Calabresa"));
+        when(pizzaRepository.findSparse(any(SparseFieldset.class))).thenReturn(pizzas);
+        List<Map<String, Object>> result = pizzaController.getPizzasEsparsas("id,sabor,ingredientes", null);
+        assertEquals(pizzas, result);
+        verify(pizzaRepository).findSparse(new SparseFieldset(Set.of("id", "sabor"), Set.of("ingredientes")));
+        verify(pizzaRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetPizzasEsparsas_CampoInvalido() {
+        assertThrows(ResponseStatusException.class, () -> pizzaController.getPizzasEsparsas("preco", null));
+        assertThrows(ResponseStatusException.class, () -> pizzaController.getPizzasEsparsas(null, "pedidos"));
+        verifyNoInteractions(pizzaRepository);
+    }
+
     @Test
     void testCreatePizza() {
         Pizza pizza = new Pizza();
@@ -0,0 +1,90 @@
+package com.senac.pizzademo.diagnostics;
+
+import com.senac.pizzademo.exception.BusinessException;
+import com.senac.pizzademo.exception.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrServiceTest {
+    @TempDir
+    Path diretorio;
+
+    private JfrService jfrService;
+
+    @AfterEach
+    void tearDown() {
+        if (jfrService != null) {
+            jfrService.shutdown();
+        }
+    }
+
+    private JfrService servico(int maxSimultaneas, int mantidas) {
+        jfrService = new JfrService(diretorio, maxSimultaneas, Duration.ofMinutes(5), 10 * 1024 * 1024, mantidas);
+        return jfrService;
+    }
+
+    @Test
+    void testDuracaoLimitadaAMaxima() {
+        JfrService servico = servico(3, 5);
+        assertEquals(300, servico.iniciar(PerfilJfr.PADRAO, Duration.ofHours(1)).duracaoMaximaSegundos());
+        assertEquals(300, servico.iniciar(PerfilJfr.PADRAO, null).duracaoMaximaSegundos());
+        assertEquals(300, servico.iniciar(PerfilJfr.PADRAO, Duration.ofSeconds(-1)).duracaoMaximaSegundos());
+    }
+
+    @Test
+    void testLimiteDeGravacoesSimultaneas() {
+        JfrService servico = servico(1, 5);
+        GravacaoJfr primeira = servico.iniciar(PerfilJfr.PADRAO, Duration.ofMinutes(1));
+
+        BusinessException erro = assertThrows(BusinessException.class,
+            () -> servico.iniciar(PerfilJfr.CPU, Duration.ofMinutes(1)));
+        assertEquals(HttpStatus.CONFLICT, erro.getStatus());
+
+        // Parada, a gravação deixa de contar para o limite
+        assertNotEquals("RUNNING", servico.parar(primeira.id()).estado());
+        assertEquals("RUNNING", servico.iniciar(PerfilJfr.CPU, Duration.ofMinutes(1)).estado());
+    }
+
+    @Test
+    void testMantemSoAsUltimasEncerradas() {
+        JfrService servico = servico(1, 2);
+        long[] ids = new long[4];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = servico.iniciar(PerfilJfr.PADRAO, Duration.ofMinutes(1)).id();
+            servico.parar(ids[i]);
+        }
+        // A cada início, as encerradas mais antigas são descartadas até sobrarem mantidas - 1
+        List<Long> restantes = servico.listar().stream().map(GravacaoJfr::id).toList();
+        assertEquals(List.of(ids[2], ids[3]), restantes);
+        assertThrows(NotFoundException.class, () -> servico.arquivo(ids[0]));
+    }
+
+    @Test
+    void testArquivoDeGravacaoEmAndamento() throws Exception {
+        JfrService servico = servico(1, 5);
+        GravacaoJfr gravacao = servico.iniciar(PerfilJfr.PADRAO, Duration.ofMinutes(1));
+        try (InputStream arquivo = servico.arquivo(gravacao.id())) {
+            byte[] cabecalho = arquivo.readNBytes(4);
+            assertArrayEquals(new byte[] {'F', 'L', 'R', 0}, cabecalho);
+        }
+        assertEquals("RUNNING", servico.listar().get(0).estado());
+    }
+
+    @Test
+    void testJanelaDoResumoDeveSerPositiva() {
+        JfrService servico = servico(1, 5);
+        for (Duration janela : new Duration[] {Duration.ZERO, Duration.ofSeconds(-5)}) {
+            BusinessException erro = assertThrows(BusinessException.class, () -> servico.resumir(janela));
+            assertEquals(HttpStatus.BAD_REQUEST, erro.getStatus());
+        }
+    }
+}
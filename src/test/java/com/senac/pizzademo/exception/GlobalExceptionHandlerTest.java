@@ -18,5 +18,15 @@ public class GlobalExceptionHandlerTest {
         assertThat(String.valueOf(response.getBody())).contains("Erro genérico");
     }
 
+    @Test
+    void testHandleBusinessExceptionSemStackTrace() {
+        GlobalExceptionHandler handler = new GlobalExceptionHandler();
+        NotFoundException ex = new NotFoundException("Cardápio não encontrado");
+        ResponseEntity<Object> response = handler.handleBusinessException(ex);
+        assertThat(response.getStatusCode().value()).isEqualTo(404);
+        assertThat(String.valueOf(response.getBody())).contains("Cardápio não encontrado");
+        assertThat(ex.getStackTrace()).isEmpty();
+    }
+
     // O teste de validação será implementado após adicionar Bean Validation nas entidades/DTOs
 }
@@ -0,0 +1,107 @@
+package com.senac.pizzademo.history;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceHistoryRepositoryTest {
+    private static final Instant JAN = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant MAR = Instant.parse("2024-03-01T00:00:00Z");
+    private static final Instant JUN = Instant.parse("2024-06-01T00:00:00Z");
+    private static final Instant SET = Instant.parse("2024-09-01T00:00:00Z");
+
+    private JdbcTemplate jdbcTemplate;
+    private PriceHistoryRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+            "jdbc:h2:mem:historico;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS preco_historico");
+        jdbcTemplate.execute("CREATE TABLE preco_historico (id BIGINT NOT NULL AUTO_INCREMENT, cardapio_id BIGINT NOT NULL, "
+            + "pizza_id BIGINT, tamanho VARCHAR(255), valor DECIMAL(10, 2), vigente_desde TIMESTAMP(3) NOT NULL, PRIMARY KEY (id))");
+        jdbcTemplate.execute("CREATE INDEX idx_preco_historico_item ON preco_historico (cardapio_id, vigente_desde)");
+        repository = new PriceHistoryRepository(jdbcTemplate);
+
+        // Item 1: Calabresa Grande, reajustada em junho
+        linha(1, 10, "Grande", "39.90", JAN);
+        linha(1, 10, "Grande", "44.90", JUN);
+        // Item 2: Calabresa Broto, removida em junho
+        linha(2, 10, "Broto", "25.50", JAN);
+        linha(2, 10, "Broto", null, JUN);
+        // Item 3: Marguerita Grande em março, virou Média em setembro
+        linha(3, 11, "Grande", "42.00", MAR);
+        linha(3, 11, "Média", "35.00", SET);
+    }
+
+    private void linha(long cardapioId, long pizzaId, String tamanho, String valor, Instant vigenteDesde) {
+        jdbcTemplate.update("INSERT INTO preco_historico (cardapio_id, pizza_id, tamanho, valor, vigente_desde) VALUES (?, ?, ?, ?, ?)",
+            cardapioId, pizzaId, tamanho, valor != null ? new BigDecimal(valor) : null, Timestamp.from(vigenteDesde));
+    }
+
+    @Test
+    void testVigente_UltimaLinhaAteAData() {
+        assertTrue(repository.vigente(1, JAN.minusSeconds(1)).isEmpty());
+        assertEquals(new BigDecimal("39.90"), repository.vigente(1, JAN).orElseThrow().valor());
+        assertEquals(new BigDecimal("39.90"), repository.vigente(1, JUN.minusMillis(1)).orElseThrow().valor());
+        assertEquals(new BigDecimal("44.90"), repository.vigente(1, SET).orElseThrow().valor());
+        assertTrue(repository.vigente(2, SET).isEmpty());
+    }
+
+    @Test
+    void testVigente_PorPizzaETamanhoConfereOEstadoDoItemNaData() {
+        assertEquals(new BigDecimal("42.00"), repository.vigente(11, "Grande", JUN).orElseThrow().valor());
+        // Em setembro o item 3 já é Média: a Marguerita Grande deixou de existir
+        assertTrue(repository.vigente(11, "Grande", SET).isEmpty());
+        assertEquals(new BigDecimal("35.00"), repository.vigente(11, "Média", SET).orElseThrow().valor());
+    }
+
+    @Test
+    void testVigente_DesempataPeloId() {
+        linha(1, 10, "Grande", "46.90", JUN);
+
+        assertEquals(new BigDecimal("46.90"), repository.vigente(1, JUN).orElseThrow().valor());
+    }
+
+    @Test
+    void testPeriodo_IncluiALinhaVigenteNoInicio() {
+        List<PrecoVigente> linhas = repository.periodo(1, MAR, SET);
+
+        assertEquals(2, linhas.size());
+        assertEquals(JAN, linhas.get(0).vigenteDesde());
+        assertEquals(new BigDecimal("44.90"), linhas.get(1).valor());
+        assertEquals(2, repository.periodo(2, null, SET).size());
+        assertEquals(1, repository.periodo(1, JUN.plusSeconds(1), SET).size());
+    }
+
+    @Test
+    void testCardapio_MontaOCardapioDaData() {
+        List<PrecoVigente> marco = repository.cardapio(MAR);
+        assertEquals(List.of(1L, 2L, 3L), marco.stream().map(PrecoVigente::cardapioId).toList());
+        assertEquals(new BigDecimal("39.90"), marco.get(0).valor());
+
+        List<PrecoVigente> setembro = repository.cardapio(SET);
+        assertEquals(List.of(1L, 3L), setembro.stream().map(PrecoVigente::cardapioId).toList());
+        assertEquals(new BigDecimal("44.90"), setembro.get(0).valor());
+        assertEquals("Média", setembro.get(1).tamanho());
+
+        assertTrue(repository.cardapio(JAN.minusSeconds(1)).isEmpty());
+    }
+
+    @Test
+    void testRegistrar_GravaEmCentavosComADataDoBanco() {
+        repository.registrar(4, 12L, "Grande", 39.9f);
+
+        PrecoVigente preco = repository.vigente(4, Instant.now().plusSeconds(60)).orElseThrow();
+        assertEquals(new BigDecimal("39.90"), preco.valor());
+        assertEquals(12L, preco.pizzaId());
+    }
+}
@@ -0,0 +1,130 @@
+package com.senac.pizzademo.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.senac.pizzademo.security.JwtFilter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+    private IdempotencyFilter filter;
+    private AtomicInteger execucoes;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(new InMemoryIdempotencyStore(100, Duration.ofMinutes(5)), Duration.ofSeconds(5));
+        execucoes = new AtomicInteger();
+    }
+
+    @Test
+    void testRetryRecebeRespostaGuardada() throws Exception {
+        FilterChain chain = criarPizza(null);
+        MockHttpServletResponse primeira = executar("chave-1", "{\"sabor\":\"Calabresa\"}", chain);
+        MockHttpServletResponse retry = executar("chave-1", "{\"sabor\":\"Calabresa\"}", chain);
+
+        assertEquals(1, execucoes.get());
+        assertEquals(201, retry.getStatus());
+        assertEquals(primeira.getContentAsString(), retry.getContentAsString());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAY_HEADER));
+    }
+
+    @Test
+    void testMesmaChaveComOutroPayloadRetorna422() throws Exception {
+        FilterChain chain = criarPizza(null);
+        executar("chave-1", "{\"sabor\":\"Calabresa\"}", chain);
+        MockHttpServletResponse outra = executar("chave-1", "{\"sabor\":\"Mussarela\"}", chain);
+
+        assertEquals(1, execucoes.get());
+        assertEquals(422, outra.getStatus());
+    }
+
+    @Test
+    void testSemHeaderNaoEhIdempotente() throws Exception {
+        FilterChain chain = criarPizza(null);
+        executar(null, "{}", chain);
+        executar(null, "{}", chain);
+        assertEquals(2, execucoes.get());
+    }
+
+    @Test
+    void testRequisicoesConcorrentesExecutamUmaVez() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        FilterChain chain = criarPizza(liberar);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<MockHttpServletResponse> a = pool.submit(() -> executar("chave-2", "{}", chain));
+            Future<MockHttpServletResponse> b = pool.submit(() -> executar("chave-2", "{}", chain));
+            Future<MockHttpServletResponse> c = pool.submit(() -> executar("chave-2", "{}", chain));
+            Thread.sleep(200);
+            liberar.countDown();
+            assertEquals(201, a.get(5, TimeUnit.SECONDS).getStatus());
+            assertEquals(201, b.get(5, TimeUnit.SECONDS).getStatus());
+            assertEquals(201, c.get(5, TimeUnit.SECONDS).getStatus());
+            assertEquals(1, execucoes.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testMesmaChaveDeOutroUsuarioNaoRecebeARespostaGuardada() throws Exception {
+        FilterChain chain = criarPizza(null);
+        MockHttpServletResponse maria = executar("maria", "chave-3", "{}", chain);
+        MockHttpServletResponse joao = executar("joao", "chave-3", "{}", chain);
+        MockHttpServletResponse retryMaria = executar("maria", "chave-3", "{}", chain);
+
+        assertEquals(2, execucoes.get());
+        assertNotEquals(maria.getContentAsString(), joao.getContentAsString());
+        assertNull(joao.getHeader(IdempotencyFilter.REPLAY_HEADER));
+        assertEquals(maria.getContentAsString(), retryMaria.getContentAsString());
+    }
+
+    private FilterChain criarPizza(CountDownLatch liberar) {
+        return (request, response) -> {
+            request.getInputStream().readAllBytes();
+            if (liberar != null) {
+                try {
+                    liberar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            int id = execucoes.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(201);
+            response.setContentType("application/json");
+            response.getOutputStream().write(("{\"id\":" + id + "}").getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private MockHttpServletResponse executar(String chave, String corpo, FilterChain chain) throws Exception {
+        return executar(null, chave, corpo, chain);
+    }
+
+    private MockHttpServletResponse executar(String usuario, String chave, String corpo, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/pizza");
+        if (usuario != null) {
+            request.setAttribute(JwtFilter.USUARIO, usuario);
+        }
+        request.setContent(corpo.getBytes(StandardCharsets.UTF_8));
+        if (chave != null) {
+            request.addHeader(IdempotencyFilter.HEADER, chave);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,90 @@
+package com.senac.pizzademo.job;
+
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class BatchJobServiceTest {
+    private BatchJobService service;
+
+    @BeforeEach
+    void setUp() {
+        // O mock do Validator retorna um conjunto vazio de violações por padrão
+        service = new BatchJobService(mock(Validator.class), 1, 1, 2, 10, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void testSubmit_GravaTodosOsChunks() throws InterruptedException {
+        List<String> gravados = new CopyOnWriteArrayList<>();
+        BatchJob<String> job = service.submit("teste", List.of("a", "b", "c", "d", "e"), gravados::addAll);
+        aguardar(job);
+        assertEquals(BatchJob.Status.COMPLETED, job.getStatus());
+        assertEquals(5, job.getProcessados());
+        assertEquals(100, job.getProgresso());
+        assertEquals(List.of("a", "b", "c", "d", "e"), gravados);
+    }
+
+    @Test
+    void testRetry_ReprocessaApenasChunksComFalha() throws InterruptedException {
+        List<String> gravados = new CopyOnWriteArrayList<>();
+        AtomicBoolean falhar = new AtomicBoolean(true);
+        BatchJob<String> job = service.submit("teste", List.of("a", "b", "c", "d"), itens -> {
+            if (itens.contains("c") && falhar.get()) {
+                throw new IllegalStateException("banco indisponível");
+            }
+            gravados.addAll(itens);
+        });
+        aguardar(job);
+        assertEquals(BatchJob.Status.FAILED, job.getStatus());
+        assertEquals(2, job.getProcessados());
+        assertEquals(1, job.getErros().size());
+        assertEquals(2, job.getErros().get(0).inicio());
+
+        falhar.set(false);
+        service.retry(job.getId());
+        aguardar(job);
+        assertEquals(BatchJob.Status.COMPLETED, job.getStatus());
+        assertEquals(4, job.getProcessados());
+        assertTrue(job.getErros().isEmpty());
+        assertEquals(List.of("a", "b", "c", "d"), gravados);
+    }
+
+    @Test
+    void testRetry_JobConcluidoRetornaConflito() throws InterruptedException {
+        BatchJob<String> job = service.submit("teste", List.of("a"), itens -> { });
+        aguardar(job);
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> service.retry(job.getId()));
+        assertEquals(409, ex.getStatusCode().value());
+    }
+
+    @Test
+    void testSubmit_LoteVazioOuGrandeDemaisRejeitado() {
+        assertThrows(ResponseStatusException.class, () -> service.submit("teste", List.of(), itens -> { }));
+        List<Integer> grande = IntStream.range(0, 11).boxed().toList();
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> service.submit("teste", grande, itens -> { }));
+        assertEquals(413, ex.getStatusCode().value());
+    }
+
+    private void aguardar(BatchJob<?> job) throws InterruptedException {
+        for (int i = 0; i < 100 && !job.isFinished(); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(job.isFinished(), "job não terminou a tempo");
+    }
+}
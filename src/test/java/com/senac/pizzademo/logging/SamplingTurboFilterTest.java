@@ -0,0 +1,66 @@
+package com.senac.pizzademo.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SamplingTurboFilterTest {
+    private final LoggerContext context = new LoggerContext();
+    private SamplingTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new SamplingTurboFilter();
+        filter.setContext(context);
+        filter.addSample("com.senac.pizzademo=2");
+        filter.addSample("com.senac.pizzademo.controller=10");
+        filter.start();
+    }
+
+    private int mantidos(String logger, Level level, int eventos) {
+        Logger alvo = context.getLogger(logger);
+        int mantidos = 0;
+        for (int i = 0; i < eventos; i++) {
+            if (filter.decide(null, alvo, level, "mensagem {}", new Object[] {i}, null) == FilterReply.NEUTRAL) {
+                mantidos++;
+            }
+        }
+        return mantidos;
+    }
+
+    @Test
+    void testPrefixoMaisLongoDefineAmostragem() {
+        assertEquals(10, mantidos("com.senac.pizzademo.controller.PizzaController", Level.INFO, 100));
+        assertEquals(50, mantidos("com.senac.pizzademo.job.BatchJobService", Level.INFO, 100));
+    }
+
+    @Test
+    void testWarnErrorEOutrosLoggersNaoSaoAmostrados() {
+        assertEquals(100, mantidos("com.senac.pizzademo.controller.PizzaController", Level.WARN, 100));
+        assertEquals(100, mantidos("com.senac.pizzademo.controller.PizzaController", Level.ERROR, 100));
+        assertEquals(100, mantidos("org.hibernate.SQL", Level.INFO, 100));
+    }
+
+    @Test
+    void testIsEnabledNaoConsomeAmostragem() {
+        Logger alvo = context.getLogger("com.senac.pizzademo.controller.PizzaController");
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, alvo, Level.INFO, null, null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, alvo, Level.INFO, null, null, null));
+    }
+
+    @Test
+    void testRegraInvalidaEIgnorada() {
+        SamplingTurboFilter invalido = new SamplingTurboFilter();
+        invalido.setContext(context);
+        invalido.addSample("com.senac.pizzademo");
+        invalido.addSample("com.senac.pizzademo=abc");
+        invalido.start();
+        Logger alvo = context.getLogger("com.senac.pizzademo.controller.PizzaController");
+        assertEquals(FilterReply.NEUTRAL, invalido.decide(null, alvo, Level.INFO, "mensagem", null, null));
+    }
+}
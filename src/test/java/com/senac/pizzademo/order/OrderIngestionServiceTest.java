@@ -0,0 +1,126 @@
+package com.senac.pizzademo.order;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.senac.pizzademo.dto.PedidoDTO;
+import com.senac.pizzademo.exception.BusinessException;
+import com.senac.pizzademo.exception.NotFoundException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderIngestionServiceTest {
+    private JdbcTemplate jdbcTemplate;
+    private MenuPriceTable precos;
+    private OrderWriter writer;
+    private OrderIngestionService service;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:orders;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS pedido_item");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS pedido");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS cardapio");
+        jdbcTemplate.execute("CREATE TABLE cardapio (id BIGINT PRIMARY KEY, valor FLOAT, tamanho VARCHAR(255), pizza_id BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE pedido (id BIGINT PRIMARY KEY, cliente VARCHAR(255), "
+            + "total DECIMAL(12, 2) NOT NULL, criado_em TIMESTAMP(3) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE pedido_item (pedido_id BIGINT NOT NULL, item INT NOT NULL, cardapio_id BIGINT NOT NULL, "
+            + "quantidade INT NOT NULL, preco_unitario DECIMAL(10, 2) NOT NULL, PRIMARY KEY (pedido_id, item), "
+            + "FOREIGN KEY (pedido_id) REFERENCES pedido (id))");
+        jdbcTemplate.update("INSERT INTO cardapio (id, valor, tamanho, pizza_id) VALUES (1, 39.9, 'Grande', 1), (2, 25.5, 'Broto', 1)");
+
+        precos = new MenuPriceTable(jdbcTemplate);
+        precos.recarregar();
+        writer = new OrderWriter(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+            3, 2, Duration.ofMillis(100), Duration.ofSeconds(5));
+        service = new OrderIngestionService(precos, writer, 7);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.shutdown();
+        precos.shutdown();
+    }
+
+    private static PedidoDTO pedido(long cardapioId, int quantidade) {
+        return new PedidoDTO("Maria", List.of(new PedidoDTO.Item(cardapioId, quantidade)));
+    }
+
+    @Test
+    void testAceitar_PrecificaPeloCardapio() {
+        Pedido pedido = service.aceitar(new PedidoDTO("Maria", List.of(
+            new PedidoDTO.Item(1L, 2), new PedidoDTO.Item(2L, 1))));
+
+        assertEquals(new BigDecimal("39.90"), pedido.itens().get(0).precoUnitario());
+        assertEquals(new BigDecimal("105.30"), pedido.total());
+        assertEquals(1, writer.pendentes());
+    }
+
+    @Test
+    void testAceitar_ItemInexistente() {
+        NotFoundException e = assertThrows(NotFoundException.class, () -> service.aceitar(pedido(99, 1)));
+        assertTrue(e.getMessage().contains("id=99"));
+        assertEquals(0, writer.pendentes());
+    }
+
+    @Test
+    void testAceitar_FilaCheiaResponde503() {
+        for (int i = 0; i < 3; i++) {
+            service.aceitar(pedido(1, 1));
+        }
+        BusinessException e = assertThrows(BusinessException.class, () -> service.aceitar(pedido(1, 1)));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+    }
+
+    @Test
+    void testIdsCrescentesEComNo() {
+        long anterior = service.proximoId();
+        for (int i = 0; i < 1000; i++) {
+            long id = service.proximoId();
+            assertTrue(id > anterior);
+            anterior = id;
+        }
+        assertEquals(7, (service.proximoId() >> 12) & 1023);
+    }
+
+    @Test
+    void testWriter_GravaOsPedidosEmLotes() throws InterruptedException {
+        Pedido primeiro = service.aceitar(new PedidoDTO(null, List.of(new PedidoDTO.Item(1L, 1), new PedidoDTO.Item(2L, 3))));
+        service.aceitar(pedido(2, 1));
+        service.aceitar(pedido(1, 4));
+
+        writer.iniciar();
+        writer.shutdown();
+
+        assertEquals(0, writer.pendentes());
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pedido", Integer.class));
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pedido_item", Integer.class));
+        assertEquals(new BigDecimal("116.40"),
+            jdbcTemplate.queryForObject("SELECT total FROM pedido WHERE id = ?", BigDecimal.class, primeiro.id()));
+    }
+
+    @Test
+    void testWriter_DescartaSoOPedidoQueViolaRestricao() {
+        // O primeiro pedido já está gravado quando o lote sai da fila e viola a chave primária;
+        // o outro pedido do mesmo lote ainda é gravado
+        Pedido valido = service.aceitar(pedido(1, 1));
+        writer.gravar(List.of(valido));
+        Pedido novo = service.aceitar(pedido(2, 1));
+
+        writer.iniciar();
+        assertDoesNotThrow(writer::shutdown);
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pedido", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pedido WHERE id = ?", Integer.class, novo.id()));
+    }
+}
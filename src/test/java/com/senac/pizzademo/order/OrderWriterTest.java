@@ -0,0 +1,148 @@
+package com.senac.pizzademo.order;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderWriterTest {
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private OrderWriter writer;
+
+    /** Lança a falha programada para a n-ésima chamada de gravar (a partir de 1), ou grava de fato. */
+    private class OrderWriterComFalhas extends OrderWriter {
+        final Map<Integer, RuntimeException> falhas = new HashMap<>();
+        final List<List<Long>> chamadas = new ArrayList<>();
+
+        OrderWriterComFalhas() {
+            super(jdbcTemplate, transactionManager, 10, 100, Duration.ofMillis(100), Duration.ofSeconds(5));
+        }
+
+        @Override
+        synchronized void gravar(List<Pedido> lote) {
+            chamadas.add(lote.stream().map(Pedido::id).toList());
+            RuntimeException falha = falhas.get(chamadas.size());
+            if (falha != null) {
+                throw falha;
+            }
+            super.gravar(lote);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:writer;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS pedido_item");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS pedido");
+        jdbcTemplate.execute("CREATE TABLE pedido (id BIGINT PRIMARY KEY, cliente VARCHAR(255), "
+            + "total DECIMAL(12, 2) NOT NULL, criado_em TIMESTAMP(3) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE pedido_item (pedido_id BIGINT NOT NULL, item INT NOT NULL, cardapio_id BIGINT NOT NULL, "
+            + "quantidade INT NOT NULL, preco_unitario DECIMAL(10, 2) NOT NULL, PRIMARY KEY (pedido_id, item))");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    private static Pedido pedido(long id) {
+        return new Pedido(id, "Maria", new BigDecimal("39.90"), Instant.now(),
+            List.of(new Pedido.Item(1, 1, new BigDecimal("39.90"))));
+    }
+
+    private List<Long> gravados() {
+        return jdbcTemplate.queryForList("SELECT id FROM pedido ORDER BY id", Long.class);
+    }
+
+    private void aguardarGravados(List<Long> esperados) throws InterruptedException {
+        long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!gravados().equals(esperados)) {
+            assertTrue(System.nanoTime() < limite, "Gravados: " + gravados());
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    void testFalhaTransitoriaERepetida() throws InterruptedException {
+        OrderWriterComFalhas comFalhas = new OrderWriterComFalhas();
+        writer = comFalhas;
+        comFalhas.falhas.put(1, new QueryTimeoutException("timeout"));
+        comFalhas.falhas.put(2, new CannotGetJdbcConnectionException("Connection is not available"));
+        writer.enfileirar(pedido(1));
+        writer.iniciar();
+
+        aguardarGravados(List.of(1L));
+        assertEquals(3, comFalhas.chamadas.size());
+    }
+
+    @Test
+    void testErroNaoTransitorioDescartaOLoteSemDerrubarAThread() throws InterruptedException {
+        OrderWriterComFalhas comFalhas = new OrderWriterComFalhas();
+        writer = comFalhas;
+        comFalhas.falhas.put(1, new InvalidDataAccessApiUsageException("erro de programação"));
+        comFalhas.falhas.put(2, new IllegalStateException("inesperado"));
+        writer.iniciar();
+
+        writer.enfileirar(pedido(1));
+        aguardarChamadas(comFalhas, 1);
+        writer.enfileirar(pedido(2));
+        aguardarChamadas(comFalhas, 2);
+        writer.enfileirar(pedido(3));
+
+        aguardarGravados(List.of(3L));
+        // Nenhum dos dois erros foi repetido
+        assertEquals(List.of(List.of(1L), List.of(2L), List.of(3L)), comFalhas.chamadas);
+    }
+
+    @Test
+    void testPedidoAPedidoTambemRepeteFalhaTransitoria() throws InterruptedException {
+        OrderWriterComFalhas comFalhas = new OrderWriterComFalhas();
+        writer = comFalhas;
+        // 1: o lote viola a chave primária; 2: falha transitória no primeiro pedido, repetido em 3
+        comFalhas.falhas.put(2, new QueryTimeoutException("timeout"));
+        writer.enfileirar(pedido(1));
+        writer.enfileirar(pedido(2));
+        writer.enfileirar(pedido(1));
+        writer.iniciar();
+
+        aguardarGravados(List.of(1L, 2L));
+        aguardarChamadas(comFalhas, 5);
+        assertEquals(List.of(List.of(1L, 2L, 1L), List.of(1L), List.of(1L), List.of(2L), List.of(1L)),
+            comFalhas.chamadas);
+    }
+
+    private static void aguardarChamadas(OrderWriterComFalhas writer, int chamadas) throws InterruptedException {
+        long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (chamadasAte(writer) < chamadas) {
+            assertTrue(System.nanoTime() < limite, "Chamadas: " + chamadasAte(writer));
+            Thread.sleep(20);
+        }
+    }
+
+    private static int chamadasAte(OrderWriterComFalhas writer) {
+        synchronized (writer) {
+            return writer.chamadas.size();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.senac.pizzademo.order;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.senac.pizzademo.dto.CotacaoDTO;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class QuoteEngineTest {
+    private MenuPriceTable precos;
+    private QuoteEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        // Cardápio vazio no banco; os itens chegam como alterações locais
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class))).thenReturn(0);
+        precos = new MenuPriceTable(jdbcTemplate);
+        precos.recarregar();
+        engine = new QuoteEngine(precos);
+    }
+
+    @AfterEach
+    void tearDown() {
+        precos.shutdown();
+    }
+
+    private static CardapioPriceListener.Alteracao item(long id, long pizzaId, String tamanho, float valor) {
+        return new CardapioPriceListener.Alteracao(id, pizzaId, tamanho, valor, false);
+    }
+
+    private static CotacaoDTO carrinho(CotacaoDTO.Item... itens) {
+        return new CotacaoDTO(List.of(itens));
+    }
+
+    @Test
+    void testCotar_SomaEmCentavosPelaPizzaETamanho() {
+        precos.aplicar(List.of(item(1, 10, "Grande", 39.9f), item(2, 10, "Broto", 25.5f), item(3, 11, "Grande", 42.0f)));
+
+        Cotacao cotacao = engine.cotar(carrinho(
+            new CotacaoDTO.Item(10L, "Grande", 2), new CotacaoDTO.Item(11L, "Grande", 1), new CotacaoDTO.Item(10L, "Gigante", 1)));
+
+        assertEquals(new BigDecimal("121.80"), cotacao.total());
+        assertEquals(new BigDecimal("79.80"), cotacao.itens().get(0).subtotal());
+        assertEquals(1, cotacao.indisponiveis().size());
+        assertEquals("Gigante", cotacao.indisponiveis().get(0).tamanho());
+    }
+
+    @Test
+    void testAplicar_PublicaNovoSnapshotSemAlterarOAnterior() {
+        precos.aplicar(List.of(item(1, 10, "Grande", 39.9f)));
+        PriceSnapshot antes = precos.snapshot();
+
+        precos.aplicar(List.of(item(1, 10, "Grande", 44.9f)));
+
+        assertEquals(3990, antes.centavos(10, "Grande"));
+        assertEquals(4490, precos.snapshot().centavos(10, "Grande"));
+        assertEquals(antes.versao() + 1, precos.snapshot().versao());
+    }
+
+    @Test
+    void testAplicar_RemocaoDevolveOutroItemDaMesmaPizzaETamanho() {
+        precos.aplicar(List.of(item(5, 10, "Grande", 39.9f), item(7, 10, "Grande", 41.0f)));
+        assertEquals(3990, precos.snapshot().centavos(10, "Grande"));
+
+        precos.aplicar(List.of(new CardapioPriceListener.Alteracao(5, null, null, null, true)));
+
+        assertEquals(4100, precos.snapshot().centavos(10, "Grande"));
+        assertEquals(PriceSnapshot.AUSENTE, precos.snapshot().centavos(5));
+    }
+
+    @Test
+    void testAplicar_TrocaDeTamanhoMoveOPreco() {
+        precos.aplicar(List.of(item(1, 10, "Grande", 39.9f)));
+        precos.aplicar(List.of(item(1, 10, "Média", 35.0f)));
+
+        assertEquals(PriceSnapshot.AUSENTE, precos.snapshot().centavos(10, "Grande"));
+        assertEquals(3500, precos.snapshot().centavos(10, "Média"));
+    }
+
+    @Test
+    void testLongLongTable_ComportaSeComoUmMapa() {
+        LongLongTable tabela = new LongLongTable(4);
+        Map<Long, Long> esperado = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            long chave = 1 + random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                tabela.remove(chave);
+                esperado.remove(chave);
+            } else {
+                tabela.put(chave, i);
+                esperado.put(chave, (long) i);
+            }
+        }
+        assertEquals(esperado.size(), tabela.tamanho());
+        for (long chave = 1; chave <= 2_000; chave++) {
+            assertEquals(esperado.getOrDefault(chave, -1L), tabela.get(chave, -1));
+        }
+    }
+}
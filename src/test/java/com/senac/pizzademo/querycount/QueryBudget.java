@@ -0,0 +1,79 @@
+package com.senac.pizzademo.querycount;
+
+import java.util.List;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Executa uma requisição no MockMvc e verifica quantos comandos SQL ela gerou, contados no
+ * DataSource pelo {@link SqlStatementCounter} (o teste precisa importar a configuração dele).
+ *
+ * Exemplo:
+ *   QueryBudget.of(mockMvc).perform(get("/cardapio")).atMost(1);
+ */
+public class QueryBudget {
+    private final MockMvc mockMvc;
+
+    private QueryBudget(MockMvc mockMvc) {
+        this.mockMvc = mockMvc;
+    }
+
+    public static QueryBudget of(MockMvc mockMvc) {
+        return new QueryBudget(mockMvc);
+    }
+
+    public Result perform(RequestBuilder request) throws Exception {
+        SqlStatementCounter.iniciar();
+        ResultActions acoes;
+        List<String> comandos;
+        try {
+            acoes = mockMvc.perform(request);
+        } finally {
+            comandos = SqlStatementCounter.encerrar();
+        }
+        return new Result(acoes, comandos);
+    }
+
+    /**
+     * Resultado de uma requisição medida: a resposta e os comandos SQL executados.
+     */
+    public static class Result {
+        private final ResultActions acoes;
+        private final List<String> comandos;
+
+        Result(ResultActions acoes, List<String> comandos) {
+            this.acoes = acoes;
+            this.comandos = comandos;
+        }
+
+        public ResultActions andExpect() {
+            return acoes;
+        }
+
+        public List<String> comandos() {
+            return comandos;
+        }
+
+        public int total() {
+            return comandos.size();
+        }
+
+        /** Falha listando os comandos executados se o total passar do limite. */
+        public Result atMost(int limite) {
+            if (comandos.size() > limite) {
+                fail("Esperado no máximo " + limite + " comandos SQL, executados " + comandos.size() + ":\n"
+                    + String.join("\n", comandos));
+            }
+            return this;
+        }
+
+        /** Limite que cresce com o número de itens enviados, ex.: um INSERT por item. */
+        public Result atMost(int fixo, int porItem, int itens) {
+            return atMost(fixo + porItem * itens);
+        }
+    }
+}
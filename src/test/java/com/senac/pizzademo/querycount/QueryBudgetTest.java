@@ -0,0 +1,174 @@
+package com.senac.pizzademo.querycount;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.senac.pizzademo.catalog.IngredientCatalog;
+import com.senac.pizzademo.security.JwtUtil;
+import com.senac.pizzademo.seed.CatalogSeeder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Orçamento de comandos SQL por endpoint, em um H2 com dados gerados pelo CatalogSeeder.
+ *
+ * As leituras são medidas com dois tamanhos de catálogo: o número de comandos não pode
+ * crescer com o número de pizzas (N+1). As escritas têm limite fixo ou por item enviado.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("querycount")
+@Import(SqlStatementCounter.Configuracao.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private IngredientCatalog ingredientCatalog;
+
+    private QueryBudget budget;
+    private final String token = "Bearer " + JwtUtil.generateToken("querycount");
+
+    @BeforeAll
+    void setUp() throws Exception {
+        budget = QueryBudget.of(mockMvc);
+        semear(10);
+    }
+
+    private void semear(long pizzas) throws Exception {
+        new CatalogSeeder(dataSource, pizzas, pizzas, 1.0, 100, 10).run();
+        // O seeder grava direto no banco; a primeira leitura de nomes não deve depender da ordem dos testes
+        ingredientCatalog.carregar();
+    }
+
+    private MockHttpServletRequestBuilder autenticado(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", token);
+    }
+
+    /** Mede a leitura com o catálogo atual e com 200 pizzas a mais. */
+    private void leituraConstante(MockHttpServletRequestBuilder request, int limite) throws Exception {
+        QueryBudget.Result pequeno = budget.perform(request).atMost(limite);
+        pequeno.andExpect().andExpect(status().isOk());
+        semear(200);
+        QueryBudget.Result grande = budget.perform(request).atMost(limite);
+        grande.andExpect().andExpect(status().isOk());
+        assertEquals(pequeno.total(), grande.total(), "O número de comandos cresceu com o catálogo");
+    }
+
+    @Test
+    void testGetPizzas() throws Exception {
+        leituraConstante(autenticado(get("/pizza")), 2);
+    }
+
+    @Test
+    void testGetPizzasEsparsas() throws Exception {
+        leituraConstante(autenticado(get("/pizza").param("fields", "id,sabor").param("include", "ingredientes,cardapio")), 3);
+    }
+
+    @Test
+    void testGetCardapio() throws Exception {
+        leituraConstante(get("/cardapio"), 1);
+    }
+
+    @Test
+    void testGetCardapioComPizza() throws Exception {
+        leituraConstante(get("/cardapio").param("include", "pizza"), 1);
+    }
+
+    @Test
+    void testGetIngredientes() throws Exception {
+        leituraConstante(get("/ingredientes"), 1);
+    }
+
+    @Test
+    void testGetPizzasPorIdsUsaCache() throws Exception {
+        Long primeiro = new JdbcTemplate(dataSource).queryForObject("SELECT MIN(id) FROM pizza", Long.class);
+        String ids = primeiro + "," + (primeiro + 1) + "," + (primeiro + 2);
+        budget.perform(autenticado(get("/pizza").param("ids", ids)))
+            .atMost(2)
+            .andExpect().andExpect(status().isOk());
+        budget.perform(autenticado(get("/pizza/" + primeiro)))
+            .atMost(0)
+            .andExpect().andExpect(status().isOk());
+    }
+
+    @Test
+    void testPostPizza() throws Exception {
+        budget.perform(autenticado(post("/pizza"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"sabor\": \"Orçamento\"}"))
+            // INSERT da pizza, mais UPDATE e SELECT da versão do catálogo
+            .atMost(3)
+            .andExpect().andExpect(status().isOk());
+    }
+
+    @Test
+    void testPostPizzasEmLoteComIngredientes() throws Exception {
+        // 3 pizzas com 2 ingredientes cada: um INSERT por linha, sem SELECTs extras, mais
+        // UPDATE e SELECT da versão de pizza e de ingredientes
+        String pizza = "{\"sabor\": \"Lote\", \"ingredientes\": ["
+            + "{\"ingrediente\": \"Mussarela\", \"quantidade\": \"100g\"},"
+            + "{\"ingrediente\": \"Tomate\", \"quantidade\": \"50g\"}]}";
+        budget.perform(autenticado(post("/pizza/batch"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + pizza + "," + pizza + "," + pizza + "]"))
+            .atMost(4, 3, 3)
+            .andExpect().andExpect(status().isCreated());
+    }
+
+    @Test
+    void testPostCardapio() throws Exception {
+        Long pizzaId = new JdbcTemplate(dataSource).queryForObject("SELECT MIN(id) FROM pizza", Long.class);
+        budget.perform(post("/cardapio")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"preco\": 39.9, \"tamanho\": \"Grande\", \"pizza\": {\"id\": " + pizzaId + "}}"))
+            // Verificação da pizza, INSERT do preço e do histórico, UPDATE e SELECT da versão
+            .atMost(5)
+            .andExpect().andExpect(status().isOk());
+    }
+
+    @Test
+    void testPostCardapiosEmLote() throws Exception {
+        // Uma verificação das pizzas para o lote inteiro e a versão do catálogo (UPDATE e SELECT),
+        // mais os INSERTs do preço e do histórico por item
+        Long pizzaId = new JdbcTemplate(dataSource).queryForObject("SELECT MIN(id) FROM pizza", Long.class);
+        StringBuilder itens = new StringBuilder("[");
+        for (int i = 0; i < 5; i++) {
+            itens.append(i > 0 ? "," : "").append("{\"valor\": 39.9, \"tamanho\": \"T").append(i)
+                .append("\", \"pizza\": {\"id\": ").append(pizzaId + i).append("}}");
+        }
+        budget.perform(post("/cardapio/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(itens.append("]").toString()))
+            .atMost(3, 2, 5)
+            .andExpect().andExpect(status().isOk());
+    }
+
+    @Test
+    void testDeleteCardapio() throws Exception {
+        Long id = new JdbcTemplate(dataSource).queryForObject("SELECT MAX(id) FROM cardapio", Long.class);
+        budget.perform(delete("/cardapio/" + id))
+            // SELECT e DELETE do preço, INSERT do histórico, UPDATE e SELECT da versão
+            .atMost(5)
+            .andExpect().andExpect(status().isOk());
+    }
+}
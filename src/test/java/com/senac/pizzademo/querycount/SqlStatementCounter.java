@@ -0,0 +1,120 @@
+package com.senac.pizzademo.querycount;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.NonNull;
+
+/**
+ * DataSource que registra todo comando SQL enviado ao banco, do Hibernate e do JdbcTemplate.
+ *
+ * A contagem é por thread, entre {@link #iniciar()} e {@link #encerrar()}: o MockMvc executa
+ * a requisição na thread do teste, então os comandos de outras threads (poller do cluster,
+ * reconstrução do snapshot, gravação de pedidos) não entram na conta. Cada execute conta
+ * uma ida ao banco; um executeBatch conta uma só, como chega ao banco.
+ *
+ * Envolve o DataSource da aplicação pela {@link Configuracao}, importada pelo teste.
+ */
+public class SqlStatementCounter extends DelegatingDataSource {
+    private static final ThreadLocal<List<String>> COMANDOS = new ThreadLocal<>();
+
+    public SqlStatementCounter(DataSource alvo) {
+        super(alvo);
+    }
+
+    /**
+     * Começa a registrar os comandos desta thread, descartando uma contagem anterior.
+     */
+    public static void iniciar() {
+        COMANDOS.set(new ArrayList<>());
+    }
+
+    /**
+     * Para de registrar e devolve os comandos desta thread desde {@link #iniciar()}.
+     */
+    public static List<String> encerrar() {
+        List<String> comandos = COMANDOS.get();
+        COMANDOS.remove();
+        return comandos != null ? List.copyOf(comandos) : List.of();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return contar(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return contar(super.getConnection(username, password));
+    }
+
+    private static Connection contar(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(SqlStatementCounter.class.getClassLoader(),
+            new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invocar(Object alvo, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private record ConnectionHandler(Connection connection) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object resultado = invocar(connection, method, args);
+            if (resultado instanceof Statement statement) {
+                String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                Class<?> tipo = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(SqlStatementCounter.class.getClassLoader(),
+                    new Class<?>[] {tipo}, new StatementHandler(statement, sql));
+            }
+            return resultado;
+        }
+    }
+
+    private record StatementHandler(Statement statement, String sql) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            List<String> comandos = COMANDOS.get();
+            if (comandos != null && method.getName().startsWith("execute")) {
+                comandos.add(args != null && args.length > 0 && args[0] instanceof String s ? s : sql);
+            }
+            return invocar(statement, method, args);
+        }
+    }
+
+    @TestConfiguration
+    public static class Configuracao {
+        @Bean
+        static BeanPostProcessor sqlStatementCounterPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof SqlStatementCounter)) {
+                        return new SqlStatementCounter(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
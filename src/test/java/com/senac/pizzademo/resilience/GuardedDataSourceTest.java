@@ -0,0 +1,210 @@
+package com.senac.pizzademo.resilience;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GuardedDataSourceTest {
+    private DriverManagerDataSource banco;
+
+    @BeforeEach
+    void setUp() {
+        banco = new DriverManagerDataSource("jdbc:h2:mem:guarded;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(banco);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS item");
+        jdbcTemplate.execute("CREATE TABLE item (id BIGINT PRIMARY KEY)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        Deadline.limpar();
+    }
+
+    private static DatabaseCircuitBreaker disjuntor(Duration limiteLenta, Duration abertura) {
+        return new DatabaseCircuitBreaker(true, 10, 4, 50, 80, limiteLenta, abertura, 2);
+    }
+
+    private static SQLException falhaDeConexao() {
+        return new SQLTransientConnectionException("Connection is not available, request timed out");
+    }
+
+    @Test
+    void testPrazoVira_QueryTimeout() throws SQLException {
+        GuardedDataSource dataSource = new GuardedDataSource(banco, disjuntor(Duration.ofSeconds(2), Duration.ofSeconds(10)));
+        Deadline.definir(System.nanoTime() + Duration.ofMillis(2500).toNanos());
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+            assertEquals(3, statement.getQueryTimeout());
+        }
+    }
+
+    @Test
+    void testSemPrazo_NaoAlteraOTimeout() throws SQLException {
+        GuardedDataSource dataSource = new GuardedDataSource(banco, disjuntor(Duration.ofSeconds(2), Duration.ofSeconds(10)));
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+            assertEquals(0, statement.getQueryTimeout());
+        }
+    }
+
+    @Test
+    void testPrazoEsgotado_NaoEnviaOComando() throws SQLException {
+        DatabaseCircuitBreaker disjuntor = disjuntor(Duration.ofSeconds(2), Duration.ofSeconds(10));
+        GuardedDataSource dataSource = new GuardedDataSource(banco, disjuntor);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            Deadline.definir(System.nanoTime() - 1);
+            assertThrows(DeadlineExceededException.class, () -> statement.execute("INSERT INTO item VALUES (1)"));
+            Deadline.limpar();
+            assertEquals(0, new JdbcTemplate(banco).queryForObject("SELECT COUNT(*) FROM item", Integer.class));
+        }
+        Deadline.definir(System.nanoTime() - 1);
+        assertThrows(DeadlineExceededException.class, dataSource::getConnection);
+        assertEquals(DatabaseCircuitBreaker.Estado.FECHADO, disjuntor.estado());
+    }
+
+    private static final String CONSULTA_LENTA =
+        "SELECT COUNT(*) FROM SYSTEM_RANGE(1, 100000) a, SYSTEM_RANGE(1, 100000) b WHERE MOD(a.X + b.X, 7) = 3";
+
+    @Test
+    void testTimeoutDoPrazo_NaoContaComoFalhaDoBanco() throws SQLException {
+        // Duas falhas em duas chamadas abririam o disjuntor
+        DatabaseCircuitBreaker disjuntor = new DatabaseCircuitBreaker(true, 10, 2, 50, 80, Duration.ofSeconds(10),
+            Duration.ofSeconds(10), 2);
+        GuardedDataSource dataSource = new GuardedDataSource(banco, disjuntor);
+        try (Connection connection = dataSource.getConnection()) {
+            for (int i = 0; i < 2; i++) {
+                // Prazo curto, como o de um X-Request-Timeout: o query timeout de 1 s cancela a consulta
+                Deadline.definir(System.nanoTime() + Duration.ofMillis(300).toNanos());
+                try (Statement statement = connection.createStatement()) {
+                    DeadlineExceededException e = assertThrows(DeadlineExceededException.class,
+                        () -> statement.executeQuery(CONSULTA_LENTA));
+                    assertInstanceOf(SQLTimeoutException.class, e.getCause());
+                }
+            }
+        }
+        assertEquals(DatabaseCircuitBreaker.Estado.FECHADO, disjuntor.estado());
+    }
+
+    @Test
+    void testTimeoutDoProprioComando_ContaComoFalhaDoBanco() throws SQLException {
+        DatabaseCircuitBreaker disjuntor = new DatabaseCircuitBreaker(true, 10, 2, 50, 80, Duration.ofSeconds(10),
+            Duration.ofSeconds(10), 2);
+        GuardedDataSource dataSource = new GuardedDataSource(banco, disjuntor);
+        try (Connection connection = dataSource.getConnection()) {
+            for (int i = 0; i < 2; i++) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.setQueryTimeout(1);
+                    SQLException e = assertThrows(SQLException.class, () -> statement.executeQuery(CONSULTA_LENTA));
+                    assertFalse(e instanceof DeadlineExceededException);
+                }
+            }
+        }
+        assertEquals(DatabaseCircuitBreaker.Estado.ABERTO, disjuntor.estado());
+    }
+
+    @Test
+    void testErroDeNegocio_NaoAbreODisjuntor() throws SQLException {
+        DatabaseCircuitBreaker disjuntor = disjuntor(Duration.ofSeconds(2), Duration.ofSeconds(10));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new GuardedDataSource(banco, disjuntor));
+        jdbcTemplate.update("INSERT INTO item VALUES (1)");
+        for (int i = 0; i < 10; i++) {
+            assertThrows(RuntimeException.class, () -> jdbcTemplate.update("INSERT INTO item VALUES (1)"));
+        }
+        assertEquals(DatabaseCircuitBreaker.Estado.FECHADO, disjuntor.estado());
+    }
+
+    @Test
+    void testDisjuntor_AbreComFalhasERecusaConexoes() {
+        DatabaseCircuitBreaker disjuntor = disjuntor(Duration.ofSeconds(2), Duration.ofSeconds(10));
+        GuardedDataSource dataSource = new GuardedDataSource(banco, disjuntor);
+        disjuntor.registrar(1_000, null);
+        disjuntor.registrar(1_000, null);
+        disjuntor.registrar(1_000, falhaDeConexao());
+        assertEquals(DatabaseCircuitBreaker.Estado.FECHADO, disjuntor.estado());
+        // 2 falhas em 4 chamadas: 50%
+        disjuntor.registrar(1_000, falhaDeConexao());
+        assertEquals(DatabaseCircuitBreaker.Estado.ABERTO, disjuntor.estado());
+
+        DatabaseUnavailableException e = assertThrows(DatabaseUnavailableException.class, dataSource::getConnection);
+        assertEquals(10, e.getRetryAfterSegundos());
+    }
+
+    @Test
+    void testDisjuntor_AbreComChamadasLentas() {
+        DatabaseCircuitBreaker disjuntor = disjuntor(Duration.ofMillis(100), Duration.ofSeconds(10));
+        for (int i = 0; i < 4; i++) {
+            disjuntor.registrar(Duration.ofMillis(150).toNanos(), null);
+        }
+        assertEquals(DatabaseCircuitBreaker.Estado.ABERTO, disjuntor.estado());
+    }
+
+    @Test
+    void testDisjuntor_MeioAbertoFechaComChamadasDeTeste() throws Exception {
+        DatabaseCircuitBreaker disjuntor = disjuntor(Duration.ofSeconds(2), Duration.ofMillis(300));
+        GuardedDataSource dataSource = new GuardedDataSource(banco, disjuntor);
+        for (int i = 0; i < 4; i++) {
+            disjuntor.registrar(1_000, falhaDeConexao());
+        }
+        Thread.sleep(350);
+
+        // Duas conexões de teste; a terceira é recusada até os testes terminarem
+        Connection primeira = dataSource.getConnection();
+        Connection segunda = dataSource.getConnection();
+        assertEquals(DatabaseCircuitBreaker.Estado.MEIO_ABERTO, disjuntor.estado());
+        assertThrows(DatabaseUnavailableException.class, dataSource::getConnection);
+        try (Statement statement = primeira.createStatement()) {
+            statement.execute("SELECT 1");
+        }
+        try (Statement statement = segunda.createStatement()) {
+            statement.execute("SELECT 1");
+        }
+        primeira.close();
+        segunda.close();
+        assertEquals(DatabaseCircuitBreaker.Estado.FECHADO, disjuntor.estado());
+        dataSource.getConnection().close();
+    }
+
+    @Test
+    void testDisjuntor_MeioAbertoReabreComFalha() throws Exception {
+        DatabaseCircuitBreaker disjuntor = disjuntor(Duration.ofSeconds(2), Duration.ofMillis(300));
+        for (int i = 0; i < 4; i++) {
+            disjuntor.registrar(1_000, falhaDeConexao());
+        }
+        Thread.sleep(350);
+        disjuntor.permitir();
+        disjuntor.registrar(1_000, falhaDeConexao());
+        assertEquals(DatabaseCircuitBreaker.Estado.ABERTO, disjuntor.estado());
+        assertThrows(DatabaseUnavailableException.class, disjuntor::permitir);
+    }
+
+    @Test
+    void testFiltro_PrazoPorRotaEHeader() {
+        DeadlineFilter filtro = new DeadlineFilter(Duration.ofSeconds(10),
+            "GET /pizza=PT3S, /pizza/batch=PT60S, POST /pedidos=PT2S");
+
+        assertEquals(Duration.ofSeconds(3).toNanos(), filtro.prazoNanos(new MockHttpServletRequest("GET", "/pizza/5")));
+        assertEquals(Duration.ofSeconds(60).toNanos(), filtro.prazoNanos(new MockHttpServletRequest("POST", "/pizza/batch")));
+        assertEquals(Duration.ofSeconds(10).toNanos(), filtro.prazoNanos(new MockHttpServletRequest("GET", "/pizzaria")));
+        assertEquals(Duration.ofSeconds(10).toNanos(), filtro.prazoNanos(new MockHttpServletRequest("GET", "/pedidos")));
+
+        MockHttpServletRequest comHeader = new MockHttpServletRequest("POST", "/pedidos");
+        comHeader.addHeader(DeadlineFilter.HEADER, "500");
+        assertEquals(Duration.ofMillis(500).toNanos(), filtro.prazoNanos(comHeader));
+        // O header só encurta o prazo
+        MockHttpServletRequest maior = new MockHttpServletRequest("POST", "/pedidos");
+        maior.addHeader(DeadlineFilter.HEADER, "60000");
+        assertEquals(Duration.ofSeconds(2).toNanos(), filtro.prazoNanos(maior));
+    }
+}
@@ -0,0 +1,64 @@
+package com.senac.pizzademo.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtFilterTest {
+    private final JwtFilter filter = new JwtFilter();
+
+    private MockFilterChain filtrar(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        return chain;
+    }
+
+    @Test
+    void testJobsSemToken_Responde401() throws Exception {
+        for (String[] rota : new String[][] {{"GET", "/jobs/abc"}, {"POST", "/jobs/abc/retry"}}) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = filtrar(new MockHttpServletRequest(rota[0], rota[1]), response);
+
+            assertEquals(401, response.getStatus());
+            assertNull(chain.getRequest());
+        }
+    }
+
+    @Test
+    void testJobsComTokenInvalido_Responde401() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/jobs/abc");
+        request.addHeader("Authorization", "Bearer invalido");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        MockFilterChain chain = filtrar(request, response);
+
+        assertEquals(401, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void testJobsComToken_SegueComOUsuario() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/jobs/abc/retry");
+        request.addHeader("Authorization", "Bearer " + JwtUtil.generateToken("maria"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        MockFilterChain chain = filtrar(request, response);
+
+        assertSame(request, chain.getRequest());
+        assertEquals("maria", request.getAttribute(JwtFilter.USUARIO));
+    }
+
+    @Test
+    void testRotaAberta_SegueSemToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/cardapio");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        MockFilterChain chain = filtrar(request, response);
+
+        assertSame(request, chain.getRequest());
+        assertEquals(200, response.getStatus());
+    }
+}
@@ -0,0 +1,113 @@
+package com.senac.pizzademo.security;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import com.senac.pizzademo.exception.BusinessException;
+import com.senac.pizzademo.model.Usuario;
+import com.senac.pizzademo.repository.UsuarioRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class LoginServiceTest {
+    private UsuarioRepository usuarioRepository;
+    private PasswordHasher passwordHasher;
+    private LoginService loginService;
+
+    @BeforeEach
+    void setUp() {
+        usuarioRepository = mock(UsuarioRepository.class);
+        passwordHasher = spy(new PasswordHasher(1_000));
+        // Calculado antes do when(): chamar o spy dentro do stubbing deixa o stubbing incompleto
+        String hashDaMaria = passwordHasher.hash("senha-da-maria");
+        when(usuarioRepository.findByUsername(anyString())).thenReturn(Optional.empty());
+        when(usuarioRepository.findByUsername("maria")).thenReturn(Optional.of(new Usuario("maria", hashDaMaria)));
+        loginService = new LoginService(usuarioRepository, passwordHasher, 1, 1, Duration.ofSeconds(5), Duration.ofMinutes(5), 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (loginService != null) {
+            loginService.shutdown();
+        }
+    }
+
+    @Test
+    void testHash_VerificaSoASenhaCorreta() {
+        String hash = passwordHasher.hash("senha123");
+
+        assertTrue(hash.startsWith("pbkdf2-sha256$1000$"));
+        assertTrue(passwordHasher.verificar("senha123", hash));
+        assertFalse(passwordHasher.verificar("senha124", hash));
+        assertFalse(passwordHasher.verificar("senha123", "texto-qualquer"));
+        assertNotEquals(hash, passwordHasher.hash("senha123"));
+    }
+
+    @Test
+    void testAutenticar_UsuarioESenha() {
+        assertTrue(loginService.autenticar("maria", "senha-da-maria"));
+        assertFalse(loginService.autenticar("maria", "errada"));
+        assertFalse(loginService.autenticar("joao", "senha-da-maria"));
+        assertFalse(loginService.autenticar("maria", null));
+    }
+
+    @Test
+    void testAutenticar_SucessoFicaEmCache() {
+        assertTrue(loginService.autenticar("maria", "senha-da-maria"));
+        assertTrue(loginService.autenticar("maria", "senha-da-maria"));
+        // Uma senha errada nunca é respondida pelo cache
+        assertFalse(loginService.autenticar("maria", "errada"));
+
+        verify(passwordHasher, times(1)).verificar(eq("senha-da-maria"), anyString());
+    }
+
+    @Test
+    void testAutenticar_TrocaDeSenhaInvalidaOCache() {
+        assertTrue(loginService.autenticar("maria", "senha-da-maria"));
+        String hashNovo = passwordHasher.hash("senha-nova");
+        when(usuarioRepository.findByUsername("maria")).thenReturn(Optional.of(new Usuario("maria", hashNovo)));
+
+        assertFalse(loginService.autenticar("maria", "senha-da-maria"));
+        assertTrue(loginService.autenticar("maria", "senha-nova"));
+    }
+
+    @Test
+    void testAutenticar_FilaCheiaResponde503() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch ocupado = new CountDownLatch(1);
+        doAnswer(invocacao -> {
+            ocupado.countDown();
+            liberar.await();
+            return invocacao.callRealMethod();
+        }).when(passwordHasher).verificar(eq("lenta"), anyString());
+
+        // Uma verificação ocupa a única thread e outra ocupa a única posição da fila
+        ExecutorService clientes = Executors.newFixedThreadPool(2);
+        try {
+            clientes.submit(() -> loginService.autenticar("maria", "lenta"));
+            assertTrue(ocupado.await(5, TimeUnit.SECONDS));
+            clientes.submit(() -> loginService.autenticar("maria", "outra"));
+            Thread.sleep(100);
+
+            long inicio = System.nanoTime();
+            BusinessException e = assertThrows(BusinessException.class, () -> loginService.autenticar("maria", "senha-da-maria"));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+            assertTrue(System.nanoTime() - inicio < TimeUnit.SECONDS.toNanos(1));
+        } finally {
+            liberar.countDown();
+            clientes.shutdown();
+            clientes.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.senac.pizzademo.seed;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class BulkInserterTest {
+    private Connection banco;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        banco = DriverManager.getConnection("jdbc:h2:mem:bulk;MODE=MySQL", "sa", "");
+        try (Statement statement = banco.createStatement()) {
+            statement.execute("CREATE TABLE pizza (id BIGINT PRIMARY KEY, sabor VARCHAR(255))");
+            statement.execute("CREATE TABLE ingredientes (pizza_id BIGINT REFERENCES pizza (id), nome VARCHAR(255))");
+        }
+        connection = spy(banco);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        banco.close();
+    }
+
+    private long contar(String tabela) throws SQLException {
+        try (Statement statement = banco.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM " + tabela)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    @Test
+    void testFilhosEsperamOPaiSemForcarInsertParcial() throws SQLException {
+        BulkInserter pizzas = new BulkInserter(connection, "pizza", new String[] {"id", "sabor"}, 4, null);
+        BulkInserter ingredientes = new BulkInserter(connection, "ingredientes",
+            new String[] {"pizza_id", "nome"}, 4, pizzas);
+
+        // Como o gerador: cada pizza seguida dos seus três ingredientes. A chave estrangeira
+        // falharia se algum ingrediente fosse gravado antes da sua pizza.
+        for (long id = 1; id <= 10; id++) {
+            pizzas.add(id, "Pizza " + id);
+            for (int i = 0; i < 3; i++) {
+                ingredientes.add(id, "Ingrediente " + i);
+            }
+        }
+        // Só os INSERTs completos até aqui: 2 de pizzas (8) e 6 de ingredientes (24, até a pizza 8)
+        assertEquals(8, contar("pizza"));
+        assertEquals(24, contar("ingredientes"));
+        verify(connection, times(2)).prepareStatement(anyString());
+
+        ingredientes.flush();
+        pizzas.flush();
+        assertEquals(10, contar("pizza"));
+        assertEquals(30, contar("ingredientes"));
+        assertEquals(10, pizzas.total());
+        assertEquals(30, ingredientes.total());
+        // No fim, um INSERT parcial de cada tabela: as pizzas 9 e 10 e os seus 6 ingredientes
+        verify(connection, times(1)).prepareStatement("INSERT INTO pizza (id, sabor) VALUES (?, ?), (?, ?)");
+        verify(connection, times(4)).prepareStatement(anyString());
+
+        pizzas.close();
+        ingredientes.close();
+    }
+
+    @Test
+    void testSemPaiGravaACadaInsertCompleto() throws SQLException {
+        BulkInserter pizzas = new BulkInserter(connection, "pizza", new String[] {"id", "sabor"}, 3, null);
+        for (long id = 1; id <= 7; id++) {
+            pizzas.add(id, "Pizza " + id);
+        }
+        assertEquals(6, contar("pizza"));
+        pizzas.flush();
+        pizzas.flush();
+        assertEquals(7, contar("pizza"));
+        pizzas.close();
+    }
+}
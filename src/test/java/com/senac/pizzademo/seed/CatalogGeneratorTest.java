@@ -0,0 +1,83 @@
+package com.senac.pizzademo.seed;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogGeneratorTest {
+
+    /** Guarda as linhas geradas, na ordem em que foram entregues. */
+    private static class Linhas implements CatalogGenerator.Sink {
+        final List<String> todas = new ArrayList<>();
+        final Map<Long, Set<String>> ingredientes = new HashMap<>();
+        final Map<Long, Set<String>> tamanhos = new HashMap<>();
+        final Set<Long> pizzas = new HashSet<>();
+
+        @Override
+        public void pizza(long id, String sabor) {
+            assertTrue(sabor.length() <= 255);
+            pizzas.add(id);
+            todas.add("pizza " + id + " " + sabor);
+        }
+
+        @Override
+        public void ingrediente(long pizzaId, String ingrediente, String quantidade) {
+            assertTrue(pizzas.contains(pizzaId), "Ingrediente entregue antes da pizza");
+            assertTrue(ingredientes.computeIfAbsent(pizzaId, id -> new HashSet<>()).add(ingrediente),
+                "Ingrediente repetido na pizza " + pizzaId);
+            todas.add("ingrediente " + pizzaId + " " + ingrediente + " " + quantidade);
+        }
+
+        @Override
+        public void preco(long pizzaId, float valor, String tamanho) {
+            assertTrue(pizzas.contains(pizzaId), "Preço entregue antes da pizza");
+            assertTrue(valor > 0);
+            tamanhos.computeIfAbsent(pizzaId, id -> new HashSet<>()).add(tamanho);
+            todas.add("preco " + pizzaId + " " + valor + " " + tamanho);
+        }
+    }
+
+    @Test
+    void testMesmaSementeGeraMesmoCatalogo() {
+        Linhas primeira = new Linhas();
+        Linhas segunda = new Linhas();
+        new CatalogGenerator(7, 1.0).generate(1, 500, primeira);
+        new CatalogGenerator(7, 1.0).generate(1, 500, segunda);
+
+        assertEquals(primeira.todas, segunda.todas);
+    }
+
+    @Test
+    void testSementesDiferentesGeramCatalogosDiferentes() {
+        Linhas primeira = new Linhas();
+        Linhas segunda = new Linhas();
+        new CatalogGenerator(7, 1.0).generate(1, 100, primeira);
+        new CatalogGenerator(8, 1.0).generate(1, 100, segunda);
+
+        assertNotEquals(primeira.todas, segunda.todas);
+    }
+
+    @Test
+    void testDistribuicaoDeIngredientesETamanhos() {
+        Linhas linhas = new Linhas();
+        // Skew alto força o caminho de ingredientes repetidos
+        new CatalogGenerator(42, 3.0).generate(100, 1000, linhas);
+
+        assertEquals(1000, linhas.pizzas.size());
+        assertTrue(linhas.pizzas.contains(100L));
+        assertTrue(linhas.pizzas.contains(1099L));
+        for (long id : linhas.pizzas) {
+            int ingredientes = linhas.ingredientes.get(id).size();
+            assertTrue(ingredientes >= 5 && ingredientes <= 15, "Pizza " + id + " com " + ingredientes + " ingredientes");
+            int tamanhos = linhas.tamanhos.get(id).size();
+            assertTrue(tamanhos == 3 || tamanhos == 4, "Pizza " + id + " com " + tamanhos + " tamanhos");
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.senac.pizzademo.serialization;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.senac.pizzademo.model.Cardapio;
+import com.senac.pizzademo.model.Ingredientes;
+import com.senac.pizzademo.model.Pizza;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogJacksonModuleTest {
+    private final ObjectMapper reflexao = new ObjectMapper();
+    private final ObjectMapper modulo = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+        .registerModule(new CatalogJacksonModule());
+
+    // Como um proxy do Hibernate: subclasse da entidade
+    static class PizzaProxy extends Pizza {
+    }
+
+    private static List<Pizza> catalogo() {
+        Pizza completa = new Pizza();
+        completa.setId(1L);
+        completa.setSabor("Calabresa \"especial\" à moda");
+        Ingredientes ingrediente = new Ingredientes("Mussarela", "100g", completa);
+        ingrediente.setId(10L);
+        Cardapio grande = new Cardapio(39.9f, "Grande", completa);
+        grande.setId(20L);
+        completa.setIngredientes(new LinkedHashSet<>(List.of(ingrediente)));
+        completa.setCardapio(new LinkedHashSet<>(Arrays.asList(grande, new Cardapio(null, null, completa))));
+
+        Pizza vazia = new Pizza();
+        Pizza proxy = new PizzaProxy();
+        proxy.setId(3L);
+        proxy.setSabor("Marguerita");
+        proxy.setIngredientes(new LinkedHashSet<>());
+        return List.of(completa, vazia, proxy);
+    }
+
+    @Test
+    void testEscreveOMesmoJsonQueAReflexao() throws Exception {
+        List<Pizza> pizzas = catalogo();
+        assertEquals(reflexao.writeValueAsString(pizzas), modulo.writeValueAsString(pizzas));
+        Cardapio item = pizzas.get(0).getCardapio().iterator().next();
+        assertEquals(reflexao.writeValueAsString(item), modulo.writeValueAsString(item));
+    }
+
+    @Test
+    void testEscreveOMesmoCborQueAReflexao() throws Exception {
+        ObjectMapper cborReflexao = new ObjectMapper(new CBORFactory());
+        ObjectMapper cborModulo = new ObjectMapper(new CBORFactory()).registerModule(new CatalogJacksonModule());
+        assertArrayEquals(cborReflexao.writeValueAsBytes(catalogo()), cborModulo.writeValueAsBytes(catalogo()));
+    }
+
+    @Test
+    void testLeRecompondoAReferenciaParaAPizza() throws Exception {
+        byte[] json = reflexao.writeValueAsBytes(catalogo());
+        List<Pizza> pizzas = modulo.readValue(json, new TypeReference<List<Pizza>>() {});
+
+        Pizza pizza = pizzas.get(0);
+        assertEquals(1L, pizza.getId());
+        assertEquals("Calabresa \"especial\" à moda", pizza.getSabor());
+        Ingredientes ingrediente = pizza.getIngredientes().iterator().next();
+        assertEquals(10L, ingrediente.getId());
+        assertEquals("Mussarela", ingrediente.getIngrediente());
+        assertSame(pizza, ingrediente.getPizza());
+        assertEquals(2, pizza.getCardapio().size());
+        Cardapio grande = pizza.getCardapio().stream().filter(c -> c.getId() != null).findFirst().orElseThrow();
+        assertEquals(39.9f, grande.getValor());
+        assertSame(pizza, grande.getPizza());
+
+        assertNull(pizzas.get(1).getId());
+        assertNull(pizzas.get(1).getCardapio());
+        assertEquals(Set.of(), pizzas.get(2).getIngredientes());
+    }
+
+    @Test
+    void testIgnoraCamposDesconhecidosEConverteTexto() throws Exception {
+        Cardapio item = modulo.readValue(
+            "{\"extra\":{\"a\":[1,2]},\"id\":\"7\",\"valor\":\"12.5\",\"tamanho\":\"Broto\",\"pizza\":{\"id\":3}}", Cardapio.class);
+        assertEquals(7L, item.getId());
+        assertEquals(12.5f, item.getValor());
+        assertEquals("Broto", item.getTamanho());
+        assertNull(item.getPizza());
+
+        Ingredientes ingrediente = modulo.readValue("{\"ingredienteId\":5,\"ingrediente\":\"Ovo\",\"quantidade\":\"2un\"}",
+            Ingredientes.class);
+        assertNull(ingrediente.getIngredienteId());
+        assertEquals("Ovo", ingrediente.getIngrediente());
+    }
+
+    @Test
+    void testRejeitaTipoInvalido() {
+        assertThrows(Exception.class, () -> modulo.readValue("[1]", Pizza.class));
+        assertThrows(Exception.class, () -> modulo.readValue("{\"id\":{}}", Pizza.class));
+    }
+}
@@ -0,0 +1,78 @@
+package com.senac.pizzademo.snapshot;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MenuSnapshotInterceptorTest {
+    @Mock
+    private MenuSnapshotService menuSnapshotService;
+
+    private MenuSnapshotInterceptor interceptor;
+    private final MenuSnapshot snapshot = new MenuSnapshot(1, "\"abc\"",
+        "[]".getBytes(StandardCharsets.UTF_8), new byte[] {31, -117, 8});
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        interceptor = new MenuSnapshotInterceptor(menuSnapshotService);
+        when(menuSnapshotService.get("/pizza")).thenReturn(Optional.of(snapshot));
+    }
+
+    @Test
+    void testServeJsonDoSnapshot() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(new MockHttpServletRequest("GET", "/pizza"), response, new Object()));
+        assertEquals(200, response.getStatus());
+        assertEquals("[]", response.getContentAsString());
+        assertEquals("\"abc\"", response.getHeader("ETag"));
+        assertNull(response.getHeader("Content-Encoding"));
+    }
+
+    @Test
+    void testServeGzipQuandoAceito() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/pizza");
+        request.addHeader("Accept-Encoding", "br, gzip;q=0.8");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request, response, new Object()));
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertArrayEquals(snapshot.gzip(), response.getContentAsByteArray());
+    }
+
+    @Test
+    void testRetorna304ComEtagIgual() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/pizza");
+        request.addHeader("If-None-Match", "\"abc\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request, response, new Object()));
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void testSegueParaControllerSemSnapshotOuComQueryString() throws Exception {
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/cardapio"), new MockHttpServletResponse(), new Object()));
+        MockHttpServletRequest comQuery = new MockHttpServletRequest("GET", "/pizza");
+        comQuery.setQueryString("fields=id");
+        assertTrue(interceptor.preHandle(comQuery, new MockHttpServletResponse(), new Object()));
+    }
+
+    @Test
+    void testServeSnapshotDesatualizadoComBancoIndisponivel() throws Exception {
+        when(menuSnapshotService.getDesatualizado("/cardapio")).thenReturn(Optional.of(snapshot));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(new MockHttpServletRequest("GET", "/cardapio"), response, new Object()));
+        assertEquals(200, response.getStatus());
+        assertEquals("[]", response.getContentAsString());
+        assertEquals("110 - \"Response is Stale\"", response.getHeader("Warning"));
+    }
+}
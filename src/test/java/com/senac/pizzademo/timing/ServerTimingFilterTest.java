@@ -0,0 +1,118 @@
+package com.senac.pizzademo.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTimingFilterTest {
+
+    @Test
+    void testHeaderComTemposDaRequisicao() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(Duration.ofSeconds(10));
+        FilterChain chain = (req, res) -> {
+            RequestTiming.registrarJwt(2_000_000);
+            RequestTiming.registrarSql("select p1_0.id from pizza p1_0", 3_000_000);
+            RequestTiming.registrarSql("select p1_0.id from pizza p1_0", 1_000_000);
+            RequestTiming.iniciarSerializacao();
+            res.getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+            res.flushBuffer();
+        };
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/pizza"), response, chain);
+
+        String header = response.getHeader(ServerTimingFilter.HEADER);
+        assertNotNull(header);
+        assertTrue(header.startsWith("db;dur=4.0;desc=\"2 comandos\", jwt;dur=2.0, ser;dur="), header);
+        assertTrue(header.contains("total;dur="), header);
+        assertEquals("[]", response.getContentAsString());
+        assertNull(RequestTiming.atual());
+    }
+
+    @Test
+    void testCorpoSerializadoFicaEmBufferAteOFim() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(Duration.ofSeconds(10));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            RequestTiming.iniciarSerializacao();
+            res.setContentType("application/json");
+            res.getWriter().write("{\"id\":1}");
+            res.flushBuffer();
+            assertEquals(0, response.getContentAsByteArray().length);
+            assertFalse(response.isCommitted());
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/pizza/1"), response, chain);
+
+        assertEquals("{\"id\":1}", response.getContentAsString());
+        assertEquals(8, response.getContentLength());
+        assertTrue(response.getHeader(ServerTimingFilter.HEADER).contains("ser;dur="));
+    }
+
+    @Test
+    void testCorpoProntoVaiDiretoSemTempoDeSerializacao() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(Duration.ofSeconds(10));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        byte[] gzip = {0x1f, (byte) 0x8b, 8, 0};
+        FilterChain chain = (req, res) -> {
+            // Como o MenuSnapshotInterceptor: corpo pré-comprimido, sem HttpMessageConverter
+            HttpServletResponse http = (HttpServletResponse) res;
+            http.setHeader("Content-Encoding", "gzip");
+            http.setContentType("application/json");
+            http.setContentLength(gzip.length);
+            http.getOutputStream().write(gzip);
+            assertArrayEquals(gzip, response.getContentAsByteArray());
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/pizza"), response, chain);
+
+        assertArrayEquals(gzip, response.getContentAsByteArray());
+        assertEquals(gzip.length, response.getContentLength());
+        String header = response.getHeader(ServerTimingFilter.HEADER);
+        assertTrue(header.startsWith("db;dur=0.0;desc=\"0 comandos\", jwt;dur=0.0, total;dur="), header);
+    }
+
+    @Test
+    void testDownloadVaiDireto() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(Duration.ofSeconds(10));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            // O ResourceHttpMessageConverter também passa pelo SerializationTimingAdvice
+            RequestTiming.iniciarSerializacao();
+            res.setContentType("application/octet-stream");
+            res.getOutputStream().write(new byte[64 * 1024]);
+            res.flushBuffer();
+            assertEquals(64 * 1024, response.getContentAsByteArray().length);
+            assertTrue(response.isCommitted());
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/admin/diagnostico/gravacoes/1/arquivo"), response, chain);
+
+        assertEquals(64 * 1024, response.getContentAsByteArray().length);
+        assertFalse(response.getHeader(ServerTimingFilter.HEADER).contains("ser;dur="));
+    }
+
+    @Test
+    void testRegistroForaDeRequisicaoNaoFazNada() {
+        RequestTiming.registrarSql("select 1", 1_000);
+        RequestTiming.registrarJwt(1_000);
+        assertNull(RequestTiming.atual());
+    }
+
+    @Test
+    void testFormatoDoSql() {
+        assertEquals("select * from pizza where id in (?) and sabor = ?",
+            RequestTiming.formato("select *\n  from pizza where id in (?, ?, ?) and sabor = 'Calabresa'"));
+        assertEquals("INSERT INTO pizza (id, sabor) VALUES (?), ...",
+            RequestTiming.formato("INSERT INTO pizza (id, sabor) VALUES (?, ?), (?, ?), (?, ?)"));
+        assertEquals("select p1_0.id from pizza p1_0 limit ?",
+            RequestTiming.formato("select p1_0.id from pizza p1_0 limit 10"));
+    }
+}
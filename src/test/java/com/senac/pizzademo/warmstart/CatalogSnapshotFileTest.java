@@ -0,0 +1,100 @@
+package com.senac.pizzademo.warmstart;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.senac.pizzademo.order.MenuPriceTable;
+import com.senac.pizzademo.snapshot.MenuSnapshot;
+import com.senac.pizzademo.snapshot.MenuSnapshotService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotFileTest {
+    @TempDir
+    Path diretorio;
+
+    private static CatalogSnapshotFile.Conteudo conteudo(MenuSnapshotService.Montagem menu) {
+        return new CatalogSnapshotFile.Conteudo(Instant.parse("2024-05-01T12:00:00.123Z"),
+            Map.of("Pizza", 3L, "Cardapio", 7L),
+            Map.of(1L, "Mussarela", 2L, "Manjericão"),
+            List.of(new MenuPriceTable.Item(10, 1L, "Grande", 39.9f),
+                new MenuPriceTable.Item(11, null, null, 25f),
+                new MenuPriceTable.Item(12, 2L, "Broto", null)),
+            menu);
+    }
+
+    private static MenuSnapshotService.Montagem menu() {
+        byte[] json = "[{\"id\":1,\"sabor\":\"Calabresa\"}]".getBytes(StandardCharsets.UTF_8);
+        return new MenuSnapshotService.Montagem(Map.of(
+            MenuSnapshotService.PIZZAS, new MenuSnapshot(5, "\"abc\"", json, new byte[] {1, 2, 3}),
+            MenuSnapshotService.CARDAPIO, new MenuSnapshot(5, "\"def\"", new byte[0], new byte[0])),
+            Map.of("Pizza", 3L, "Cardapio", 7L, "Ingredientes", 2L));
+    }
+
+    @Test
+    void testGravaELeOMesmoConteudo() throws IOException {
+        Path arquivo = diretorio.resolve("sub/catalogo.snapshot");
+        CatalogSnapshotFile.gravar(arquivo, conteudo(menu()));
+
+        CatalogSnapshotFile.Conteudo lido = CatalogSnapshotFile.ler(arquivo);
+        assertEquals(Instant.parse("2024-05-01T12:00:00.123Z"), lido.capturadoEm());
+        assertEquals(Map.of("Pizza", 3L, "Cardapio", 7L), lido.versoes());
+        assertEquals(Map.of(1L, "Mussarela", 2L, "Manjericão"), lido.ingredientes());
+        assertEquals(conteudo(null).precos(), lido.precos());
+
+        assertEquals(menu().versoesCatalogo(), lido.menu().versoesCatalogo());
+        MenuSnapshot pizzas = lido.menu().snapshots().get(MenuSnapshotService.PIZZAS);
+        assertEquals("\"abc\"", pizzas.etag());
+        assertArrayEquals(menu().snapshots().get(MenuSnapshotService.PIZZAS).json(), pizzas.json());
+        assertArrayEquals(new byte[] {1, 2, 3}, pizzas.gzip());
+        assertEquals(0, lido.menu().snapshots().get(MenuSnapshotService.CARDAPIO).json().length);
+        assertFalse(Files.exists(diretorio.resolve("sub/catalogo.snapshot.tmp")));
+    }
+
+    @Test
+    void testSemListagens() throws IOException {
+        Path arquivo = diretorio.resolve("catalogo.snapshot");
+        CatalogSnapshotFile.gravar(arquivo, conteudo(null));
+        // A segunda gravação substitui a primeira
+        CatalogSnapshotFile.gravar(arquivo, conteudo(null));
+
+        CatalogSnapshotFile.Conteudo lido = CatalogSnapshotFile.ler(arquivo);
+        assertNull(lido.menu());
+        assertEquals(3, lido.precos().size());
+    }
+
+    @Test
+    void testRejeitaArquivoCorrompidoOuTruncado() throws IOException {
+        Path arquivo = diretorio.resolve("catalogo.snapshot");
+        CatalogSnapshotFile.gravar(arquivo, conteudo(menu()));
+        byte[] original = Files.readAllBytes(arquivo);
+
+        byte[] corrompido = original.clone();
+        corrompido[corrompido.length / 2] ^= 0x40;
+        Files.write(arquivo, corrompido);
+        assertThrows(IOException.class, () -> CatalogSnapshotFile.ler(arquivo));
+
+        Files.write(arquivo, Arrays.copyOf(original, original.length - 20));
+        assertThrows(IOException.class, () -> CatalogSnapshotFile.ler(arquivo));
+
+        Files.write(arquivo, new byte[4]);
+        assertThrows(IOException.class, () -> CatalogSnapshotFile.ler(arquivo));
+    }
+
+    @Test
+    void testRejeitaOutroArquivo() throws IOException {
+        Path arquivo = diretorio.resolve("catalogo.snapshot");
+        Files.writeString(arquivo, "isto não é um snapshot do catálogo, mas tem tamanho suficiente");
+        IOException erro = assertThrows(IOException.class, () -> CatalogSnapshotFile.ler(arquivo));
+        assertTrue(erro.getMessage().contains("CRC"));
+    }
+}